@@ -27,6 +27,7 @@ package com.github.bl3nd.byteview;
 import com.formdev.flatlaf.FlatLaf;
 import com.formdev.flatlaf.FlatLightLaf;
 import com.formdev.flatlaf.intellijthemes.FlatAllIJThemes;
+import com.github.bl3nd.byteview.decompiler.cache.SourceCache;
 import com.github.bl3nd.byteview.gui.ByteViewFrame;
 import com.github.bl3nd.byteview.misc.Configuration;
 
@@ -74,6 +75,7 @@ public class ByteView {
 		}
 
 		setupUISettings();
+		SourceCache.setBudget(configuration.getSourceCacheSize() * 1024L * 1024L);
 
 		File temp = new File(TEMP_LOCATION);
 		if (!temp.exists()) {
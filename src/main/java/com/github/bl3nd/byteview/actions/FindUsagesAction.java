@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.actions;
+
+import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.index.MemberReference;
+import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+
+/**
+ * When a user enters "Alt + F7", find the classes that use the field or method at the caret.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class FindUsagesAction extends AbstractAction {
+	private final ClassFileContainer container;
+
+	public FindUsagesAction(final ClassFileContainer container) {
+		this.container = container;
+	}
+
+	@Override
+	public void actionPerformed(@NotNull ActionEvent e) {
+		RSyntaxTextArea textArea = (RSyntaxTextArea) e.getSource();
+		int line = textArea.getCaretLineNumber() + 1;
+		int column = textArea.getCaretOffsetFromLineStart();
+		MemberReference query = MemberReference.at(container, line, column);
+		if (query != null) {
+			ByteView.mainFrame.usagesPane.search(query);
+		}
+	}
+}
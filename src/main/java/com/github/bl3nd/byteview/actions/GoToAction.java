@@ -24,12 +24,13 @@
 
 package com.github.bl3nd.byteview.actions;
 
+import com.github.bl3nd.byteview.ByteView;
 import com.github.bl3nd.byteview.files.ClassFileContainer;
-import com.github.bl3nd.byteview.tokens.TokenUtil;
-import com.github.bl3nd.byteview.tokens.location.ClassFieldLocation;
-import com.github.bl3nd.byteview.tokens.location.ClassLocalVariableLocation;
-import com.github.bl3nd.byteview.tokens.location.ClassMethodLocation;
-import com.github.bl3nd.byteview.tokens.location.ClassParameterLocation;
+import com.github.bl3nd.byteview.index.ArchiveIndex;
+import com.github.bl3nd.byteview.index.DeclarationSearch;
+import com.github.bl3nd.byteview.index.MemberReference;
+import com.github.bl3nd.byteview.tokens.LocationIndex;
+import com.github.bl3nd.byteview.tokens.LocationTable;
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 import org.fife.ui.rsyntaxtextarea.Token;
 import org.jetbrains.annotations.NotNull;
@@ -37,10 +38,10 @@ import org.jetbrains.annotations.NotNull;
 import javax.swing.*;
 import javax.swing.text.Element;
 import java.awt.event.ActionEvent;
-import java.util.Objects;
 
 /**
- * When a user enters "Ctrl + 'b'", go to the member's declaration.
+ * When a user enters "Ctrl + 'b'", go to the member's declaration. A field or method that is declared in another
+ * class is looked up in the loaded archives' indexes, and that class is opened once it has been decompiled.
  * <p>
  * Created by Bl3nd.
  * Date: 6/17/2024
@@ -60,78 +61,114 @@ public class GoToAction extends AbstractAction {
 			return;
 		}
 
-		token = TokenUtil.getToken(textArea, token);
 		int line = textArea.getCaretLineNumber() + 1;
 		int column = textArea.getCaretOffsetFromLineStart();
 
-		// Fields
-		container.fieldMembers.values().forEach(fields -> fields.forEach(field -> {
-			if (field.line() == line && field.columnStart() - 1 <= column && field.columnEnd() >= column) {
-				Element root = textArea.getDocument().getDefaultRootElement();
-				ClassFieldLocation first = fields.getFirst();
-				int startOffset = root.getElement(first.line() - 1).getStartOffset() + (first.columnStart() - 1);
-				textArea.setCaretPosition(startOffset);
+		// Fields, methods, method parameters and method local variables
+		LocationIndex index = container.getLocationIndex();
+		for (int occurrence : index.find(line, column)) {
+			int symbol = index.getSymbol(occurrence);
+			int target = index.getDeclaration(symbol);
+			if (target != -1) {
+				moveCaret(textArea, index.getLine(target), index.getColumnStart(target));
+				continue;
 			}
-		}));
-
-		// Methods
-		Token finalToken = token;
-		container.methodMembers.values().forEach(methods -> methods.forEach(method -> {
-			if (method.line() == line && method.columnStart() - 1 <= column && method.columnEnd() >= column) {
-				Element root = textArea.getDocument().getDefaultRootElement();
-				for (ClassMethodLocation location : container.getMethodLocationsFor(finalToken.getLexeme())) {
-					if (!Objects.equals(method.owner(), location.owner())) {
-						continue;
-					}
-
-					if (!Objects.equals(method.methodParameterTypes(), location.methodParameterTypes())) {
-						continue;
-					}
-
-					if (location.decRef().equalsIgnoreCase("declaration")) {
-						int startOffset = root.getElement(location.line() - 1).getStartOffset() + (location.columnStart() - 1);
-						textArea.setCaretPosition(startOffset);
-					}
-				}
+
+			int kind = index.getKind(symbol);
+			MemberReference reference = MemberReference.at(container, line, column);
+			if (reference == null) {
+				continue;
 			}
-		}));
-
-		// Method parameters
-		container.methodParameterMembers.values().forEach(parameters -> parameters.forEach(parameter -> {
-			if (parameter.line() == line && parameter.columnStart() - 1 <= column && parameter.columnEnd() >= column) {
-				Element root = textArea.getDocument().getDefaultRootElement();
-				if (parameter.decRef().equalsIgnoreCase("declaration")) {
-					int startOffset = root.getElement(parameter.line() - 1).getStartOffset() + (parameter.columnStart() - 1);
-					textArea.setCaretPosition(startOffset);
-				} else {
-					String method = parameter.method();
-					parameters.stream().filter(classParameterLocation -> classParameterLocation.method().equals(method)).forEach(classParameterLocation -> {
-						if (classParameterLocation.decRef().equalsIgnoreCase("declaration")) {
-							int startOffset = root.getElement(classParameterLocation.line() - 1).getStartOffset() + (classParameterLocation.columnStart() - 1);
-							textArea.setCaretPosition(startOffset);
+
+			// Fields that aren't declared in any archive go to their first use
+			int first = index.getOccurrence(symbol, 0);
+			DeclarationSearch.find(reference, ByteView.mainFrame.resourcePane.uploadedFiles.values())
+					.whenComplete((declaration, error) -> SwingUtilities.invokeLater(() -> {
+						if (error != null) {
+							System.err.println("Failed to find the declaration of " + reference + ": "
+									+ error.getMessage());
 						}
-					});
-				}
-			}
-		}));
-
-		// Method local variables
-		container.methodLocalMembers.values().forEach(localMembers -> localMembers.forEach(localMember -> {
-			if (localMember.line() == line && localMember.columnStart() - 1 <= column && localMember.columnEnd() >= column) {
-				Element root = textArea.getDocument().getDefaultRootElement();
-				if (localMember.decRef().equals("declaration")) {
-					int startOffset = root.getElement(localMember.line() - 1).getStartOffset() + (localMember.columnStart() - 1);
-					textArea.setCaretPosition(startOffset);
-				} else {
-					String method = localMember.method();
-					localMembers.stream().filter(classLocalVariableLocation -> classLocalVariableLocation.method().equals(method)).forEach(classLocalVariableLocation -> {
-						if (classLocalVariableLocation.decRef().equalsIgnoreCase("declaration")) {
-							int startOffset = root.getElement(classLocalVariableLocation.line() - 1).getStartOffset() + (classLocalVariableLocation.columnStart() - 1);
-							textArea.setCaretPosition(startOffset);
+
+						if (declaration != null) {
+							open(declaration);
+						} else if (kind == LocationTable.FIELD) {
+							moveCaret(textArea, index.getLine(first), index.getColumnStart(first));
 						}
-					});
-				}
+					}));
+			return;
+		}
+	}
+
+	/**
+	 * Open the class that declares a member, and put the caret on the declaration once it is decompiled.
+	 */
+	public static void open(@NotNull DeclarationSearch.Declaration declaration) {
+		if (!(declaration.archive().fileEntries.get(declaration.entry()) instanceof ClassFileContainer target)) {
+			return;
+		}
+
+		ByteView.mainFrame.resourcePane.openClass(target, page -> {
+			LocationTable locations = target.locations;
+			int location = findDeclaration(locations, declaration);
+			if (location != -1) {
+				moveCaret(page.getTextArea(), locations.getLine(location), locations.getColumnStart(location));
+			}
+		});
+	}
+
+	/**
+	 * Find a member's declaration in its decompiled class. A method whose parameter types don't match is only used if
+	 * there is no better one, since the descriptors of parsed sources aren't known. A record's accessors aren't in the
+	 * source, so they go to their component.
+	 *
+	 * @return the location, or {@code -1} if the class doesn't have it
+	 */
+	private static int findDeclaration(@NotNull LocationTable locations,
+									   @NotNull DeclarationSearch.Declaration declaration) {
+		int found = findDeclaration(locations, declaration, declaration.kind() == ArchiveIndex.METHOD);
+		if (found == -1 && declaration.kind() == ArchiveIndex.METHOD && declaration.descriptor().startsWith("()")) {
+			found = findDeclaration(locations, declaration, false);
+		}
+
+		return found;
+	}
+
+	private static int findDeclaration(@NotNull LocationTable locations,
+									   @NotNull DeclarationSearch.Declaration declaration, boolean method) {
+		String className = declaration.className();
+		String name = declaration.name().equals("<init>") ? className.substring(className.lastIndexOf('/') + 1)
+				: declaration.name();
+		String descriptor = declaration.descriptor();
+		String parameterTypes = descriptor.substring(1, Math.max(1, descriptor.indexOf(')')));
+		int found = -1;
+		for (int i = 0; i < locations.size(); i++) {
+			if (!locations.isDeclaration(i) || locations.getKind(i) != (method ? LocationTable.METHOD : LocationTable.FIELD)
+					|| !locations.getName(i).equals(name)) {
+				continue;
+			}
+
+			// Inner classes are in the same source, so an internal owner has to be the declaring class
+			String owner = locations.getOwner(i);
+			if (owner != null && owner.indexOf('/') != -1 && !owner.equals(className)) {
+				continue;
+			}
+
+			if (!method || parameterTypes.equals(locations.getContext(i))) {
+				return i;
+			}
+
+			if (found == -1) {
+				found = i;
 			}
-		}));
+		}
+
+		return found;
+	}
+
+	private static void moveCaret(@NotNull RSyntaxTextArea textArea, int line, int columnStart) {
+		Element root = textArea.getDocument().getDefaultRootElement();
+		int startOffset = root.getElement(line - 1).getStartOffset() + (columnStart - 1);
+		textArea.setCaretPosition(startOffset);
+		textArea.requestFocusInWindow();
 	}
 }
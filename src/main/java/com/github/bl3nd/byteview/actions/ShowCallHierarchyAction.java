@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.actions;
+
+import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.files.FileContainer;
+import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.gui.hierarchy.CallHierarchyPane;
+import com.github.bl3nd.byteview.index.ArchiveIndex;
+import com.github.bl3nd.byteview.index.CallGraph;
+import com.github.bl3nd.byteview.index.MemberReference;
+import com.github.bl3nd.byteview.index.TypeHierarchy;
+import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * When a user enters "Ctrl + Alt + 'h'", show the methods that call the method at the caret, from the call graphs of
+ * every loaded archive.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class ShowCallHierarchyAction extends AbstractAction {
+	private final ClassFileContainer container;
+	private final CallHierarchyPane.Mode mode;
+
+	public ShowCallHierarchyAction(final ClassFileContainer container, final CallHierarchyPane.Mode mode) {
+		this.container = container;
+		this.mode = mode;
+	}
+
+	@Override
+	public void actionPerformed(@NotNull ActionEvent e) {
+		RSyntaxTextArea textArea = (RSyntaxTextArea) e.getSource();
+		int line = textArea.getCaretLineNumber() + 1;
+		int column = textArea.getCaretOffsetFromLineStart();
+		MemberReference reference = MemberReference.at(container, line, column);
+		if (reference == null || reference.kind() != ArchiveIndex.METHOD) {
+			return;
+		}
+
+		List<ZipFileContainer> containers = new ArrayList<>();
+		List<CompletableFuture<CallGraph>> graphs = new ArrayList<>();
+		for (FileContainer file : ByteView.mainFrame.resourcePane.uploadedFiles.values()) {
+			if (file instanceof ZipFileContainer zip) {
+				containers.add(zip);
+				graphs.add(zip.getCallGraph());
+			}
+		}
+
+		// Calls through a subclass from another archive are found through the type hierarchy
+		CompletableFuture<TypeHierarchy> hierarchy = TypeHierarchy.of(
+				ByteView.mainFrame.resourcePane.uploadedFiles.values());
+		CompletableFuture.allOf(CompletableFuture.allOf(graphs.toArray(CompletableFuture[]::new)), hierarchy)
+				.whenComplete((_, error) -> SwingUtilities.invokeLater(() -> {
+					if (error != null) {
+						System.err.println("Failed to build the call graph: " + error.getMessage());
+						return;
+					}
+
+					List<CallHierarchyPane.Archive> archives = new ArrayList<>();
+					for (int i = 0; i < containers.size(); i++) {
+						archives.add(new CallHierarchyPane.Archive(containers.get(i), graphs.get(i).join()));
+					}
+
+					// The archive that declares the method comes first, any that only call it are the fallback
+					CallGraph found = null;
+					int method = -1;
+					for (CallHierarchyPane.Archive archive : archives) {
+						int m = archive.graph().findMethod(reference);
+						if (m != -1 && (found == null || archive.graph().getMember(m) != -1)) {
+							found = archive.graph();
+							method = m;
+							if (found.getMember(m) != -1) {
+								break;
+							}
+						}
+					}
+
+					if (found != null) {
+						ByteView.mainFrame.callHierarchyPane.show(archives, hierarchy.join(), found, method, mode);
+					}
+				}));
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.actions;
+
+import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.gui.hierarchy.HierarchyPane;
+import com.github.bl3nd.byteview.index.MemberReference;
+import com.github.bl3nd.byteview.index.TypeHierarchy;
+import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
+import org.fife.ui.rsyntaxtextarea.Token;
+import org.fife.ui.rsyntaxtextarea.TokenTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * When a user enters "Ctrl + 'h'" or "Ctrl + Alt + 'b'", show the hierarchy or the implementations of the class
+ * named at the caret, or of the decompiled class itself.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class ShowHierarchyAction extends AbstractAction {
+	private static final Pattern IMPORT = Pattern.compile("^import\\s+([\\w.$]+?)(\\.\\*)?\\s*;", Pattern.MULTILINE);
+
+	private final ClassFileContainer container;
+	private final HierarchyPane.Mode mode;
+
+	public ShowHierarchyAction(final ClassFileContainer container, final HierarchyPane.Mode mode) {
+		this.container = container;
+		this.mode = mode;
+	}
+
+	@Override
+	public void actionPerformed(@NotNull ActionEvent e) {
+		RSyntaxTextArea textArea = (RSyntaxTextArea) e.getSource();
+		String name = getName(textArea);
+		String source = textArea.getText();
+		String self = MemberReference.getClassName(container);
+		TypeHierarchy.of(ByteView.mainFrame.resourcePane.uploadedFiles.values())
+				.whenComplete((hierarchy, error) -> SwingUtilities.invokeLater(() -> {
+					if (error != null) {
+						System.err.println("Failed to build the type hierarchy: " + error.getMessage());
+						return;
+					}
+
+					int type = name == null ? -1 : resolve(hierarchy, name, self, source);
+					if (type == -1 && self != null) {
+						type = hierarchy.findType(self);
+					}
+
+					if (type != -1) {
+						ByteView.mainFrame.hierarchyPane.show(hierarchy, type, mode);
+					}
+				}));
+	}
+
+	/**
+	 * @return the identifier at or right before the caret, or {@code null} if there is none
+	 */
+	private static @Nullable String getName(@NotNull RSyntaxTextArea textArea) {
+		int caret = textArea.getCaretPosition();
+		for (int offset : new int[]{caret, caret - 1}) {
+			Token token = offset < 0 ? null : textArea.modelToToken(offset);
+			if (token != null && (token.getType() == TokenTypes.IDENTIFIER || token.getType() == TokenTypes.DATA_TYPE)) {
+				return token.getLexeme();
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Find the type a simple name in a decompiled class refers to. It is looked for the way the compiler would: the
+	 * class's inner and outer classes, its imports, its package, {@code java.lang}, and then any class of that name.
+	 *
+	 * @param hierarchy the hierarchy of the loaded archives
+	 * @param name      the simple name
+	 * @param self      the decompiled class's internal name, if it is from an archive
+	 * @param source    the decompiled source
+	 * @return the type, or {@code -1} if no loaded class has the name
+	 */
+	private static int resolve(@NotNull TypeHierarchy hierarchy, @NotNull String name, @Nullable String self,
+							   @NotNull String source) {
+		if (self != null) {
+			int type = hierarchy.findType(self + "$" + name);
+			for (String outer = self; type == -1; outer = outer.substring(0, outer.lastIndexOf('$'))) {
+				if (MemberReference.simpleName(outer).equals(name)) {
+					type = hierarchy.findType(outer);
+				}
+
+				if (outer.lastIndexOf('$') <= outer.lastIndexOf('/')) {
+					break;
+				}
+			}
+
+			if (type != -1) {
+				return type;
+			}
+		}
+
+		Matcher matcher = IMPORT.matcher(source);
+		while (matcher.find()) {
+			String imported = matcher.group(1);
+			int type = -1;
+			if (matcher.group(2) != null) {
+				type = findQualified(hierarchy, imported + "." + name);
+			} else if (imported.endsWith("." + name)) {
+				type = findQualified(hierarchy, imported);
+			}
+
+			if (type != -1) {
+				return type;
+			}
+		}
+
+		if (self != null && self.indexOf('/') != -1) {
+			int type = hierarchy.findType(self.substring(0, self.lastIndexOf('/') + 1) + name);
+			if (type != -1) {
+				return type;
+			}
+		}
+
+		int type = hierarchy.findType("java/lang/" + name);
+		if (type != -1) {
+			return type;
+		}
+
+		int[] types = hierarchy.findTypes(name);
+		return types.length == 0 ? -1 : types[0];
+	}
+
+	/**
+	 * Find a type by its qualified source name, where the dots between outer and inner classes are dollar signs in
+	 * the internal name.
+	 */
+	private static int findQualified(@NotNull TypeHierarchy hierarchy, @NotNull String qualifiedName) {
+		String internalName = qualifiedName.replace('.', '/');
+		while (true) {
+			int type = hierarchy.findType(internalName);
+			int lastSlash = internalName.lastIndexOf('/');
+			if (type != -1 || lastSlash == -1) {
+				return type;
+			}
+
+			internalName = internalName.substring(0, lastSlash) + "$" + internalName.substring(lastSlash + 1);
+		}
+	}
+}
@@ -24,8 +24,13 @@
 
 package com.github.bl3nd.byteview.decompiler;
 
+import com.github.bl3nd.byteview.decompiler.cache.DecompilationCache;
 import com.github.bl3nd.byteview.decompiler.impl.VineFlowerDecompiler;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
 import com.github.bl3nd.byteview.files.FileContainer;
+import com.github.bl3nd.byteview.index.SourceIndex;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Created by Bl3nd.
@@ -67,6 +72,38 @@ public abstract class Decompiler {
 
 	public abstract void decompile(byte[] bytes);
 
+	/**
+	 * Get what, besides the class bytes, decides this decompiler's output: its name and every option it runs with.
+	 *
+	 * @return the fingerprint
+	 */
+	public abstract @NotNull String getFingerprint();
+
+	/**
+	 * Decompile and parse the class container, or restore both from the {@link DecompilationCache} when the same bytes
+	 * were already decompiled with the same settings. Either way the source is added to the {@link SourceIndex}. This
+	 * may take a while, use the {@link DecompilerExecutor} to run it off the EDT.
+	 */
+	public void decompileAndParse() {
+		ClassFileContainer container = (ClassFileContainer) fileContainer;
+		byte[] bytes = container.getBytes();
+		String key = DecompilationCache.key(bytes, getFingerprint());
+		// The ids of the class's locations are only safe from collection once they are in its table
+		try (SymbolTable.Scope _ = SymbolTable.use()) {
+			if (DecompilationCache.load(key, container)) {
+				SourceIndex.add(container, key);
+				return;
+			}
+
+			decompile(bytes);
+			container.parse();
+			if (container.hasBeenDecompiled) {
+				DecompilationCache.store(key, container);
+				SourceIndex.add(container, key);
+			}
+		}
+	}
+
 	/**
 	 * The type of decompilers implemented. Used mainly for the decompiler dialog.
 	 */
@@ -0,0 +1,379 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.decompiler;
+
+import com.github.bl3nd.byteview.decompiler.cache.SourceCache;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Decompiles classes on a pool of background threads, one per core, so the UI stays responsive. Classes are parsed on
+ * the same thread they were decompiled on, which {@link com.github.bl3nd.byteview.tokens.JavaParsers} makes safe.
+ * <p>
+ * Every task has a {@link Priority}. A free worker always takes the most urgent task, and the lower priorities can
+ * never occupy every worker, so a class the user opens doesn't wait behind prefetching or bulk work. To keep the lower
+ * priorities from starving, a task that has waited for a while is treated as one level more urgent for every
+ * {@link #AGING_TIME} it waited.
+ * <p>
+ * Callbacks are invoked on the EDT once the class has been decompiled and parsed. A cancelled task that hasn't started
+ * yet is never run; one that is already running is left to finish, since the decompilers can't be interrupted halfway,
+ * but its result only goes into the caches and its callbacks are skipped. For the same reason lower priority work is
+ * only preempted between tasks, which is why bulk work should be submitted one class at a time.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class DecompilerExecutor {
+	private static final int POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+	private static final long AGING_TIME = TimeUnit.SECONDS.toNanos(5);
+	private static final long IDLE_TIME = TimeUnit.SECONDS.toMillis(30);
+
+	private static final Object lock = new Object();
+	private static final Map<ClassFileContainer, Task> tasks = new HashMap<>();
+	private static final EnumMap<Priority, ArrayDeque<Task>> queues = new EnumMap<>(Priority.class);
+	private static final int[] running = new int[Priority.values().length];
+	private static int workers;
+	private static int idleWorkers;
+
+	static {
+		for (Priority priority : Priority.values()) {
+			queues.put(priority, new ArrayDeque<>());
+		}
+	}
+
+	/**
+	 * How urgent a task is.
+	 */
+	public enum Priority {
+		/**
+		 * A class the user is waiting for.
+		 */
+		INTERACTIVE,
+		/**
+		 * A class the user will probably open soon.
+		 */
+		PREFETCH,
+		/**
+		 * Many classes at once, e.g. a whole archive.
+		 */
+		BULK,
+		;
+
+		/**
+		 * How many tasks of this priority may run at the same time. Bulk work may use every worker but the one kept for
+		 * interactive tasks.
+		 */
+		int getMaxRunning() {
+			return switch (this) {
+				case INTERACTIVE -> POOL_SIZE;
+				case PREFETCH -> Math.max(1, POOL_SIZE / 2);
+				case BULK -> POOL_SIZE - 1;
+			};
+		}
+	}
+
+	/**
+	 * Decompile and parse a class in the background.
+	 *
+	 * @param container  the class to decompile
+	 * @param decompiler the name of the decompiler to use
+	 * @param onDone     called with the container once it is decompiled
+	 * @param onFailure  called with the error if it couldn't be decompiled
+	 * @return the task
+	 */
+	public static @NotNull Task submit(@NotNull ClassFileContainer container, String decompiler,
+									   @NotNull Consumer<ClassFileContainer> onDone, @NotNull Consumer<Throwable> onFailure) {
+		return submit(container, decompiler, Priority.INTERACTIVE, onDone, onFailure);
+	}
+
+	/**
+	 * Decompile and parse a class in the background. If the class is already waiting at a lower priority, it is moved
+	 * up to this one. If it is already being decompiled, even by a task that was cancelled since, this waits for that
+	 * task instead of decompiling the class a second time.
+	 *
+	 * @param container  the class to decompile
+	 * @param decompiler the name of the decompiler to use
+	 * @param priority   how urgent it is
+	 * @param onDone     called on the EDT with the container once it is decompiled
+	 * @param onFailure  called on the EDT with the error if it couldn't be decompiled
+	 * @return the task, which may be the one that was already there for this class
+	 */
+	public static @NotNull Task submit(@NotNull ClassFileContainer container, String decompiler, @NotNull Priority priority,
+									   @NotNull Consumer<ClassFileContainer> onDone, @NotNull Consumer<Throwable> onFailure) {
+		synchronized (lock) {
+			Task task = tasks.get(container);
+			if (task == null) {
+				task = new Task(container, decompiler, priority);
+				tasks.put(container, task);
+				queues.get(priority).addLast(task);
+			} else if (!task.started && priority.ordinal() < task.priority.ordinal()) {
+				queues.get(task.priority).remove(task);
+				task.priority = priority;
+				queues.get(priority).addLast(task);
+			}
+
+			task.cancelled = false;
+
+			task.onDone.add(onDone);
+			task.onFailure.add(onFailure);
+			dispatch();
+			return task;
+		}
+	}
+
+	/**
+	 * Decompile and parse many classes in the background, e.g. to search the sources of a whole archive. Each class
+	 * gets its own bulk task, so the work spreads over the pool and anything the user opens in the meantime goes first.
+	 * Classes that are already decompiled are skipped.
+	 *
+	 * @param containers the classes to decompile
+	 * @param decompiler the name of the decompiler to use
+	 * @param onDone     called on the EDT with each container once it is decompiled
+	 * @return the tasks that were submitted
+	 */
+	public static @NotNull List<Task> submitAll(@NotNull Collection<ClassFileContainer> containers, String decompiler,
+												@NotNull Consumer<ClassFileContainer> onDone) {
+		List<Task> submitted = new ArrayList<>();
+		synchronized (lock) {
+			for (ClassFileContainer container : containers) {
+				if (!container.hasBeenDecompiled) {
+					submitted.add(submit(container, decompiler, Priority.BULK, onDone, error ->
+							System.err.println("Failed to decompile " + container.getFileName() + ": " + error.getMessage())));
+				}
+			}
+		}
+
+		return submitted;
+	}
+
+	/**
+	 * Cancel the class's task, if it has one.
+	 *
+	 * @param container the class
+	 */
+	public static void cancel(@NotNull ClassFileContainer container) {
+		synchronized (lock) {
+			Task task = tasks.get(container);
+			if (task != null) {
+				task.cancel();
+			}
+		}
+	}
+
+	/**
+	 * Start another worker if there is a task that is allowed to run and no idle worker to take it. Called with the
+	 * lock held.
+	 */
+	private static void dispatch() {
+		lock.notifyAll();
+		if (idleWorkers == 0 && workers < POOL_SIZE && peekNext() != null) {
+			workers++;
+			Thread thread = new Thread(DecompilerExecutor::work, "Decompiler-" + workers);
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	private static void work() {
+		while (true) {
+			Task task;
+			synchronized (lock) {
+				long idleSince = System.currentTimeMillis();
+				while ((task = peekNext()) == null) {
+					if (System.currentTimeMillis() - idleSince >= IDLE_TIME && queuesAreEmpty()) {
+						workers--;
+						return;
+					}
+
+					idleWorkers++;
+					try {
+						lock.wait(IDLE_TIME);
+					} catch (InterruptedException _) {
+						// Nothing interrupts the workers
+					} finally {
+						idleWorkers--;
+					}
+				}
+
+				queues.get(task.priority).remove(task);
+				task.started = true;
+				running[task.priority.ordinal()]++;
+			}
+
+			Throwable error = null;
+			try {
+				Decompiler.getDecompiler(task.decompiler, task.container).decompileAndParse();
+			} catch (Throwable t) {
+				error = t;
+			}
+
+			synchronized (lock) {
+				running[task.priority.ordinal()]--;
+				if (tasks.get(task.container) == task) {
+					tasks.remove(task.container);
+				}
+
+				// A slot opened up, which may let a task of another priority run
+				lock.notifyAll();
+			}
+
+			Task finishedTask = task;
+			Throwable finalError = error;
+			SwingUtilities.invokeLater(() -> finishedTask.complete(finalError));
+		}
+	}
+
+	/**
+	 * Find the task a worker should take next: the head of the most urgent queue whose priority may run another task,
+	 * with each queue's head counting as more urgent the longer it has waited. Called with the lock held.
+	 *
+	 * @return the task, or {@code null} if nothing may run right now
+	 */
+	private static Task peekNext() {
+		long now = System.nanoTime();
+		Task next = null;
+		long nextUrgency = Long.MAX_VALUE;
+		for (Priority priority : Priority.values()) {
+			Task head = queues.get(priority).peekFirst();
+			if (head == null || !mayRun(priority)) {
+				continue;
+			}
+
+			long urgency = priority.ordinal() - (now - head.queued) / AGING_TIME;
+			if (urgency < nextUrgency) {
+				next = head;
+				nextUrgency = urgency;
+			}
+		}
+
+		return next;
+	}
+
+	/**
+	 * Whether a priority may run another task. The lower priorities together always leave one worker for interactive
+	 * tasks.
+	 */
+	private static boolean mayRun(@NotNull Priority priority) {
+		if (running[priority.ordinal()] >= priority.getMaxRunning()) {
+			return false;
+		}
+
+		if (priority == Priority.INTERACTIVE) {
+			return true;
+		}
+
+		int background = 0;
+		for (Priority p : Priority.values()) {
+			if (p != Priority.INTERACTIVE) {
+				background += running[p.ordinal()];
+			}
+		}
+
+		return background < POOL_SIZE - 1;
+	}
+
+	private static boolean queuesAreEmpty() {
+		for (ArrayDeque<Task> queue : queues.values()) {
+			if (!queue.isEmpty()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	public static class Task {
+		private final ClassFileContainer container;
+		private final String decompiler;
+		private final long queued = System.nanoTime();
+		private final List<Consumer<ClassFileContainer>> onDone = new ArrayList<>();
+		private final List<Consumer<Throwable>> onFailure = new ArrayList<>();
+		private Priority priority;
+		private boolean started;
+		private boolean cancelled;
+
+		private Task(ClassFileContainer container, String decompiler, Priority priority) {
+			this.container = container;
+			this.decompiler = decompiler;
+			this.priority = priority;
+		}
+
+		/**
+		 * Cancel the task. A task that is already running can't be stopped, so it stays registered until it finishes
+		 * and a class that is submitted again in the meantime waits for it. Only the callbacks are dropped.
+		 */
+		public void cancel() {
+			synchronized (lock) {
+				if (!started) {
+					if (tasks.get(container) == this) {
+						tasks.remove(container);
+					}
+
+					queues.get(priority).remove(this);
+				}
+
+				onDone.clear();
+				onFailure.clear();
+				cancelled = true;
+			}
+		}
+
+		public boolean isCancelled() {
+			synchronized (lock) {
+				return cancelled;
+			}
+		}
+
+		private void complete(Throwable error) {
+			List<Consumer<ClassFileContainer>> onDone;
+			List<Consumer<Throwable>> onFailure;
+			synchronized (lock) {
+				if (cancelled) {
+					onDone = List.of();
+					onFailure = List.of();
+				} else {
+					onDone = new ArrayList<>(this.onDone);
+					onFailure = new ArrayList<>(this.onFailure);
+				}
+			}
+
+			if (error != null) {
+				onFailure.forEach(consumer -> consumer.accept(error));
+				return;
+			}
+
+			if (container.hasBeenDecompiled) {
+				SourceCache.add(container);
+			}
+
+			onDone.forEach(consumer -> consumer.accept(container));
+		}
+	}
+}
@@ -0,0 +1,449 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.decompiler.cache;
+
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.misc.Icons;
+import com.github.bl3nd.byteview.tokens.LocationTable;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.github.bl3nd.byteview.misc.Constants.CACHE_LOCATION;
+
+/**
+ * A cache of decompiled classes on disk, so a class that was already decompiled with the same settings shows up right
+ * away, even after a restart.
+ * <p>
+ * Entries are addressed by a hash of the class bytes and the decompiler's fingerprint, and hold the source, the
+ * structure members and the token tables. The least recently used entries are deleted once the cache grows past
+ * {@link #MAX_SIZE}. An entry that can't be read is deleted and treated as a miss.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class DecompilationCache {
+	private static final int MAGIC = 0x42564343; // BVCC
+	private static final int VERSION = 3;
+	private static final String EXTENSION = ".bvc";
+	private static final long MAX_SIZE = 256L * 1024 * 1024;
+
+	/**
+	 * The member icons a cache entry can refer to, by index. Only append to this.
+	 */
+	private static final Icon[] MEMBER_ICONS = {
+			Icons.fieldIcon, Icons.fieldPrivateIcon, Icons.fieldStaticIcon, Icons.fieldPrivateStaticIcon,
+			Icons.methodIcon, Icons.methodPrivateIcon, Icons.methodStaticIcon, Icons.methodPrivateStaticIcon
+	};
+
+	private static final Path root = Paths.get(CACHE_LOCATION);
+	private static final Object evictionLock = new Object();
+	private static long size = -1;
+
+	/**
+	 * Get the key of the entry for these class bytes.
+	 *
+	 * @param bytes       the class bytes
+	 * @param fingerprint the decompiler's name and options, see
+	 *                    {@link com.github.bl3nd.byteview.decompiler.Decompiler#getFingerprint()}
+	 * @return the key
+	 */
+	public static @NotNull String key(byte @NotNull [] bytes, @NotNull String fingerprint) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(bytes);
+			digest.update((byte) 0);
+			digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Fill the container from the cache.
+	 *
+	 * @param key       the entry's key
+	 * @param container the container to fill
+	 * @return {@code true} if the entry was found, otherwise the container is left untouched
+	 */
+	public static boolean load(@NotNull String key, @NotNull ClassFileContainer container) {
+		Path path = getPath(key);
+		if (!Files.isRegularFile(path)) {
+			return false;
+		}
+
+		Entry entry;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))))) {
+			entry = readEntry(in, key);
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Dropping unreadable cache entry " + path.getFileName() + ": " + e);
+			delete(path);
+			return false;
+		}
+
+		try {
+			Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException _) {
+			// Only affects the eviction order
+		}
+
+		container.setContent(entry.content);
+		container.memberMap.clear();
+		container.memberMap.putAll(entry.members);
+		container.locations = entry.locations;
+		container.setDecompilerUsed(entry.decompiler);
+		container.setHasBeenDecompiled(true);
+		return true;
+	}
+
+	/**
+	 * Read only the source of an entry, e.g. to search a class that has been unloaded since.
+	 *
+	 * @param key the entry's key
+	 * @return the source, or {@code null} if there is no readable entry
+	 */
+	public static @Nullable String loadContent(@NotNull String key) {
+		Path path = getPath(key);
+		if (!Files.isRegularFile(path)) {
+			return null;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(key)) {
+				return null;
+			}
+
+			in.readUTF();
+			return readString(in);
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Store a decompiled and parsed container.
+	 *
+	 * @param key       the entry's key
+	 * @param container the container
+	 */
+	public static void store(@NotNull String key, @NotNull ClassFileContainer container) {
+		if (container.getContent() == null) {
+			return;
+		}
+
+		Path path = getPath(key);
+		try {
+			Files.createDirectories(path.getParent());
+			Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+			try {
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp))))) {
+					writeEntry(out, key, container);
+				}
+
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+
+			added(Files.size(path));
+		} catch (IOException e) {
+			System.err.println("Failed to cache " + container.getFileName() + ": " + e);
+		}
+	}
+
+	/**
+	 * Delete every entry.
+	 */
+	public static void clear() {
+		synchronized (evictionLock) {
+			for (Path path : listEntries()) {
+				delete(path);
+			}
+
+			size = 0;
+		}
+	}
+
+	private static @NotNull Path getPath(@NotNull String key) {
+		return root.resolve(key.substring(0, 2)).resolve(key + EXTENSION);
+	}
+
+	private static void writeEntry(@NotNull DataOutputStream out, String key, @NotNull ClassFileContainer container) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeUTF(key);
+		out.writeUTF(Objects.requireNonNullElse(container.getDecompilerUsed(), ""));
+		writeString(out, container.getContent());
+
+		List<Map.Entry<String, Icon>> members = new ArrayList<>();
+		for (Map.Entry<String, Icon> member : container.memberMap.entrySet()) {
+			if (indexOfIcon(member.getValue()) != -1) {
+				members.add(member);
+			}
+		}
+
+		out.writeInt(members.size());
+		for (Map.Entry<String, Icon> member : members) {
+			writeString(out, member.getKey());
+			out.writeByte(indexOfIcon(member.getValue()));
+		}
+
+		writeLocations(out, container.locations);
+		out.writeInt(MAGIC);
+	}
+
+	private static @NotNull Entry readEntry(@NotNull DataInputStream in, String key) throws IOException {
+		if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(key)) {
+			throw new IOException("Not a cache entry for this key");
+		}
+
+		Entry entry = new Entry();
+		entry.decompiler = in.readUTF();
+		entry.content = readString(in);
+
+		int memberCount = in.readInt();
+		for (int i = 0; i < memberCount; i++) {
+			entry.members.put(readString(in), MEMBER_ICONS[in.readUnsignedByte()]);
+		}
+
+		entry.locations = readLocations(in);
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Truncated cache entry");
+		}
+
+		return entry;
+	}
+
+	/**
+	 * The strings are written once, and the locations refer to them by index. The {@link SymbolTable} ids are only
+	 * good for this run, so they are numbered again for the entry.
+	 */
+	private static void writeLocations(@NotNull DataOutputStream out, @NotNull LocationTable locations) throws IOException {
+		Map<Integer, Integer> indices = new HashMap<>();
+		List<String> strings = new ArrayList<>();
+		int[] rows = new int[locations.size() * 3];
+		for (int i = 0; i < locations.size(); i++) {
+			rows[i * 3] = indexOf(locations.getNameId(i), indices, strings);
+			rows[i * 3 + 1] = indexOf(locations.getOwnerId(i), indices, strings);
+			rows[i * 3 + 2] = indexOf(locations.getContextId(i), indices, strings);
+		}
+
+		out.writeInt(strings.size());
+		for (String string : strings) {
+			writeString(out, string);
+		}
+
+		out.writeInt(locations.size());
+		for (int i = 0; i < locations.size(); i++) {
+			out.writeByte(locations.getKind(i) << 1 | (locations.isDeclaration(i) ? 1 : 0));
+			out.writeInt(rows[i * 3]);
+			out.writeInt(rows[i * 3 + 1]);
+			out.writeInt(rows[i * 3 + 2]);
+			out.writeInt(locations.getLine(i));
+			out.writeInt(locations.getColumnStart(i));
+			out.writeInt(locations.getColumnEnd(i));
+		}
+	}
+
+	private static int indexOf(int symbol, @NotNull Map<Integer, Integer> indices, @NotNull List<String> strings) {
+		if (symbol == -1) {
+			return -1;
+		}
+
+		return indices.computeIfAbsent(symbol, _ -> {
+			strings.add(SymbolTable.get(symbol));
+			return strings.size() - 1;
+		});
+	}
+
+	private static @NotNull LocationTable readLocations(@NotNull DataInputStream in) throws IOException {
+		int stringCount = in.readInt();
+		if (stringCount < 0) {
+			throw new IOException("Invalid string count " + stringCount);
+		}
+
+		int[] symbols = new int[stringCount];
+		for (int i = 0; i < stringCount; i++) {
+			symbols[i] = SymbolTable.intern(readString(in));
+		}
+
+		LocationTable locations = new LocationTable();
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			int flags = in.readUnsignedByte();
+			int name = readSymbol(symbols, in.readInt());
+			if (name == -1) {
+				throw new IOException("Location without a name");
+			}
+
+			int owner = readSymbol(symbols, in.readInt());
+			int context = readSymbol(symbols, in.readInt());
+			locations.add(flags >> 1, (flags & 1) != 0, name, owner, context, in.readInt(), in.readInt(), in.readInt());
+		}
+
+		return locations;
+	}
+
+	private static int readSymbol(int @NotNull [] symbols, int index) throws IOException {
+		if (index == -1) {
+			return -1;
+		}
+
+		if (index < 0 || index >= symbols.length) {
+			throw new IOException("Invalid string index " + index);
+		}
+
+		return symbols[index];
+	}
+
+	/**
+	 * {@link DataOutputStream#writeUTF(String)} is limited to 64K, which a class's source easily goes past.
+	 */
+	private static void writeString(@NotNull DataOutputStream out, @Nullable String s) throws IOException {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static @Nullable String readString(@NotNull DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length == -1) {
+			return null;
+		}
+
+		if (length < 0) {
+			throw new IOException("Invalid string length " + length);
+		}
+
+		return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+	}
+
+	private static int indexOfIcon(Icon icon) {
+		for (int i = 0; i < MEMBER_ICONS.length; i++) {
+			if (MEMBER_ICONS[i] == icon) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Account for a new entry and evict the least recently used ones if the cache is too big.
+	 */
+	private static void added(long entrySize) {
+		synchronized (evictionLock) {
+			if (size < 0) {
+				size = 0;
+				for (Path path : listEntries()) {
+					size += sizeOf(path);
+				}
+			} else {
+				size += entrySize;
+			}
+
+			if (size <= MAX_SIZE) {
+				return;
+			}
+
+			List<Path> entries = listEntries();
+			Map<Path, Long> lastUsed = new HashMap<>();
+			for (Path path : entries) {
+				try {
+					lastUsed.put(path, Files.getLastModifiedTime(path).toMillis());
+				} catch (IOException _) {
+					lastUsed.put(path, 0L);
+				}
+			}
+
+			entries.sort(Comparator.comparingLong(lastUsed::get));
+
+			// Evict a bit more than needed so this doesn't run on every store
+			long target = MAX_SIZE - MAX_SIZE / 10;
+			for (Path path : entries) {
+				if (size <= target) {
+					break;
+				}
+
+				size -= sizeOf(path);
+				delete(path);
+			}
+		}
+	}
+
+	private static @NotNull List<Path> listEntries() {
+		if (!Files.isDirectory(root)) {
+			return new ArrayList<>();
+		}
+
+		try (Stream<Path> stream = Files.walk(root, 2)) {
+			return new ArrayList<>(stream.filter(path -> path.toString().endsWith(EXTENSION)).toList());
+		} catch (IOException | UncheckedIOException e) {
+			System.err.println("Failed to list the decompilation cache: " + e);
+			return new ArrayList<>();
+		}
+	}
+
+	private static long sizeOf(Path path) {
+		try {
+			return Files.size(path);
+		} catch (IOException _) {
+			return 0;
+		}
+	}
+
+	private static void delete(Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			System.err.println("Failed to delete cache entry " + path.getFileName() + ": " + e);
+		}
+	}
+
+	private static class Entry {
+		private final Map<String, Icon> members = new LinkedHashMap<>();
+		private String decompiler;
+		private String content;
+		private LocationTable locations;
+	}
+}
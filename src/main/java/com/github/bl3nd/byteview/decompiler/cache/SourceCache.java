@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.decompiler.cache;
+
+import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.gui.resourceviewer.pages.Page;
+import com.github.bl3nd.byteview.tokens.LocationTable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Keeps the decompiled source and token tables of the classes that were opened within a memory budget.
+ * <p>
+ * Each container is weighed by the length of its source and the size of its tables. When the total goes past the
+ * budget, containers are unloaded in second-chance order: the oldest one goes unless it was used again since it was
+ * last looked at, in which case it moves to the back. Classes that are open in a tab or in the structure pane are never
+ * unloaded. An unloaded container is simply decompiled again when it is opened, which normally comes straight from the
+ * {@link DecompilationCache}.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class SourceCache {
+	private static final int CHAR_SIZE = 2;
+	private static final int ENTRY_OVERHEAD = 48;
+	private static final int LOCATION_OVERHEAD = 40;
+	private static final int LOCATION_SIZE = 7 * Integer.BYTES;
+
+	private static final LinkedHashMap<ClassFileContainer, Weight> entries = new LinkedHashMap<>();
+	private static long budget = 64L * 1024 * 1024;
+	private static long size;
+
+	/**
+	 * Start tracking a container that was just decompiled, or mark it as used if it already is.
+	 *
+	 * @param container the container
+	 */
+	public static synchronized void add(@NotNull ClassFileContainer container) {
+		Weight weight = entries.get(container);
+		if (weight != null) {
+			size -= weight.size;
+			weight.size = weigh(container);
+			weight.referenced = true;
+			size += weight.size;
+		} else {
+			weight = new Weight(weigh(container));
+			entries.put(container, weight);
+			size += weight.size;
+		}
+
+		// It's about to be shown, so it stays even if it alone is over the budget
+		trim(container);
+	}
+
+	/**
+	 * Mark a container as used, so it gets a second chance before it is unloaded.
+	 *
+	 * @param container the container
+	 */
+	public static synchronized void touch(@NotNull ClassFileContainer container) {
+		Weight weight = entries.get(container);
+		if (weight != null) {
+			weight.referenced = true;
+		}
+	}
+
+	/**
+	 * Stop tracking a container without unloading it, e.g. when its archive is closed.
+	 *
+	 * @param container the container
+	 */
+	public static synchronized void remove(@NotNull ClassFileContainer container) {
+		Weight weight = entries.remove(container);
+		if (weight != null) {
+			size -= weight.size;
+		}
+	}
+
+	/**
+	 * Change the budget, unloading containers if it shrank.
+	 *
+	 * @param budget the budget in bytes
+	 */
+	public static synchronized void setBudget(long budget) {
+		SourceCache.budget = budget;
+		trim();
+	}
+
+	/**
+	 * Unload containers until the total fits into the budget again, or only containers in use are left.
+	 */
+	public static synchronized void trim() {
+		trim(null);
+	}
+
+	private static void trim(ClassFileContainer keep) {
+		if (size <= budget) {
+			return;
+		}
+
+		Set<ClassFileContainer> inUse = getContainersInUse();
+		if (keep != null) {
+			inUse.add(keep);
+		}
+
+		// Every container is passed over at most twice: once to clear its referenced bit, once to unload it
+		int remaining = entries.size() * 2;
+		while (size > budget && remaining-- > 0) {
+			Iterator<Map.Entry<ClassFileContainer, Weight>> it = entries.entrySet().iterator();
+			if (!it.hasNext()) {
+				break;
+			}
+
+			Map.Entry<ClassFileContainer, Weight> eldest = it.next();
+			ClassFileContainer container = eldest.getKey();
+			Weight weight = eldest.getValue();
+			it.remove();
+			if (weight.referenced || inUse.contains(container)) {
+				weight.referenced = false;
+				entries.put(container, weight);
+				continue;
+			}
+
+			size -= weight.size;
+			container.unload();
+		}
+	}
+
+	public static synchronized long getSize() {
+		return size;
+	}
+
+	private static @NotNull Set<ClassFileContainer> getContainersInUse() {
+		Set<ClassFileContainer> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+		if (ByteView.mainFrame == null) {
+			return inUse;
+		}
+
+		for (Page page : ByteView.mainFrame.resourceViewerPane.getPages().values()) {
+			if (page.getFileContainer() instanceof ClassFileContainer container) {
+				inUse.add(container);
+			}
+		}
+
+		if (ByteView.mainFrame.fileStructurePane.openedContainer instanceof ClassFileContainer container) {
+			inUse.add(container);
+		}
+
+		return inUse;
+	}
+
+	/**
+	 * Estimate how much memory the decompiled state of a container takes.
+	 *
+	 * @param container the container
+	 * @return the estimated size in bytes
+	 */
+	private static long weigh(@NotNull ClassFileContainer container) {
+		long weight = ENTRY_OVERHEAD;
+		if (container.getContent() != null) {
+			weight += (long) container.getContent().length() * CHAR_SIZE;
+		}
+
+		for (String member : container.memberMap.keySet()) {
+			weight += ENTRY_OVERHEAD + (long) member.length() * CHAR_SIZE;
+		}
+
+		weight += weighLocations(container.locations);
+		weight += weighTable(container.testParameterMembers);
+		return weight;
+	}
+
+	/**
+	 * The strings are shared with other classes through the {@link com.github.bl3nd.byteview.tokens.SymbolTable}, so
+	 * only the rows are counted.
+	 */
+	private static long weighLocations(@NotNull LocationTable locations) {
+		return (long) locations.size() * LOCATION_SIZE;
+	}
+
+	private static long weighTable(@NotNull Map<String, ? extends List<?>> table) {
+		long weight = 0;
+		for (Map.Entry<String, ? extends List<?>> entry : table.entrySet()) {
+			// The location's strings are mostly shared with the other locations, so they aren't counted again
+			weight += ENTRY_OVERHEAD + (long) entry.getKey().length() * CHAR_SIZE;
+			weight += (long) entry.getValue().size() * LOCATION_OVERHEAD;
+		}
+
+		return weight;
+	}
+
+	private static class Weight {
+		private long size;
+		private boolean referenced;
+
+		private Weight(long size) {
+			this.size = size;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.decompiler.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.java.decompiler.main.extern.IContextSource;
+import org.jetbrains.java.decompiler.main.extern.IResultSaver;
+import org.jetbrains.java.decompiler.struct.StructClass;
+import org.jetbrains.java.decompiler.util.DataInputFullStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Serves one class to VineFlower straight from memory and hands the decompiled source back without it ever touching
+ * the disk.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class VineFlowerClassSource implements IContextSource {
+	private final byte[] bytes;
+	private final String qualifiedName;
+	private final Consumer<DecompiledClass> output;
+
+	/**
+	 * @param bytes  the class bytes
+	 * @param output receives the decompiled class
+	 * @throws IOException when the bytes are not a valid class
+	 */
+	public VineFlowerClassSource(byte[] bytes, Consumer<DecompiledClass> output) throws IOException {
+		this.bytes = bytes;
+		this.output = output;
+		try (DataInputFullStream in = new DataInputFullStream(bytes)) {
+			this.qualifiedName = StructClass.create(in, false).qualifiedName;
+		}
+	}
+
+	public String getQualifiedName() {
+		return qualifiedName;
+	}
+
+	@Override
+	public String getName() {
+		return "memory class " + qualifiedName;
+	}
+
+	@Override
+	public Entries getEntries() {
+		return new Entries(List.of(Entry.atBase(qualifiedName)), List.of(), List.of());
+	}
+
+	@Override
+	public InputStream getInputStream(@NotNull String resource) {
+		if (resource.equals(qualifiedName) || resource.equals(qualifiedName + CLASS_SUFFIX)) {
+			return new ByteArrayInputStream(bytes);
+		}
+
+		return null;
+	}
+
+	@Override
+	public IOutputSink createOutputSink(IResultSaver saver) {
+		return new IOutputSink() {
+			@Override
+			public void begin() {
+			}
+
+			@Override
+			public void acceptClass(String qualifiedName, String fileName, String content, int[] mapping) {
+				output.accept(new DecompiledClass(qualifiedName, content, null));
+			}
+
+			@Override
+			public void acceptDirectory(String directory) {
+			}
+
+			@Override
+			public void acceptOther(String path) {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+	}
+
+	/**
+	 * The decompiled source of a class.
+	 *
+	 * @param qualifiedName the class's internal name
+	 * @param content       the decompiled source
+	 * @param tokens        the tokens VineFlower found in the source, if they were collected
+	 */
+	public record DecompiledClass(String qualifiedName, String content, VineFlowerTokenSink tokens) {
+	}
+}
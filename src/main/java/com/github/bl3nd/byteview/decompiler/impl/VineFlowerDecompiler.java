@@ -29,22 +29,23 @@ import com.github.bl3nd.byteview.decompiler.Decompiler;
 import com.github.bl3nd.byteview.files.ClassFileContainer;
 import com.github.bl3nd.byteview.files.FileContainer;
 import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.files.zip.ZipEntrySource;
 import com.github.bl3nd.byteview.gui.components.MyTreeNode;
-import com.github.bl3nd.byteview.tokens.location.*;
-import com.github.bl3nd.byteview.misc.Constants;
 import com.github.bl3nd.byteview.misc.FileMisc;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
+import org.jetbrains.java.decompiler.main.DecompilerContext;
 import org.jetbrains.java.decompiler.main.Fernflower;
 import org.jetbrains.java.decompiler.main.decompiler.PrintStreamLogger;
 import org.jetbrains.java.decompiler.main.extern.IFernflowerLogger;
 import org.jetbrains.java.decompiler.main.extern.IResultSaver;
+import org.jetbrains.java.decompiler.main.extern.TextTokenVisitor;
 
 import javax.swing.*;
 import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.jar.Manifest;
 
 /**
@@ -52,8 +53,11 @@ import java.util.jar.Manifest;
  * Date: 6/17/2024
  */
 public class VineFlowerDecompiler extends Decompiler implements IResultSaver, AutoCloseable {
-	private static final Path TEMP_LOCATION = new File(Constants.TEMP_LOCATION).toPath();
 	private final Fernflower engine;
+	private final DecompilerContext context;
+	private final Map<String, Object> options;
+	private final IFernflowerLogger logger;
+	private VineFlowerTokenSink tokens;
 
 	public VineFlowerDecompiler(FileContainer container) {
 		this(container, container.getFileName(), getDefaults(), new PrintStreamLogger(System.out));
@@ -61,7 +65,17 @@ public class VineFlowerDecompiler extends Decompiler implements IResultSaver, Au
 
 	private VineFlowerDecompiler(FileContainer container, String fileName, Map<String, Object> options, IFernflowerLogger logger) {
 		super(container, fileName);
-		engine = new Fernflower(this, options, logger);
+		this.options = options;
+		this.logger = logger;
+		// The engine makes its context the thread's current one, which is only set while the engine runs
+		DecompilerContext previous = DecompilerContext.getCurrentContext();
+		try {
+			engine = new Fernflower(this, options, logger);
+			context = DecompilerContext.getCurrentContext();
+			TextTokenVisitor.addVisitor(next -> tokens = new VineFlowerTokenSink(next));
+		} finally {
+			DecompilerContext.setCurrentContext(previous);
+		}
 	}
 
 	private static @NotNull @UnmodifiableView Map<String, Object> getDefaults() {
@@ -81,7 +95,7 @@ public class VineFlowerDecompiler extends Decompiler implements IResultSaver, Au
 				Map.entry("dump-bytecode-on-error", getSetting("--dump-bytecode-on-error")),
 				Map.entry("dump-code-lines", getSetting("--dump-code-lines")),
 				Map.entry("dump-exception-on-error", getSetting("--dump-exception-on-error")),
-				Map.entry("dump-text-tokens", "1"),
+				Map.entry("dump-text-tokens", "0"),
 				Map.entry("ensure-synchronized-monitors", "1"),
 				Map.entry("explicit-generics", getSetting("--explicit-generics")),
 				Map.entry("force-jsr-inline", getSetting("--force-jsr-inline")),
@@ -119,6 +133,16 @@ public class VineFlowerDecompiler extends Decompiler implements IResultSaver, Au
 		);
 	}
 
+	/**
+	 * The options are sorted so the fingerprint doesn't depend on the map's iteration order. Decompiling the entire
+	 * archive can give a class better names, so it is part of the fingerprint too.
+	 */
+	@Override
+	public @NotNull String getFingerprint() {
+		return "VineFlower " + Fernflower.class.getPackage().getImplementationVersion() + " " + new TreeMap<>(getDefaults()) +
+				" entire-archive=" + ByteView.configuration.getDecompileEntireArchive();
+	}
+
 	private static @NotNull String getSetting(String setting) {
 		boolean flag = ByteView.configuration.getVineFlowerSettings().get(setting);
 		if (flag) {
@@ -128,269 +152,91 @@ public class VineFlowerDecompiler extends Decompiler implements IResultSaver, Au
 		}
 	}
 
-	private File root;
-	private ZipFileContainer archiveContainer;
-
+	/**
+	 * Decompile the class without touching the disk. The bytes are served to VineFlower from memory and the result is
+	 * captured straight into a string, so several decompiles can also run side by side.
+	 * <p>
+	 * When the entire archive is decompiled, the class comes from the archive's {@link VineFlowerSession} instead.
+	 * Either way, the field, method, parameter and local variable tables are filled from the tokens VineFlower hands
+	 * to a {@link VineFlowerTokenSink} while it writes the source.
+	 *
+	 * @param bytes the class bytes
+	 */
 	@Override
 	public void decompile(byte[] bytes) {
-		final File tempFile;
-		if (this.fileContainer.rootNode.getUserObject().toString().contains(File.separator)) {
-			root = new File(TEMP_LOCATION + File.separator + this.fileContainer.rootNode.getUserObject().toString());
-			if (!root.exists()) {
-				//noinspection ResultOfMethodCallIgnored
-				root.mkdirs();
-			}
-
-			tempFile = new File(root + File.separator + fileName);
-		} else {
-			tempFile = new File(TEMP_LOCATION + File.separator + fileName);
-		}
-
-		if (!tempFile.exists()) {
-			try {
-				//noinspection ResultOfMethodCallIgnored
-				tempFile.createNewFile();
-			} catch (IOException e) {
-				throw new RuntimeException(e);
-			}
-		}
-
-		try (FileOutputStream out = new FileOutputStream(tempFile)) {
-			out.write(bytes);
-		} catch (IOException e) {
-			throw new RuntimeException("Failed to write bytes to temp file! " + e);
-		}
-
-		if (ByteView.configuration.getDecompileEntireArchive()) {
-			String root = this.fileContainer.rootNode.getUserObject().toString();
-			if (!root.contains(".class")) {
-				String archiveName = root.substring(0, root.lastIndexOf(File.separator));
-				archiveContainer = (ZipFileContainer) ByteView.mainFrame.resourcePane.uploadedFiles.get(archiveName + ".jar");
-				engine.addSource(archiveContainer.file);
-			}
+		VineFlowerClassSource.DecompiledClass[] result = new VineFlowerClassSource.DecompiledClass[1];
+		ZipFileContainer archive = getArchive();
+		if (archive != null && this.fileContainer.getByteSource() instanceof ZipEntrySource source) {
+			VineFlowerSession session = VineFlowerSession.get(archive, options, logger, getFingerprint());
+			result[0] = session.decompile(FileMisc.removeExtension(source.entry().name()));
 		}
 
-		engine.addSource(tempFile);
-
-		this.decompileContext();
-
-		//noinspection ResultOfMethodCallIgnored
-		tempFile.delete();
-
-		String fileName = this.qualifiedName;
-		String zipFile = this.fileContainer.rootNode.getUserObject().toString();
-		final File output;
-		if (zipFile.contains(File.separator)) {
-			output =
-					new File(TEMP_LOCATION + File.separator + zipFile.substring(0, zipFile.indexOf(File.separator)) + File.separator + fileName);
-		} else {
-			output = new File(TEMP_LOCATION + File.separator + fileName);
+		// Classes the session doesn't know, like inner classes, are decompiled on their own
+		if (result[0] == null) {
+			this.decompileContext(bytes, decompiled -> result[0] =
+					new VineFlowerClassSource.DecompiledClass(decompiled.qualifiedName(), decompiled.content(), tokens));
 		}
 
-		if (output.exists()) {
-			String content;
-			try {
-				content = FileMisc.read(output);
-			} catch (IOException e) {
-				throw new RuntimeException(e);
+		if (result[0] != null && result[0].content() != null) {
+			String fileName = result[0].qualifiedName() + ".java";
+			String zipFile = this.fileContainer.rootNode.getUserObject().toString();
+			if (result[0].tokens() != null) {
+				result[0].tokens().fill((ClassFileContainer) this.fileContainer);
 			}
 
-			//noinspection ResultOfMethodCallIgnored
-			output.delete();
-
-			if (root != null) {
-				deleteDirectory(TEMP_LOCATION.toFile());
-			}
-
-			content = readTokens(content, (ClassFileContainer) fileContainer);
-
-			this.fileContainer.setContent(content);
+			this.fileContainer.setContent(result[0].content());
 			((ClassFileContainer) this.fileContainer).setHasBeenDecompiled(true);
 			this.fileContainer.setDecompilerUsed("VineFlower");
 
-			if (ByteView.configuration.getDecompileEntireArchive()) {
-				MyTreeNode root = ByteView.mainFrame.resourcePane.root.getChildByUserObject(zipFile.substring(0, zipFile.length() - 1) +
-						".jar");
-				MyTreeNode node = root.getChildByUserObject(this.fileContainer.getFileName());
-				node.setUserObject(fileName);
-				SwingUtilities.invokeLater(() -> ByteView.mainFrame.resourcePane.tree.updateUI());
+			if (archive != null) {
+				// This may run on a decompiler thread, the tree is only touched on the EDT
+				SwingUtilities.invokeLater(() -> {
+					MyTreeNode root = ByteView.mainFrame.resourcePane.root.getChildByUserObject(zipFile.substring(0,
+							zipFile.length() - 1) + ".jar");
+					MyTreeNode node = root != null ? root.getChildByUserObject(this.fileContainer.getFileName()) : null;
+					if (node != null) {
+						node.setUserObject(fileName);
+						ByteView.mainFrame.resourcePane.tree.updateUI();
+					}
+				});
 			}
 		}
 	}
 
-	private @NotNull String readTokens(@NotNull String content, ClassFileContainer container) {
-		int index = content.indexOf("Tokens:") - 3;
-		String tokenString = content.substring(index);
-		tokenString = tokenString.replace("/*\nTokens:", "").replace("*/", "").trim();
-		BufferedReader reader = new BufferedReader(new StringReader(tokenString));
-		reader.lines().forEach(s -> handleToken(s, container));
-		return content.substring(0, index - 2);
-	}
-
 	/**
-	 * Handle each token given from VineFlower and add it to our maps
+	 * Get the archive the class belongs to, if the entire archive should be decompiled.
 	 *
-	 * @param s the token string
+	 * @return the archive or {@code null}
 	 */
-	private void handleToken(@NotNull String s, ClassFileContainer container) {
-		String methodString = s;
-		s = replaceUnnecessary(s);
-		String[] strings = s.split(" ");
-		/*if (strings[2].equalsIgnoreCase("field")) {
-			handleField(strings, container);
+	private @Nullable ZipFileContainer getArchive() {
+		if (!ByteView.configuration.getDecompileEntireArchive()) {
+			return null;
 		}
 
-		if (strings[2].equalsIgnoreCase("parameter")) {
-			handleParameter(strings, container);
-		}
-
-		if (strings[2].equalsIgnoreCase("local")) {
-			handleLocal(strings, container);
-		}
-
-		if (strings[2].equalsIgnoreCase("method")) {
-			handleMethod(methodString, container);
-		}
-
-		// TODO: Once all token types are handled, remove this
-		if (!strings[2].equalsIgnoreCase("field")) {
-			if (!strings[2].equalsIgnoreCase("parameter")) {
-				if (!strings[2].equalsIgnoreCase("local")) {
-					if (!strings[2].equalsIgnoreCase("method")) {
-						System.err.println(Arrays.toString(strings));
-					}
-				}
-			}
-		}*/
-	}
-
-	/**
-	 * Get rid of unnecessary stuff from the token string
-	 *
-	 * @param s the token
-	 * @return the cleaned token
-	 */
-	private @NotNull String replaceUnnecessary(@NotNull String s) {
-		s = s.replace("(", "").replace(",", "").replace(")", "").replace("[", "").replace("]", "");
-		return s;
-	}
-
-	/**
-	 * Handle a field token
-	 *
-	 * @param tokenArray the token as an array for easier use
-	 */
-	private void handleField(String @NotNull [] tokenArray, ClassFileContainer container) {
-		int[] position = getMemberPosition(tokenArray[0], tokenArray[1]);
-		String owner = tokenArray[4].substring(0, tokenArray[4].indexOf("#"));
-		String fieldName = tokenArray[4].substring(tokenArray[4].indexOf("#") + 1, tokenArray[4].indexOf(":"));
-//		putField(fieldName, new ClassFieldLocation(owner, tokenArray[3], position[0], position[1], position[2]), container);
-	}
-
-	/**
-	 * Handle a parameter token
-	 *
-	 * @param tokenArray the token as an array for easier use
-	 */
-	@SuppressWarnings("DuplicatedCode")
-	private void handleParameter(String @NotNull [] tokenArray, ClassFileContainer container) {
-		int[] position = getMemberPosition(tokenArray[0], tokenArray[1]);
-		String owner = tokenArray[4].substring(0, tokenArray[4].indexOf("#"));
-		String method = tokenArray[4].substring(tokenArray[4].indexOf("#") + 1, tokenArray[4].indexOf(":"));
-		String parameterName = tokenArray[4].substring(tokenArray[4].indexOf(":") + 1);
-		putParameter(parameterName, new ClassParameterLocation(owner, method, tokenArray[3], position[0], position[1], position[2]),
-				container);
-	}
-
-	/**
-	 * Handle a local variable token
-	 *
-	 * @param tokenArray the token as an array for easier use
-	 */
-	@SuppressWarnings("DuplicatedCode")
-	private void handleLocal(String @NotNull [] tokenArray, ClassFileContainer container) {
-		int[] position = getMemberPosition(tokenArray[0], tokenArray[1]);
-		String owner = tokenArray[4].substring(0, tokenArray[4].indexOf("#"));
-		String method = tokenArray[4].substring(tokenArray[4].indexOf("#") + 1, tokenArray[4].indexOf(":"));
-		String localName = tokenArray[4].substring(tokenArray[4].indexOf(":") + 1);
-		putLocal(localName, new ClassLocalVariableLocation(owner, method, tokenArray[3], position[0], position[1], position[2]),
-				container);
-	}
-
-	/**
-	 * Handle a method token
-	 *
-	 * @param methodToken the method token
-	 */
-	private void handleMethod(@NotNull String methodToken, ClassFileContainer container) {
-		String[] split = methodToken.split(" ");
-		int[] position = getMemberPosition(split[0].replace("(", "").replace(",", ""), split[1].replace(")", "").replace(",", ""));
-		String owner = split[4].substring(0, split[4].indexOf("#"));
-		String ownerPackage = owner;
-		if (owner.contains("/")) {
-			owner = owner.substring(owner.lastIndexOf("/") + 1);
+		String root = this.fileContainer.rootNode.getUserObject().toString();
+		if (root.contains(".class")) {
+			return null;
 		}
 
-		String methodName = split[4].substring(split[4].indexOf("#") + 1, split[4].indexOf("("));
-		String methodParameterTypes = split[4].substring(split[4].indexOf("(") + 1, split[4].indexOf(")"));
-		putMethod(methodName, new ClassMethodLocation(owner, methodParameterTypes, split[3].replace("[", "").replace("]", ""),
-				position[0], position[1], position[2]), container);
+		String archiveName = root.substring(0, root.lastIndexOf(File.separator));
+		return (ZipFileContainer) ByteView.mainFrame.resourcePane.uploadedFiles.get(archiveName + ".jar");
 	}
 
 	/**
-	 * Get the position of the token
-	 *
-	 * @param start the starting line and column
-	 * @param end   the ending line and column
-	 * @return the position
+	 * Decompile a class with this decompiler's own engine, on whichever thread this runs. Another engine, like a
+	 * {@link VineFlowerSession}'s, may have been the thread's current one since this one was created.
 	 */
-	private int @NotNull [] getMemberPosition(@NotNull String start, @NotNull String end) {
-		// We assume the token will be on the same line from start to finish
-		int line = Integer.parseInt(start.split(":")[0]);
-		int startColumn = Integer.parseInt(start.split(":")[1]);
-		int endColumn = Integer.parseInt(end.split(":")[1]);
-		return new int[]{line, startColumn, endColumn};
-	}
-
-	private void putField(String key, ClassFieldLocation value, ClassFileContainer fileContainer) {
-		fileContainer.fieldMembers.computeIfAbsent(key, _ -> new ArrayList<>()).add(value);
-	}
-
-	private void putParameter(String key, ClassParameterLocation value, ClassFileContainer fileContainer) {
-		fileContainer.methodParameterMembers.computeIfAbsent(key, _ -> new ArrayList<>()).add(value);
-	}
-
-	private void putLocal(String key, ClassLocalVariableLocation value, ClassFileContainer fileContainer) {
-		fileContainer.methodLocalMembers.computeIfAbsent(key, _ -> new ArrayList<>()).add(value);
-	}
-
-	private void putMethod(String key, ClassMethodLocation value, ClassFileContainer fileContainer) {
-		fileContainer.methodMembers.computeIfAbsent(key, _ -> new ArrayList<>()).add(value);
-	}
-
-	@SuppressWarnings("ResultOfMethodCallIgnored")
-	private void deleteDirectory(@NotNull File root) {
-		File[] files = root.listFiles();
-		if (files != null) {
-			for (File file : files) {
-				if (file.isDirectory()) {
-					deleteDirectory(file);
-				} else {
-					file.delete();
-				}
-			}
-		}
-
-		if (!root.getName().equals("temp")) {
-			root.delete();
-		}
-	}
-
-	private void decompileContext() {
+	private void decompileContext(byte[] bytes, @NotNull Consumer<VineFlowerClassSource.DecompiledClass> output) {
+		DecompilerContext previous = DecompilerContext.getCurrentContext();
+		DecompilerContext.setCurrentContext(context);
 		try {
+			engine.addSource(new VineFlowerClassSource(bytes, output));
 			engine.decompileContext();
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to read " + fileName, e);
 		} finally {
 			engine.clearContext();
+			DecompilerContext.setCurrentContext(previous);
 		}
 	}
 
@@ -409,32 +255,12 @@ public class VineFlowerDecompiler extends Decompiler implements IResultSaver, Au
 		System.err.println("Copy file: " + source + " path: " + path + " entryName: " + entryName);
 	}
 
-	private String qualifiedName;
-
+	/**
+	 * Single classes are captured by {@link VineFlowerClassSource}, so nothing is saved here.
+	 */
 	@Override
 	public void saveClassFile(String path, String qualifiedName, String entryName, String content, int[] mapping) {
-		String zipFilePath = this.fileContainer.rootNode.getUserObject().toString();
-		ZipFileContainer zipFileContainer = null;
-		if (zipFilePath.contains(File.separator)) {
-			path = zipFilePath.substring(0, zipFilePath.indexOf(File.separator));
-			entryName = entryName.replace(".java", "");
-			zipFileContainer = (ZipFileContainer) ByteView.mainFrame.resourcePane.uploadedFiles.get(zipFilePath.replace(File.separator,
-					"") + ".jar");
-		}
-
-		if (zipFileContainer != null) {
-			ClassFileContainer clazz = (ClassFileContainer) zipFileContainer.fileEntries.get(entryName);
-		}
-
-		this.qualifiedName = qualifiedName + ".java";
-		Path entryPath = TEMP_LOCATION.resolve(path).resolve(this.qualifiedName);
-		try (BufferedWriter writer = Files.newBufferedWriter(entryPath)) {
-			if (content != null) {
-				writer.write(content);
-			}
-		} catch (IOException e) {
-			throw new RuntimeException("Failed to save class", e);
-		}
+		System.err.println("Save class file: " + path + " qualifiedName: " + qualifiedName + " entryName: " + entryName);
 	}
 
 	/**
@@ -481,31 +307,13 @@ public class VineFlowerDecompiler extends Decompiler implements IResultSaver, Au
 		this.saveClassEntry(path, archiveName, qualifiedName, entryName, content, null);
 	}
 
+	/**
+	 * Archives are decompiled by their {@link VineFlowerSession}, so nothing is saved here.
+	 */
 	@Override
-	public void saveClassEntry(String path, String archiveName, String qualifiedName, String entryName, @NotNull String content,
+	public void saveClassEntry(String path, String archiveName, String qualifiedName, String entryName, String content,
 							   int[] mapping) {
-		String start = "renamed from: ";
-		int startIndex = content.indexOf(start);
-		int endIndex = content.indexOf("\n", startIndex + 1);
-		if (startIndex != -1 && endIndex != -1) {
-			String s = content.substring(startIndex, endIndex);
-			String decompiledName = s.substring(s.indexOf(":") + 1).trim();
-			ClassFileContainer clazz = (ClassFileContainer) archiveContainer.fileEntries.get(decompiledName);
-			if (clazz != null && !clazz.equals(this.fileContainer)) {
-				ZipFileContainer zipContainer = (ZipFileContainer) ByteView.mainFrame.resourcePane.uploadedFiles.get(archiveName);
-				zipContainer.fileEntries.values().remove(clazz);
-				MyTreeNode root = ByteView.mainFrame.resourcePane.root.getChildByUserObject(archiveName);
-				MyTreeNode node = root.getChildByUserObject(decompiledName + ".class");
-				node.setUserObject(qualifiedName + ".class");
-				SwingUtilities.invokeLater(() -> ByteView.mainFrame.resourcePane.tree.updateUI());
-				clazz = new ClassFileContainer(clazz.bytes, qualifiedName + ".class");
-				zipContainer.fileEntries.put(qualifiedName, clazz);
-				clazz.setDecompilerUsed("VineFlower");
-				clazz.setHasBeenDecompiled(true);
-				content = readTokens(content, clazz);
-				clazz.setContent(content);
-			}
-		}
+		System.err.println("Save class entry: " + path + " archiveName: " + archiveName + " qualifiedName: " + qualifiedName);
 	}
 
 	@Override
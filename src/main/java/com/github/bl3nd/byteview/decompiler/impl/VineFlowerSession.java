@@ -0,0 +1,282 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.decompiler.impl;
+
+import com.github.bl3nd.byteview.decompiler.cache.DecompilationCache;
+import com.github.bl3nd.byteview.decompiler.cache.SourceCache;
+import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.files.zip.MappedZipEntry;
+import com.github.bl3nd.byteview.files.zip.MappedZipFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.java.decompiler.main.DecompilerContext;
+import org.jetbrains.java.decompiler.main.Fernflower;
+import org.jetbrains.java.decompiler.main.extern.IContextSource;
+import org.jetbrains.java.decompiler.main.extern.IFernflowerLogger;
+import org.jetbrains.java.decompiler.main.extern.IResultSaver;
+import org.jetbrains.java.decompiler.main.extern.TextTokenVisitor;
+import org.jetbrains.java.decompiler.struct.StructClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.jar.Manifest;
+
+/**
+ * A VineFlower context that holds an entire archive, for decompiling classes with the knowledge of the whole archive.
+ * <p>
+ * The archive is loaded and its members are renamed once, when the session is created, without decompiling anything.
+ * Classes are then decompiled one at a time as they are asked for, against that same context. The session doesn't keep
+ * what it decompiled: the source goes to the class's container, whose memory {@link SourceCache} limits, and to the
+ * {@link DecompilationCache}, so a class that is asked for again normally never reaches the session. There is one
+ * session per archive and decompiler options, and it lives until the archive is closed or the options change.
+ * <p>
+ * The tokens of each class are collected by a {@link VineFlowerTokenSink} and kept with it.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class VineFlowerSession {
+	private static final Map<ZipFileContainer, VineFlowerSession> sessions = new WeakHashMap<>();
+
+	private final String fingerprint;
+	private final SessionEngine engine;
+	private final DecompilerContext context;
+	private VineFlowerTokenSink tokens;
+
+	private VineFlowerSession(@NotNull MappedZipFile zipFile, Map<String, Object> options, IFernflowerLogger logger,
+							  String fingerprint) {
+		this.fingerprint = fingerprint;
+		// The context is per thread, and the thread may be in the middle of decompiling a class on its own
+		DecompilerContext previous = DecompilerContext.getCurrentContext();
+		try {
+			this.engine = new SessionEngine(options, logger);
+			engine.addSource(new ArchiveSource(zipFile));
+			TextTokenVisitor.addVisitor(next -> tokens = new VineFlowerTokenSink(next));
+
+			// Only renames and sorts the classes into their outer classes, SessionEngine keeps it from writing any of
+			// them
+			engine.decompileContext();
+			this.context = DecompilerContext.getCurrentContext();
+		} finally {
+			DecompilerContext.setCurrentContext(previous);
+		}
+	}
+
+	/**
+	 * Get the archive's session, creating it if there is none for these options yet.
+	 *
+	 * @param archive     the archive
+	 * @param options     the decompiler options
+	 * @param logger      the logger
+	 * @param fingerprint identifies the options, see {@link VineFlowerDecompiler#getFingerprint()}
+	 * @return the session
+	 */
+	public static synchronized @NotNull VineFlowerSession get(@NotNull ZipFileContainer archive, Map<String, Object> options,
+															  IFernflowerLogger logger, @NotNull String fingerprint) {
+		VineFlowerSession session = sessions.get(archive);
+		if (session == null || !session.fingerprint.equals(fingerprint)) {
+			if (session != null) {
+				session.clear();
+			}
+
+			session = new VineFlowerSession(archive.zipFile, options, logger, fingerprint);
+			sessions.put(archive, session);
+		}
+
+		return session;
+	}
+
+	/**
+	 * Let go of the archive's session.
+	 *
+	 * @param archive the archive
+	 */
+	public static synchronized void close(@NotNull ZipFileContainer archive) {
+		VineFlowerSession session = sessions.remove(archive);
+		if (session != null) {
+			session.clear();
+		}
+	}
+
+	/**
+	 * Decompile one of the archive's classes.
+	 *
+	 * @param entryName the class's entry name in the archive, without {@code .class}
+	 * @return the decompiled class, or {@code null} if it isn't a top level class of the archive
+	 */
+	public synchronized @Nullable VineFlowerClassSource.DecompiledClass decompile(@NotNull String entryName) {
+		StructClass structClass = engine.classes.get(entryName);
+		if (structClass == null) {
+			return null;
+		}
+
+		DecompilerContext previous = DecompilerContext.getCurrentContext();
+		DecompilerContext.setCurrentContext(context);
+		try {
+			engine.processClass(structClass);
+			tokens = null;
+			String content = engine.getClassContent(structClass);
+			return new VineFlowerClassSource.DecompiledClass(structClass.qualifiedName, content, tokens);
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to decompile " + entryName, e);
+		} finally {
+			DecompilerContext.setCurrentContext(previous);
+		}
+	}
+
+	private synchronized void clear() {
+		DecompilerContext previous = DecompilerContext.getCurrentContext();
+		DecompilerContext.setCurrentContext(context);
+		try {
+			engine.clearContext();
+		} finally {
+			DecompilerContext.setCurrentContext(previous);
+		}
+	}
+
+	/**
+	 * Collects the archive's top level classes instead of writing them, which is all a normal run would do after
+	 * loading the archive.
+	 */
+	private static class SessionEngine extends Fernflower {
+		private final Map<String, StructClass> classes = new HashMap<>();
+
+		private SessionEngine(Map<String, Object> options, IFernflowerLogger logger) {
+			super(new NoOpSaver(), options, logger);
+		}
+
+		@Override
+		public String getClassEntryName(StructClass cl, String entryName) {
+			if (super.getClassEntryName(cl, entryName) != null) {
+				classes.put(entryName, cl);
+			}
+
+			return null;
+		}
+	}
+
+	/**
+	 * {@link ArchiveSource} never hands anything to the saver, but VineFlower needs one.
+	 */
+	private static class NoOpSaver implements IResultSaver {
+		@Override
+		public void saveFolder(String path) {
+		}
+
+		@Override
+		public void copyFile(String source, String path, String entryName) {
+		}
+
+		@Override
+		public void saveClassFile(String path, String qualifiedName, String entryName, String content, int[] mapping) {
+		}
+
+		@Override
+		public void createArchive(String path, String archiveName, Manifest manifest) {
+		}
+
+		@Override
+		public void saveDirEntry(String path, String archiveName, String entryName) {
+		}
+
+		@Override
+		public void copyEntry(String source, String path, String archiveName, String entry) {
+		}
+
+		@Override
+		public void saveClassEntry(String path, String archiveName, String qualifiedName, String entryName, String content) {
+		}
+
+		@Override
+		public void closeArchive(String path, String archiveName) {
+		}
+	}
+
+	/**
+	 * Serves the archive's classes to VineFlower from the mapped archive.
+	 */
+	private static class ArchiveSource implements IContextSource {
+		private final MappedZipFile zipFile;
+		private final Map<String, MappedZipEntry> entries = new HashMap<>();
+
+		private ArchiveSource(@NotNull MappedZipFile zipFile) {
+			this.zipFile = zipFile;
+			for (MappedZipEntry entry : zipFile.entries()) {
+				if (!entry.isDirectory() && entry.name().endsWith(CLASS_SUFFIX)) {
+					entries.put(entry.name().substring(0, entry.name().length() - CLASS_SUFFIX.length()), entry);
+				}
+			}
+		}
+
+		@Override
+		public String getName() {
+			return "archive " + zipFile.getFile().getName();
+		}
+
+		@Override
+		public Entries getEntries() {
+			List<Entry> classes = new ArrayList<>(entries.size());
+			for (String name : entries.keySet()) {
+				classes.add(Entry.atBase(name));
+			}
+
+			return new Entries(classes, List.of(), List.of());
+		}
+
+		@Override
+		public InputStream getInputStream(@NotNull String resource) throws IOException {
+			String name = resource.endsWith(CLASS_SUFFIX) ? resource.substring(0, resource.length() - CLASS_SUFFIX.length()) : resource;
+			MappedZipEntry entry = entries.get(name);
+			return entry != null ? new ByteArrayInputStream(zipFile.read(entry)) : null;
+		}
+
+		@Override
+		public IOutputSink createOutputSink(IResultSaver saver) {
+			return new IOutputSink() {
+				@Override
+				public void begin() {
+				}
+
+				@Override
+				public void acceptClass(String qualifiedName, String fileName, String content, int[] mapping) {
+				}
+
+				@Override
+				public void acceptDirectory(String directory) {
+				}
+
+				@Override
+				public void acceptOther(String path) {
+				}
+
+				@Override
+				public void close() {
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.decompiler.impl;
+
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.index.MemberReference;
+import com.github.bl3nd.byteview.tokens.LocationTable;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.java.decompiler.main.extern.TextTokenVisitor;
+import org.jetbrains.java.decompiler.struct.gen.FieldDescriptor;
+import org.jetbrains.java.decompiler.struct.gen.MethodDescriptor;
+import org.jetbrains.java.decompiler.util.token.TextRange;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Receives the tokens of a class straight from VineFlower while it writes the source, instead of having them dumped
+ * into the source as text and parsing them back out.
+ * <p>
+ * Each token is kept as a few ints in parallel arrays, with references to the names and descriptors VineFlower already
+ * has, so collecting a token allocates nothing. The tokens are turned into locations only when they are put into a
+ * {@link ClassFileContainer}.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class VineFlowerTokenSink extends TextTokenVisitor {
+	private static final int FIELD = 0;
+	private static final int METHOD = 1;
+	private static final int PARAMETER = 2;
+	private static final int LOCAL = 3;
+
+	private int[] lineStarts = new int[0];
+	private int lineCount;
+
+	private int size;
+	private int[] kinds = new int[64];
+	private int[] starts = new int[64];
+	private int[] lengths = new int[64];
+	private String[] owners = new String[64];
+	private String[] names = new String[64];
+	private String[] methodNames = new String[64];
+	private MethodDescriptor[] descriptors = new MethodDescriptor[64];
+
+	public VineFlowerTokenSink(TextTokenVisitor next) {
+		super(next);
+	}
+
+	/**
+	 * Remember where every line starts so token offsets can be turned into lines and columns later.
+	 *
+	 * @param content the class's source
+	 */
+	@Override
+	public void start(String content) {
+		super.start(content);
+		lineStarts = new int[64];
+		lineCount = 1;
+		for (int i = 0; i < content.length(); i++) {
+			if (content.charAt(i) == '\n') {
+				if (lineCount == lineStarts.length) {
+					lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+				}
+
+				lineStarts[lineCount++] = i + 1;
+			}
+		}
+	}
+
+	@Override
+	public void visitField(TextRange range, boolean declaration, String className, String name, FieldDescriptor descriptor) {
+		super.visitField(range, declaration, className, name, descriptor);
+		add(FIELD, declaration, range, className, name, null, null);
+	}
+
+	@Override
+	public void visitMethod(TextRange range, boolean declaration, String className, String name, MethodDescriptor descriptor) {
+		super.visitMethod(range, declaration, className, name, descriptor);
+		add(METHOD, declaration, range, className, name, null, descriptor);
+	}
+
+	@Override
+	public void visitParameter(TextRange range, boolean declaration, String className, String methodName,
+							   MethodDescriptor methodDescriptor, int index, String name) {
+		super.visitParameter(range, declaration, className, methodName, methodDescriptor, index, name);
+		add(PARAMETER, declaration, range, className, name, methodName, methodDescriptor);
+	}
+
+	@Override
+	public void visitLocal(TextRange range, boolean declaration, String className, String methodName,
+						   MethodDescriptor methodDescriptor, int index, String name) {
+		super.visitLocal(range, declaration, className, methodName, methodDescriptor, index, name);
+		add(LOCAL, declaration, range, className, name, methodName, methodDescriptor);
+	}
+
+	private void add(int kind, boolean declaration, @NotNull TextRange range, String owner, String name, String methodName,
+					 MethodDescriptor descriptor) {
+		if (size == kinds.length) {
+			int capacity = size * 2;
+			kinds = Arrays.copyOf(kinds, capacity);
+			starts = Arrays.copyOf(starts, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			owners = Arrays.copyOf(owners, capacity);
+			names = Arrays.copyOf(names, capacity);
+			methodNames = Arrays.copyOf(methodNames, capacity);
+			descriptors = Arrays.copyOf(descriptors, capacity);
+		}
+
+		kinds[size] = kind << 1 | (declaration ? 1 : 0);
+		starts[size] = range.start;
+		lengths[size] = range.length;
+		owners[size] = owner;
+		names[size] = name;
+		methodNames[size] = methodName;
+		descriptors[size] = descriptor;
+		size++;
+	}
+
+	/**
+	 * @return how many tokens were collected
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Put the collected tokens into the container's location table.
+	 * <p>
+	 * Lines and columns start at 1 and the end column is just past the token, the same as the other locations. Owners
+	 * are the internal class name, so members can be looked up in the archive's index, parameters and locals belong to
+	 * their method's name and descriptor, and a method's parameter types are the ones in its descriptor.
+	 *
+	 * @param container the container
+	 */
+	public void fill(@NotNull ClassFileContainer container) {
+		Map<String, Integer> owners = new IdentityHashMap<>();
+		Map<String, Integer> simpleNames = new IdentityHashMap<>();
+		Map<MethodDescriptor, Integer> parameterTypes = new IdentityHashMap<>();
+		Map<MethodDescriptor, String> descriptorStrings = new IdentityHashMap<>();
+		int constructor = SymbolTable.intern("<init>");
+		LocationTable locations = container.locations;
+		for (int i = 0; i < size; i++) {
+			int line = getLine(starts[i]) + 1;
+			int columnStart = starts[i] - lineStarts[line - 1] + 1;
+			int columnEnd = columnStart + lengths[i];
+			boolean declaration = (kinds[i] & 1) != 0;
+			int owner = owners.computeIfAbsent(this.owners[i], SymbolTable::intern);
+			int name = SymbolTable.intern(names[i]);
+
+			switch (kinds[i] >> 1) {
+				case FIELD -> locations.add(LocationTable.FIELD, declaration, name, owner, -1, line, columnStart,
+						columnEnd);
+				case METHOD -> {
+					int types = parameterTypes.computeIfAbsent(descriptors[i], d -> {
+						String descriptor = d.toString();
+						return SymbolTable.intern(descriptor.substring(1, descriptor.indexOf(')')));
+					});
+
+					// Constructors are named after their class in the source, an inner class's without its outer ones
+					if (name == constructor) {
+						name = simpleNames.computeIfAbsent(this.owners[i],
+								o -> SymbolTable.intern(MemberReference.simpleName(o)));
+					}
+
+					locations.add(LocationTable.METHOD, declaration, name, owner, types, line, columnStart,
+							columnEnd);
+				}
+				case PARAMETER -> locations.add(LocationTable.PARAMETER, declaration, name, owner,
+						getMethod(i, descriptorStrings), line, columnStart, columnEnd);
+				case LOCAL -> locations.add(LocationTable.LOCAL, declaration, name, owner,
+						getMethod(i, descriptorStrings), line, columnStart, columnEnd);
+			}
+		}
+	}
+
+	private int getMethod(int i, @NotNull Map<MethodDescriptor, String> descriptorStrings) {
+		String descriptor = descriptorStrings.computeIfAbsent(descriptors[i], MethodDescriptor::toString);
+		return SymbolTable.intern(methodNames[i] + descriptor);
+	}
+
+	/**
+	 * @param offset an offset into the source
+	 * @return the line the offset is on, starting at 0
+	 */
+	private int getLine(int offset) {
+		int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+		return index >= 0 ? index : -index - 2;
+	}
+}
@@ -24,13 +24,17 @@
 
 package com.github.bl3nd.byteview.files;
 
+import com.github.bl3nd.byteview.files.zip.MappedZipFile;
+import com.github.bl3nd.byteview.files.zip.ZipEntrySource;
 import com.github.bl3nd.byteview.misc.FileMisc;
 import com.github.bl3nd.byteview.misc.Icons;
+import com.github.bl3nd.byteview.tokens.JavaParsers;
+import com.github.bl3nd.byteview.tokens.LocationIndex;
+import com.github.bl3nd.byteview.tokens.LocationTable;
 import com.github.bl3nd.byteview.tokens.MyVoidVisitor;
 import com.github.bl3nd.byteview.tokens.location.*;
 import com.github.javaparser.ParseProblemException;
 import com.github.javaparser.Range;
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.TokenRange;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
@@ -39,11 +43,10 @@ import com.github.javaparser.ast.body.*;
 import com.github.javaparser.ast.stmt.Statement;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.printer.YamlPrinter;
-import com.github.javaparser.symbolsolver.JavaSymbolSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.*;
 
@@ -55,29 +58,43 @@ import java.util.*;
  */
 public class ClassFileContainer extends FileContainer {
 	public boolean hasBeenDecompiled = false;
-	public transient NavigableMap<String, ArrayList<ClassFieldLocation>> fieldMembers = new TreeMap<>();
-	public transient NavigableMap<String, ArrayList<ClassParameterLocation>> methodParameterMembers = new TreeMap<>();
-	public transient NavigableMap<String, ArrayList<ClassLocalVariableLocation>> methodLocalMembers = new TreeMap<>();
-	public transient NavigableMap<String, ArrayList<ClassMethodLocation>> methodMembers = new TreeMap<>();
+	public transient LocationTable locations = new LocationTable();
 	public transient NavigableMap<String, ArrayList<TestParameterLocation>> testParameterMembers = new TreeMap<>();
+	private transient LocationIndex locationIndex;
 
 	public ClassFileContainer(final File file) throws IOException {
-		super(FileMisc.readBytes(file), file.getName());
+		super(() -> FileMisc.readBytes(file), file.getName());
+		if (!file.isFile()) {
+			throw new FileNotFoundException(file.getAbsolutePath());
+		}
 	}
 
 	public ClassFileContainer(byte[] bytes, String fileName) {
 		super(bytes, fileName);
 	}
 
+	public ClassFileContainer(ByteSource source, String fileName) {
+		super(source, fileName);
+	}
+
 	/**
 	 * Parse the Java content using JavaParser. This let us use the parsed Java in the structure pane.
+	 * <p>
+	 * The member tables are only filled from the parsed Java, by {@link MyVoidVisitor}, when the decompiler didn't
+	 * already fill them while decompiling. VineFlower always does, from its tokens, so this is for classes whose
+	 * decompiler doesn't report any. Only then are the symbols of a class from an archive resolved against the
+	 * archive's other classes as well. Any number of classes can be parsed at the same time, see {@link JavaParsers}.
 	 */
 	public void parse() {
 		// TODO: Sometimes this doesn't work
 		try {
-			StaticJavaParser.getParserConfiguration().setSymbolResolver(new JavaSymbolSolver(new ReflectionTypeSolver()));
-			CompilationUnit cu = StaticJavaParser.parse(content);
-			cu.accept(new MyVoidVisitor(this, cu), null);
+			boolean visit = !hasMemberLocations();
+			MappedZipFile archive = visit && getByteSource() instanceof ZipEntrySource source ? source.zipFile() : null;
+			CompilationUnit cu = JavaParsers.parse(content, archive);
+			if (visit) {
+				cu.accept(new MyVoidVisitor(this), null);
+			}
+
 			YamlPrinter printer = new YamlPrinter(true);
 			/*try (FileWriter fileWriter = new FileWriter("Output.yml")) {
 				fileWriter.write(printer.output(cu));
@@ -122,10 +139,45 @@ public class ClassFileContainer extends FileContainer {
 		}
 	}
 
+	/**
+	 * @return whether any field, method, parameter or local variable locations are known
+	 */
+	public boolean hasMemberLocations() {
+		return !locations.isEmpty();
+	}
+
+	/**
+	 * Get the index of the member locations, building it again if locations were added since it was last built.
+	 *
+	 * @return the location index
+	 */
+	public @NotNull LocationIndex getLocationIndex() {
+		LocationIndex index = locationIndex;
+		if (index == null || !index.isOf(locations)) {
+			index = new LocationIndex(locations);
+			locationIndex = index;
+		}
+
+		return index;
+	}
+
 	public void setHasBeenDecompiled(boolean hasBeenDecompiled) {
 		this.hasBeenDecompiled = hasBeenDecompiled;
 	}
 
+	/**
+	 * Drop the decompiled source and everything parsed from it. The class is decompiled again the next time it is
+	 * opened.
+	 */
+	public void unload() {
+		this.content = null;
+		this.memberMap.clear();
+		this.locations = new LocationTable();
+		this.testParameterMembers = new TreeMap<>();
+		this.locationIndex = null;
+		this.hasBeenDecompiled = false;
+	}
+
 	/**
 	 * Get the method and turn it into the structure pane text
 	 *
@@ -275,39 +327,27 @@ public class ClassFileContainer extends FileContainer {
 		}*/
 	}
 
-	public NavigableMap<String, ArrayList<ClassFieldLocation>> getFieldMembers() {
-		return fieldMembers;
-	}
-
-	public void putField(String key, ClassFieldLocation value) {
-		this.fieldMembers.computeIfAbsent(key, _ -> new ArrayList<>()).add(value);
-	}
-
-	public List<ClassFieldLocation> getMemberLocationsFor(String key) {
-		return fieldMembers.getOrDefault(key, new ArrayList<>());
-	}
-
-	public void putParameter(String key, ClassParameterLocation value) {
-		this.methodParameterMembers.computeIfAbsent(key, _ -> new ArrayList<>()).add(value);
-	}
-
-	public List<ClassParameterLocation> getParameterLocationsFor(String key) {
-		return methodParameterMembers.getOrDefault(key, new ArrayList<>());
+	public void putField(String key, @NotNull ClassFieldLocation value) {
+		this.locations.add(LocationTable.FIELD, isDeclaration(value.decRef()), key, value.owner(), null, value.line(),
+				value.columnStart(), value.columnEnd());
 	}
 
-	public void putLocalVariable(String key, ClassLocalVariableLocation value) {
-		this.methodLocalMembers.computeIfAbsent(key, _ -> new ArrayList<>()).add(value);
+	public void putParameter(String key, @NotNull ClassParameterLocation value) {
+		this.locations.add(LocationTable.PARAMETER, isDeclaration(value.decRef()), key, value.owner(), value.method(),
+				value.line(), value.columnStart(), value.columnEnd());
 	}
 
-	public List<ClassLocalVariableLocation> getLocalLocationsFor(String key) {
-		return methodLocalMembers.getOrDefault(key, new ArrayList<>());
+	public void putLocalVariable(String key, @NotNull ClassLocalVariableLocation value) {
+		this.locations.add(LocationTable.LOCAL, isDeclaration(value.decRef()), key, value.owner(), value.method(),
+				value.line(), value.columnStart(), value.columnEnd());
 	}
 
-	public void putMethod(String key, ClassMethodLocation value) {
-		this.methodMembers.computeIfAbsent(key, _ -> new ArrayList<>()).add(value);
+	public void putMethod(String key, @NotNull ClassMethodLocation value) {
+		this.locations.add(LocationTable.METHOD, isDeclaration(value.decRef()), key, value.owner(),
+				value.methodParameterTypes(), value.line(), value.columnStart(), value.columnEnd());
 	}
 
-	public List<ClassMethodLocation> getMethodLocationsFor(String key) {
-		return methodMembers.getOrDefault(key, new ArrayList<>());
+	private static boolean isDeclaration(String decRef) {
+		return "declaration".equalsIgnoreCase(decRef);
 	}
 }
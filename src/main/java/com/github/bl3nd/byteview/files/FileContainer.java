@@ -27,6 +27,8 @@ package com.github.bl3nd.byteview.files;
 import com.github.bl3nd.byteview.gui.components.MyTreeNode;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 
@@ -38,19 +40,53 @@ public class FileContainer {
 	public HashMap<String, Icon> memberMap = new LinkedHashMap<>();
 
 	public MyTreeNode rootNode;
-	public final byte[] bytes;
 	public final String fileName;
 	public String content;
 
+	private final ByteSource source;
+	private SoftReference<byte[]> bytes;
 	private String decompilerUsed;
 
 	public FileContainer(byte[] bytes, String fileName) {
-		this.bytes = bytes;
+		this(() -> bytes, fileName);
+	}
+
+	/**
+	 * A container whose bytes are only read when {@link #getBytes()} asks for them.
+	 *
+	 * @param source   where the bytes are read from
+	 * @param fileName the file name
+	 */
+	public FileContainer(ByteSource source, String fileName) {
+		this.source = source;
 		this.fileName = fileName;
 	}
 
-	public byte[] getBytes() {
-		return bytes;
+	/**
+	 * Get the bytes, reading them from the source if they aren't loaded.
+	 * <p>
+	 * The bytes are only softly held, so the ones that haven't been used in a while are released again when memory
+	 * gets tight and read again the next time they are needed.
+	 *
+	 * @return the bytes
+	 */
+	public synchronized byte[] getBytes() {
+		byte[] loaded = bytes != null ? bytes.get() : null;
+		if (loaded == null) {
+			try {
+				loaded = source.read();
+			} catch (IOException e) {
+				throw new RuntimeException("Failed to read the bytes of " + fileName, e);
+			}
+
+			bytes = new SoftReference<>(loaded);
+		}
+
+		return loaded;
+	}
+
+	public ByteSource getByteSource() {
+		return source;
 	}
 
 	public String getFileName() {
@@ -24,12 +24,17 @@
 
 package com.github.bl3nd.byteview.files;
 
+import com.github.bl3nd.byteview.files.zip.MappedZipFile;
+import com.github.bl3nd.byteview.index.ArchiveIndex;
+import com.github.bl3nd.byteview.index.CallGraph;
 import com.github.bl3nd.byteview.misc.FileMisc;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A container for Zip files.
@@ -40,9 +45,41 @@ import java.util.LinkedHashMap;
 public class ZipFileContainer extends FileContainer {
 	public HashMap<String, FileContainer> fileEntries = new LinkedHashMap<>();
 	public final File file;
+	public final MappedZipFile zipFile;
+	private CompletableFuture<ArchiveIndex> index;
+	private CompletableFuture<CallGraph> callGraph;
 
 	public ZipFileContainer(File file) throws IOException {
-		super(FileMisc.readBytes(file), file.getName());
+		// The archive is never copied onto the heap, entries are read from the mapped file when needed
+		super(() -> FileMisc.readBytes(file), file.getName());
 		this.file = file;
+		this.zipFile = new MappedZipFile(file);
+	}
+
+	/**
+	 * Get the index of the archive's classes and members, starting to build it in the background the first time.
+	 *
+	 * @return the index, once it is built
+	 */
+	public synchronized CompletableFuture<ArchiveIndex> getIndex() {
+		if (index == null) {
+			index = CompletableFuture.supplyAsync(() -> ArchiveIndex.build(zipFile, ForkJoinPool.commonPool()));
+		}
+
+		return index;
+	}
+
+	/**
+	 * Get the graph of which of the archive's methods call which, starting to build it in the background the first
+	 * time.
+	 *
+	 * @return the call graph, once it and the index are built
+	 */
+	public synchronized CompletableFuture<CallGraph> getCallGraph() {
+		if (callGraph == null) {
+			callGraph = getIndex().thenApplyAsync(CallGraph::new);
+		}
+
+		return callGraph;
 	}
 }
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.files.uploading;
+
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.files.FileContainer;
+import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.files.zip.MappedZipEntry;
+import com.github.bl3nd.byteview.files.zip.MappedZipFile;
+import com.github.bl3nd.byteview.files.zip.ZipEntrySource;
+import com.github.bl3nd.byteview.gui.components.MyTreeNode;
+import com.github.bl3nd.byteview.misc.FileMisc;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Fills a {@link ZipFileContainer} with its entries in three stages:
+ * <ol>
+ *     <li>the central directory scan, done by {@link MappedZipFile} when the archive is opened</li>
+ *     <li>classifying the entries and creating their containers, in chunks on a fork-join pool</li>
+ *     <li>merging the chunks into {@link ZipFileContainer#fileEntries} in archive order</li>
+ * </ol>
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class ArchiveIngestPipeline {
+	private static final int CHUNK_SIZE = 256;
+	private static final int CLASS_MAGIC = 0xCAFEBABE;
+
+	private final ZipFileContainer container;
+	private final ForkJoinPool pool;
+
+	public ArchiveIngestPipeline(ZipFileContainer container) {
+		this(container, ForkJoinPool.commonPool());
+	}
+
+	public ArchiveIngestPipeline(ZipFileContainer container, ForkJoinPool pool) {
+		this.container = container;
+		this.pool = pool;
+	}
+
+	/**
+	 * Run the pipeline.
+	 *
+	 * @param merge called on the calling thread with every chunk, in archive order, as soon as it is ready. It is
+	 *              responsible for putting the entries into the container.
+	 */
+	public void run(@NotNull Consumer<List<Entry>> merge) {
+		List<MappedZipEntry> entries = container.zipFile.entries();
+
+		List<ForkJoinTask<List<Entry>>> chunks = new ArrayList<>();
+		for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+			List<MappedZipEntry> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+			chunks.add(pool.submit(() -> ingest(chunk)));
+		}
+
+		for (ForkJoinTask<List<Entry>> chunk : chunks) {
+			List<Entry> ingested = chunk.join();
+			if (!ingested.isEmpty()) {
+				merge.accept(ingested);
+			}
+		}
+	}
+
+	/**
+	 * Classify a chunk of entries and create a container for each one we can show.
+	 */
+	private @NotNull List<Entry> ingest(@NotNull List<MappedZipEntry> chunk) {
+		List<Entry> ingested = new ArrayList<>(chunk.size());
+		String archiveName = FileMisc.removeExtension(container.fileName);
+		for (MappedZipEntry entry : chunk) {
+			if (entry.isDirectory()) {
+				continue;
+			}
+
+			String entryName = entry.name();
+			if (entryName.endsWith(".class")) {
+				if (!isClassFile(entry)) {
+					System.err.println("Skipping " + entryName + ", it is not a class file");
+					continue;
+				}
+
+				String[] split = entryName.split("/");
+				StringBuilder directory = new StringBuilder();
+				for (int i = 0; i < split.length - 1; i++) {
+					directory.append(split[i]).append(File.separator);
+				}
+
+				ClassFileContainer classFileContainer = new ClassFileContainer(new ZipEntrySource(container.zipFile, entry),
+						split[split.length - 1]);
+				// Every class of a package has the same label
+				classFileContainer.rootNode = new MyTreeNode(SymbolTable.canonical(archiveName + File.separator + directory));
+				ingested.add(new Entry(FileMisc.removeExtension(entryName), classFileContainer));
+			} else if (entryName.endsWith(".MF")) {
+				String[] split = entryName.split("/");
+				FileContainer fileContainer = new FileContainer(new ZipEntrySource(container.zipFile, entry), split[1]);
+				fileContainer.rootNode = new MyTreeNode(split[0]);
+				ingested.add(new Entry(FileMisc.removeExtension(entryName), fileContainer));
+			}
+		}
+
+		return ingested;
+	}
+
+	/**
+	 * Check the magic number. Only the first four bytes are inflated.
+	 */
+	private boolean isClassFile(MappedZipEntry entry) {
+		try {
+			byte[] header = container.zipFile.readPrefix(entry, 4);
+			return header.length == 4 && ((header[0] & 0xFF) << 24 | (header[1] & 0xFF) << 16 | (header[2] & 0xFF) << 8
+					| (header[3] & 0xFF)) == CLASS_MAGIC;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * An ingested entry.
+	 *
+	 * @param key       the key in {@link ZipFileContainer#fileEntries}
+	 * @param container the entry's container
+	 */
+	public record Entry(String key, FileContainer container) {
+	}
+}
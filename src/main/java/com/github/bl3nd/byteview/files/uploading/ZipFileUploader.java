@@ -25,19 +25,17 @@
 package com.github.bl3nd.byteview.files.uploading;
 
 import com.github.bl3nd.byteview.ByteView;
-import com.github.bl3nd.byteview.files.ClassFileContainer;
-import com.github.bl3nd.byteview.files.FileContainer;
 import com.github.bl3nd.byteview.files.ZipFileContainer;
-import com.github.bl3nd.byteview.gui.components.MyTreeNode;
+import com.github.bl3nd.byteview.index.ClassNameIndex;
 import com.github.bl3nd.byteview.misc.Constants;
-import com.github.bl3nd.byteview.misc.FileMisc;
+import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Created by Bl3nd.
@@ -50,47 +48,76 @@ public class ZipFileUploader implements FileUploader {
 		this.file = file;
 	}
 
+	/**
+	 * Map the archive and show it straight away. The entries are ingested on a background thread and streamed into
+	 * the resource tree in batches as they become ready.
+	 *
+	 * @throws IOException when the archive can't be opened
+	 */
 	@Override
 	public void upload() throws IOException {
 		if (!ByteView.mainFrame.resourcePane.files.contains(file)) {
 			ZipFileContainer container = new ZipFileContainer(file);
-			try (ZipInputStream zis = new ZipInputStream(new FileInputStream(file))) {
-				ZipEntry entry;
-				while ((entry = zis.getNextEntry()) != null) {
-					if (entry.isDirectory()) {
-						continue;
-					}
+			ByteView.mainFrame.resourcePane.files.add(file);
+			SwingUtilities.invokeLater(() -> {
+				ByteView.mainFrame.resourcePane.addResource(container);
+				new EntryLoader(container).execute();
+			});
+		}
+	}
 
-					String entryName = entry.getName();
-					if (entryName.endsWith(".class")) {
-						StringBuilder directory = new StringBuilder();
-						byte[] bytes = FileMisc.readBytes(zis);
-						String[] split = entryName.split("/");
-						String fileName = split[split.length - 1];
-						for (int i = 0; i < split.length - 1; i++) {
-							directory.append(split[i]).append(File.separator);
-						}
+	/**
+	 * Runs the ingest pipeline and merges each chunk into the container and the tree on the EDT.
+	 */
+	private static class EntryLoader extends SwingWorker<Void, List<ArchiveIngestPipeline.Entry>> {
+		private final ZipFileContainer container;
 
-						ClassFileContainer classFileContainer = new ClassFileContainer(bytes, fileName);
-						classFileContainer.rootNode = new MyTreeNode(FileMisc.removeExtension(container.fileName) + File.separator + directory);
-						container.fileEntries.put(FileMisc.removeExtension(entryName), classFileContainer);
-					} else if (entryName.endsWith(".MF")) {
-						byte[] bytes = FileMisc.readBytes(zis);
-						String[] split = entryName.split("/");
-						FileContainer fileContainer = new FileContainer(bytes, split[1]);
-						fileContainer.rootNode = new MyTreeNode(split[0]);
-						container.fileEntries.put(FileMisc.removeExtension(entryName), fileContainer);
-					}
+		private EntryLoader(ZipFileContainer container) {
+			this.container = container;
+		}
+
+		@Override
+		protected Void doInBackground() {
+			new ArchiveIngestPipeline(container).run(this::publish);
+			return null;
+		}
+
+		@Override
+		protected void process(@NotNull List<List<ArchiveIngestPipeline.Entry>> chunks) {
+			if (!ByteView.mainFrame.resourcePane.isOpen(container)) {
+				return;
+			}
 
-					zis.closeEntry();
+			for (List<ArchiveIngestPipeline.Entry> chunk : chunks) {
+				List<String> keys = new ArrayList<>(chunk.size());
+				for (ArchiveIngestPipeline.Entry entry : chunk) {
+					container.fileEntries.put(entry.key(), entry.container());
+					keys.add(entry.key());
 				}
-			} catch (IOException e) {
-				throw new RuntimeException(e);
+
+				ByteView.mainFrame.resourcePane.addEntries(container, keys);
 			}
+		}
 
-			ByteView.mainFrame.resourcePane.files.add(file);
+		@Override
+		protected void done() {
+			if (!ByteView.mainFrame.resourcePane.isOpen(container)) {
+				// The archive was removed while it was still loading, it mustn't be indexed again
+				return;
+			}
 
-			SwingUtilities.invokeLater(() -> ByteView.mainFrame.resourcePane.addResource(container));
+			try {
+				// Rethrows anything the pipeline failed with
+				get();
+				ClassNameIndex.add(container);
+				container.getIndex().whenComplete((_, e) -> {
+					if (e != null) {
+						System.err.println("Failed to index " + container.fileName + ": " + e.getMessage());
+					}
+				});
+			} catch (InterruptedException | ExecutionException e) {
+				throw new RuntimeException(e);
+			}
 		}
 	}
 }
@@ -0,0 +1,329 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.files.zip;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * A read-only zip reader that memory-maps the archive. Only the central directory is parsed when the archive is
+ * opened, each entry is inflated when it is asked for.
+ * <p>
+ * Reads never move the position of the mapped buffer, so one instance can be shared between threads. Once the archive
+ * is {@link #close() closed} every read throws.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class MappedZipFile {
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+	private static final int ZIP64_EXTRA_ID = 0x0001;
+
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int END_HEADER_SIZE = 22;
+	private static final int ZIP64_LOCATOR_SIZE = 20;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+	private final File file;
+	private final List<MappedZipEntry> entries;
+	private volatile ByteBuffer buffer;
+
+	/**
+	 * Creating an inflater allocates native memory, so the ones that are done with an entry are kept for the next one
+	 * until the archive is closed.
+	 */
+	private final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Map the archive and read its central directory.
+	 *
+	 * @param file the archive
+	 * @throws IOException when the file can't be mapped or is not a valid zip
+	 */
+	public MappedZipFile(@NotNull File file) throws IOException {
+		this.file = file;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("Archive is too large to be mapped: " + file);
+			}
+
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			this.buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		this.entries = Collections.unmodifiableList(readCentralDirectory());
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Drop the mapped buffer and end the archive's inflaters. The file is unmapped once the buffer is garbage
+	 * collected, a read that is already running finishes on its own view of it. The entries can still be listed.
+	 */
+	public void close() {
+		buffer = null;
+		endInflaters();
+	}
+
+	private void endInflaters() {
+		Inflater inflater;
+		while ((inflater = inflaters.poll()) != null) {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * @return every entry in central directory order
+	 */
+	public List<MappedZipEntry> entries() {
+		return entries;
+	}
+
+	/**
+	 * Inflate an entry.
+	 *
+	 * @param entry the entry to read
+	 * @return the uncompressed bytes of the entry
+	 * @throws IOException when the entry is corrupt or uses an unsupported compression method
+	 */
+	public byte @NotNull [] read(@NotNull MappedZipEntry entry) throws IOException {
+		if (entry.size() > Integer.MAX_VALUE - 8) {
+			throw new IOException("Entry is too large: " + entry.name());
+		}
+
+		byte[] bytes = new byte[(int) entry.size()];
+		if (inflate(entry, bytes) != bytes.length) {
+			throw new IOException("Unexpected end of entry " + entry.name());
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Inflate only the start of an entry. This is enough to look at a header (e.g. a class file's magic) without paying
+	 * for the whole entry.
+	 *
+	 * @param entry  the entry to read
+	 * @param length the maximum number of bytes wanted
+	 * @return up to {@code length} bytes from the start of the entry, less if the entry is shorter
+	 * @throws IOException when the entry is corrupt or uses an unsupported compression method
+	 */
+	public byte @NotNull [] readPrefix(@NotNull MappedZipEntry entry, int length) throws IOException {
+		byte[] bytes = new byte[(int) Math.min(length, entry.size())];
+		int read = inflate(entry, bytes);
+		return read == bytes.length ? bytes : Arrays.copyOf(bytes, read);
+	}
+
+	/**
+	 * Inflate the entry into {@code bytes}, stopping once it is full.
+	 *
+	 * @return the number of bytes written
+	 */
+	private int inflate(@NotNull MappedZipEntry entry, byte @NotNull [] bytes) throws IOException {
+		ByteBuffer data = data(entry);
+		if (entry.method() == ZipEntry.STORED) {
+			int length = Math.min(bytes.length, data.remaining());
+			data.get(bytes, 0, length);
+			return length;
+		}
+
+		if (entry.method() != ZipEntry.DEFLATED) {
+			throw new IOException("Unsupported compression method " + entry.method() + " for " + entry.name());
+		}
+
+		Inflater inflater = inflaters.poll();
+		if (inflater == null) {
+			inflater = new Inflater(true);
+		}
+
+		try {
+			inflater.setInput(data);
+			int read = 0;
+			while (read < bytes.length) {
+				int n = inflater.inflate(bytes, read, bytes.length - read);
+				if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+
+				read += n;
+			}
+
+			return read;
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupt entry " + entry.name(), e);
+		} finally {
+			inflater.reset();
+			inflaters.offer(inflater);
+			// The archive may have been closed while this entry was being inflated
+			if (buffer == null) {
+				endInflaters();
+			}
+		}
+	}
+
+	/**
+	 * Get a view of the entry's raw (possibly compressed) data.
+	 */
+	private @NotNull ByteBuffer data(@NotNull MappedZipEntry entry) throws IOException {
+		ByteBuffer buffer = this.buffer;
+		if (buffer == null) {
+			throw new IOException("Archive is closed: " + file);
+		}
+
+		long headerOffset = entry.localHeaderOffset();
+		if (headerOffset + LOCAL_HEADER_SIZE > buffer.limit() || buffer.getInt((int) headerOffset) != LOCAL_HEADER_SIGNATURE) {
+			throw new IOException("Invalid local header for " + entry.name());
+		}
+
+		int nameLength = Short.toUnsignedInt(buffer.getShort((int) headerOffset + 26));
+		int extraLength = Short.toUnsignedInt(buffer.getShort((int) headerOffset + 28));
+		long dataOffset = headerOffset + LOCAL_HEADER_SIZE + nameLength + extraLength;
+		if (dataOffset + entry.compressedSize() > buffer.limit()) {
+			throw new IOException("Entry data runs past the end of the archive: " + entry.name());
+		}
+
+		return buffer.slice((int) dataOffset, (int) entry.compressedSize()).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private @NotNull List<MappedZipEntry> readCentralDirectory() throws IOException {
+		ByteBuffer buffer = this.buffer;
+		int end = findEndOfCentralDirectory();
+		long count = Short.toUnsignedInt(buffer.getShort(end + 10));
+		long offset = Integer.toUnsignedLong(buffer.getInt(end + 16));
+
+		int locator = end - ZIP64_LOCATOR_SIZE;
+		if (locator >= 0 && buffer.getInt(locator) == ZIP64_LOCATOR_SIGNATURE) {
+			long zip64End = buffer.getLong(locator + 8);
+			if (zip64End < 0 || zip64End > buffer.limit() - 56 || buffer.getInt((int) zip64End) != ZIP64_END_SIGNATURE) {
+				throw new IOException("Invalid zip64 end of central directory in " + file);
+			}
+
+			count = buffer.getLong((int) zip64End + 32);
+			offset = buffer.getLong((int) zip64End + 48);
+		}
+
+		if (offset < 0 || offset > end || count < 0 || count > Integer.MAX_VALUE) {
+			throw new IOException("Invalid central directory in " + file);
+		}
+
+		List<MappedZipEntry> list = new ArrayList<>((int) Math.min(count, 1 << 16));
+		int position = (int) offset;
+		for (long i = 0; i < count; i++) {
+			if (position + CENTRAL_HEADER_SIZE > buffer.limit() || buffer.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+				throw new IOException("Invalid central directory header #" + i + " in " + file);
+			}
+
+			int method = Short.toUnsignedInt(buffer.getShort(position + 10));
+			long crc = Integer.toUnsignedLong(buffer.getInt(position + 16));
+			long compressedSize = Integer.toUnsignedLong(buffer.getInt(position + 20));
+			long size = Integer.toUnsignedLong(buffer.getInt(position + 24));
+			int nameLength = Short.toUnsignedInt(buffer.getShort(position + 28));
+			int extraLength = Short.toUnsignedInt(buffer.getShort(position + 30));
+			int commentLength = Short.toUnsignedInt(buffer.getShort(position + 32));
+			long localHeaderOffset = Integer.toUnsignedLong(buffer.getInt(position + 42));
+
+			byte[] nameBytes = new byte[nameLength];
+			buffer.get(position + CENTRAL_HEADER_SIZE, nameBytes);
+			String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+			// Zip64 values only exist for the fields that overflowed, and they are stored in this order
+			int extra = position + CENTRAL_HEADER_SIZE + nameLength;
+			int extraEnd = extra + extraLength;
+			while (extra + 4 <= extraEnd) {
+				int id = Short.toUnsignedInt(buffer.getShort(extra));
+				int length = Short.toUnsignedInt(buffer.getShort(extra + 2));
+				if (id == ZIP64_EXTRA_ID) {
+					int value = extra + 4;
+					if (size == 0xFFFFFFFFL) {
+						size = buffer.getLong(value);
+						value += 8;
+					}
+
+					if (compressedSize == 0xFFFFFFFFL) {
+						compressedSize = buffer.getLong(value);
+						value += 8;
+					}
+
+					if (localHeaderOffset == 0xFFFFFFFFL) {
+						localHeaderOffset = buffer.getLong(value);
+					}
+
+					break;
+				}
+
+				extra += 4 + length;
+			}
+
+			list.add(new MappedZipEntry(name, method, crc, compressedSize, size, localHeaderOffset));
+			position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+		}
+
+		return list;
+	}
+
+	/**
+	 * Search backwards for the end of central directory record. It is followed by a comment of up to 64KiB.
+	 */
+	private int findEndOfCentralDirectory() throws IOException {
+		ByteBuffer buffer = this.buffer;
+		int limit = buffer.limit();
+		int stop = Math.max(0, limit - END_HEADER_SIZE - MAX_COMMENT_SIZE);
+		for (int position = limit - END_HEADER_SIZE; position >= stop; position--) {
+			if (buffer.getInt(position) == END_SIGNATURE) {
+				int commentLength = Short.toUnsignedInt(buffer.getShort(position + 20));
+				if (position + END_HEADER_SIZE + commentLength == limit) {
+					return position;
+				}
+			}
+		}
+
+		throw new IOException("Not a zip file (no end of central directory): " + file);
+	}
+}
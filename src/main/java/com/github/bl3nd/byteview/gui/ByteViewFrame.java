@@ -30,14 +30,22 @@ import com.github.bl3nd.byteview.ByteView;
 import com.github.bl3nd.byteview.gui.components.ThemeMenuItem;
 import com.github.bl3nd.byteview.gui.fileviewer.FileResourcePane;
 import com.github.bl3nd.byteview.gui.fileviewer.actions.FileActions;
+import com.github.bl3nd.byteview.gui.hierarchy.CallHierarchyPane;
+import com.github.bl3nd.byteview.gui.hierarchy.HierarchyPane;
 import com.github.bl3nd.byteview.gui.resourceviewer.ResourceViewerPane;
+import com.github.bl3nd.byteview.gui.search.ConstantSearchPane;
+import com.github.bl3nd.byteview.gui.search.GoToClassDialog;
+import com.github.bl3nd.byteview.gui.search.SourceSearchPane;
 import com.github.bl3nd.byteview.gui.settings.Settings;
 import com.github.bl3nd.byteview.gui.structure.FileStructurePane;
+import com.github.bl3nd.byteview.gui.usages.UsagesPane;
 import com.github.bl3nd.byteview.misc.Icons;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 
@@ -49,9 +57,16 @@ public class ByteViewFrame extends JFrame {
 	public FileResourcePane resourcePane = new FileResourcePane();
 	public ResourceViewerPane resourceViewerPane = new ResourceViewerPane();
 	public FileStructurePane fileStructurePane = new FileStructurePane();
+	public UsagesPane usagesPane = new UsagesPane();
+	public HierarchyPane hierarchyPane = new HierarchyPane();
+	public CallHierarchyPane callHierarchyPane = new CallHierarchyPane();
+	public SourceSearchPane sourceSearchPane = new SourceSearchPane();
+	public ConstantSearchPane constantSearchPane = new ConstantSearchPane();
+	public GoToClassDialog goToClassDialog;
 	public JMenu openRecentMenu;
 	public JSplitPane splitPane;
 	public JSplitPane splitPane1;
+	public JSplitPane viewerSplitPane;
 
 	public ByteViewFrame() {
 		super("ByteView");
@@ -59,6 +74,7 @@ public class ByteViewFrame extends JFrame {
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setLocationRelativeTo(null);
 		setIconImages(FlatSVGUtils.createWindowIconImages("/icons/ByteView.svg"));
+		goToClassDialog = new GoToClassDialog(this);
 
 		JMenuBar menuBar = setupMenuBar();
 
@@ -71,7 +87,10 @@ public class ByteViewFrame extends JFrame {
 		resourceViewerPane.setPreferredSize(new Dimension(700, 800));
 		resourceViewerPane.setMinimumSize(new Dimension(20, 800));
 
-		splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, resourcePane, resourceViewerPane);
+		// The usages and search panes are only shown below the viewer once something is searched for
+		viewerSplitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, resourceViewerPane, null);
+		viewerSplitPane.setResizeWeight(1);
+		splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, resourcePane, viewerSplitPane);
 //		splitPane.addPropertyChangeListener(JSplitPane.DIVIDER_LOCATION_PROPERTY, _ -> {
 //			int width = resourcePane.getWidth() + resourceViewerPane.getMinimumSize().width + 6;
 //			splitPane.setMinimumSize(new Dimension(width, this.getHeight()));
@@ -116,6 +135,29 @@ public class ByteViewFrame extends JFrame {
 		settingsItem.setMnemonic('S');
 		settingsItem.addActionListener(_ -> Settings.openSettingsDialog());
 		viewMenu.add(settingsItem);
+
+		JMenuItem goToClassItem = new JMenuItem("Go to Class");
+		goToClassItem.setMnemonic('G');
+		goToClassItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_N, InputEvent.CTRL_DOWN_MASK));
+		goToClassItem.addActionListener(_ -> goToClassDialog.showDialog());
+		viewMenu.add(goToClassItem);
+
+		JMenuItem findInSourcesItem = new JMenuItem("Find in Sources");
+		findInSourcesItem.setMnemonic('F');
+		findInSourcesItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F,
+				InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK));
+		findInSourcesItem.addActionListener(_ -> sourceSearchPane.showPane());
+		viewMenu.add(findInSourcesItem);
+		JMenuItem findConstantsItem = new JMenuItem("Find String Constants");
+		findConstantsItem.setMnemonic('C');
+		findConstantsItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F,
+				InputEvent.CTRL_DOWN_MASK | InputEvent.ALT_DOWN_MASK));
+		findConstantsItem.addActionListener(_ -> constantSearchPane.showPane());
+		viewMenu.add(findConstantsItem);
+		JMenuItem decompileAllItem = new JMenuItem("Decompile All Classes");
+		decompileAllItem.setMnemonic('D');
+		decompileAllItem.addActionListener(_ -> sourceSearchPane.decompileAll());
+		viewMenu.add(decompileAllItem);
 		menuBar.add(viewMenu);
 
 		JPopupMenu popupMenu = new JPopupMenu();
@@ -108,7 +108,11 @@ public class ThemeMenuItem extends JMenuItem implements ActionListener {
 
 				FlatLaf.updateUI();
 				FlatAnimatedLafChange.hideSnapshotWithAnimation();
-				ByteView.mainFrame.resourceViewerPane.getPages().forEach((s, page) -> page.getTextArea().setCurrentLineHighlightColor(UIManager.getColor("textHighlight")));
+				ByteView.mainFrame.resourceViewerPane.getPages().forEach((s, page) -> {
+					if (page.getTextArea() != null) {
+						page.getTextArea().setCurrentLineHighlightColor(UIManager.getColor("textHighlight"));
+					}
+				});
 
 				ByteView.configuration.updateCurrentTheme(selectedTheme);
 				break;
@@ -26,7 +26,9 @@ package com.github.bl3nd.byteview.gui.fileviewer;
 
 import com.formdev.flatlaf.FlatLaf;
 import com.github.bl3nd.byteview.ByteView;
-import com.github.bl3nd.byteview.decompiler.Decompiler;
+import com.github.bl3nd.byteview.decompiler.DecompilerExecutor;
+import com.github.bl3nd.byteview.decompiler.cache.SourceCache;
+import com.github.bl3nd.byteview.decompiler.impl.VineFlowerSession;
 import com.github.bl3nd.byteview.decompiler.dialog.DecompilerDialog;
 import com.github.bl3nd.byteview.files.ClassFileContainer;
 import com.github.bl3nd.byteview.files.FileContainer;
@@ -36,23 +38,33 @@ import com.github.bl3nd.byteview.gui.components.MyTree;
 import com.github.bl3nd.byteview.gui.components.MyTreeNode;
 import com.github.bl3nd.byteview.gui.fileviewer.components.FileResourceTreeCellRenderer;
 import com.github.bl3nd.byteview.gui.resourceviewer.pages.ClassResourcePage;
+import com.github.bl3nd.byteview.gui.resourceviewer.pages.DecompilingPage;
+import com.github.bl3nd.byteview.gui.resourceviewer.pages.Page;
+import com.github.bl3nd.byteview.index.ClassNameIndex;
+import com.github.bl3nd.byteview.index.SourceIndex;
+import com.github.bl3nd.byteview.index.TypeHierarchy;
 import com.github.bl3nd.byteview.misc.Icons;
+import com.github.bl3nd.byteview.tokens.JavaParsers;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
+import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreePath;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.*;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Created by Bl3nd.
  * Date: 5/12/2024
  */
 public class FileResourcePane extends JPanel {
+	private static final int PREFETCH_COUNT = 4;
+
 	public final Map<String, FileContainer> uploadedFiles = new HashMap<>();
 	public final List<File> files = new ArrayList<>();
 
@@ -72,6 +84,7 @@ public class FileResourcePane extends JPanel {
 		headerPanel = new HeaderPanel("Files", Icons.folderIcon, new Insets(0, 0, 0, 1), decompileEntireCheckbox);
 		tree.setRootVisible(false);
 		tree.setShowsRootHandles(true);
+		tree.setCellRenderer(new FileResourceTreeCellRenderer());
 		headerPanel.setContent(tree);
 		add(headerPanel, BorderLayout.CENTER);
 
@@ -92,9 +105,10 @@ public class FileResourcePane extends JPanel {
 					// Clicked on valid item bounds
 					if (bounds.contains(e.getX(), e.getY()) || e.getY() >= bounds.y && e.getY() < bounds.y + bounds.height && (e.getX() < bounds.x || e.getX() > bounds.x + bounds.width)) {
 						FileContainer container;
+						ZipFileContainer zipFileContainer = null;
 						String pathName = path.getPathComponent(1).toString();
 						if (pathName.endsWith(".jar")) {
-							ZipFileContainer zipFileContainer = (ZipFileContainer) ByteView.mainFrame.resourcePane.uploadedFiles.get(pathName);
+							zipFileContainer = (ZipFileContainer) ByteView.mainFrame.resourcePane.uploadedFiles.get(pathName);
 							pathName = path.getLastPathComponent().toString();
 							if (pathName.endsWith(".class")) {
 								int count = path.getPathCount();
@@ -118,28 +132,10 @@ public class FileResourcePane extends JPanel {
 
 						if (e.getClickCount() == 2) {
 							if (container instanceof ClassFileContainer c) {
-								if (!ByteView.configuration.hasCurrentDecompiler()) {
-									int i = DecompilerDialog.open();
-									if (i != JOptionPane.OK_OPTION) {
-										return;
-									}
-								}
-
-								if (!c.hasBeenDecompiled || !c.getDecompilerUsed().equalsIgnoreCase(ByteView.configuration.getCurrentDecompiler())) {
-									Decompiler decompiler = Decompiler.getDecompiler(
-											ByteView.configuration.getCurrentDecompiler(), c
-									);
-									byte[] bytes = c.getBytes();
-									decompiler.decompile(bytes);
-									c.parse();
-								}
-
-								if (!ByteView.configuration.getAlwaysShowHierarchy()) {
-									ByteView.mainFrame.splitPane1.setRightComponent(ByteView.mainFrame.fileStructurePane);
+								openClass(c);
+								if (zipFileContainer != null && ByteView.configuration.hasCurrentDecompiler()) {
+									prefetchNeighbours(zipFileContainer, pathName);
 								}
-
-								ByteView.mainFrame.fileStructurePane.showContainerStructure(c);
-								ByteView.mainFrame.resourceViewerPane.addPage(new ClassResourcePage(c));
 							}
 						}
 					} else { // Clicked outside a valid item bounds
@@ -168,6 +164,32 @@ public class FileResourcePane extends JPanel {
 				int keyCode = KeyEvent.getExtendedKeyCodeForChar(e.getKeyChar());
 				if (pathName.endsWith(".jar")) {
 					if (keyCode == 127) { // Delete key
+						ZipFileContainer zip = (ZipFileContainer) uploadedFiles.get(pathName);
+						for (FileContainer entry : zip.fileEntries.values()) {
+							if (entry instanceof ClassFileContainer c) {
+								SourceCache.remove(c);
+								SourceIndex.remove(c);
+								SymbolTable.release(c.locations);
+							}
+						}
+
+						ClassNameIndex.remove(zip);
+						// The hierarchy covers every archive, so it has to be built again without this one
+						ByteView.mainFrame.hierarchyPane.close();
+						ByteView.mainFrame.callHierarchyPane.close();
+						TypeHierarchy.clear();
+						VineFlowerSession.close(zip);
+						JavaParsers.close(zip.zipFile);
+						// Frees the names only the archive had and unmaps it, once its index is done being built
+						zip.getIndex().whenComplete((index, _) -> {
+							if (index != null) {
+								SymbolTable.release(index);
+							}
+
+							SymbolTable.collect();
+							zip.zipFile.close();
+						});
+
 						root.remove(uploadedFiles.get(pathName).rootNode);
 						ByteView.mainFrame.resourceViewerPane.removeAllTabsRelatedToArchive(uploadedFiles.get(pathName));
 						uploadedFiles.remove(pathName);
@@ -192,30 +214,7 @@ public class FileResourcePane extends JPanel {
 						});
 					} else*/
 					if (keyCode == 10) { // Enter key
-						ClassFileContainer container =
-								(ClassFileContainer) ByteView.mainFrame.resourcePane.uploadedFiles.get(pathName);
-						if (!ByteView.configuration.hasCurrentDecompiler()) {
-							int i = DecompilerDialog.open();
-							if (i != JOptionPane.OK_OPTION) {
-								return;
-							}
-						}
-
-						if (!container.hasBeenDecompiled) {
-							Decompiler decompiler = Decompiler.getDecompiler(
-									ByteView.configuration.getCurrentDecompiler(), container
-							);
-							byte[] bytes = container.getBytes();
-							decompiler.decompile(bytes);
-							container.parse();
-						}
-
-						if (!ByteView.configuration.getAlwaysShowHierarchy()) {
-							ByteView.mainFrame.splitPane1.setRightComponent(ByteView.mainFrame.fileStructurePane);
-						}
-
-						ByteView.mainFrame.fileStructurePane.showContainerStructure(container);
-						ByteView.mainFrame.resourceViewerPane.addPage(new ClassResourcePage(container));
+						openClass((ClassFileContainer) ByteView.mainFrame.resourcePane.uploadedFiles.get(pathName));
 					}
 				}
 			}
@@ -225,7 +224,101 @@ public class FileResourcePane extends JPanel {
 	}
 
 	/**
-	 * Adds this container to the resource tree.
+	 * Open a class in the resource viewer. If it still has to be decompiled, a placeholder page is shown until the
+	 * {@link DecompilerExecutor} is done with it.
+	 *
+	 * @param container the class to open
+	 */
+	public void openClass(@NotNull ClassFileContainer container) {
+		openClass(container, _ -> {
+		});
+	}
+
+	/**
+	 * Open a class in the resource viewer, and do something with its page once the class has been decompiled.
+	 *
+	 * @param container the class to open
+	 * @param onOpened  called with the class's page, unless its tab is closed before it is decompiled
+	 */
+	public void openClass(@NotNull ClassFileContainer container, @NotNull Consumer<ClassResourcePage> onOpened) {
+		if (!ByteView.configuration.hasCurrentDecompiler()) {
+			int i = DecompilerDialog.open();
+			if (i != JOptionPane.OK_OPTION) {
+				return;
+			}
+		}
+
+		if (!ByteView.configuration.getAlwaysShowHierarchy()) {
+			ByteView.mainFrame.splitPane1.setRightComponent(ByteView.mainFrame.fileStructurePane);
+		}
+
+		String decompiler = ByteView.configuration.getCurrentDecompiler();
+		if (container.hasBeenDecompiled && container.getDecompilerUsed().equalsIgnoreCase(decompiler)) {
+			SourceCache.touch(container);
+			ByteView.mainFrame.fileStructurePane.showContainerStructure(container);
+			ClassResourcePage page = new ClassResourcePage(container);
+			ByteView.mainFrame.resourceViewerPane.addPage(page);
+			if (ByteView.mainFrame.resourceViewerPane.getPages().get(page.getName()) instanceof ClassResourcePage open) {
+				onOpened.accept(open);
+			}
+
+			return;
+		}
+
+		DecompilingPage placeholder = new DecompilingPage(container);
+		ByteView.mainFrame.resourceViewerPane.addPage(placeholder);
+		DecompilerExecutor.submit(container, decompiler,
+				c -> {
+					ClassResourcePage page = new ClassResourcePage(c);
+					if (ByteView.mainFrame.resourceViewerPane.replacePage(page)) {
+						onOpened.accept(page);
+					}
+				},
+				error -> {
+					System.err.println("Failed to decompile " + container.getFileName() + ": " + error.getMessage());
+					Page page = ByteView.mainFrame.resourceViewerPane.getPages().get(placeholder.getName());
+					if (page instanceof DecompilingPage decompilingPage) {
+						decompilingPage.showError(error);
+					}
+				});
+	}
+
+	/**
+	 * Decompile the next few classes of the same package in the background, since they are likely to be opened next.
+	 *
+	 * @param archive the archive of the class that was opened
+	 * @param key     the key of the class that was opened in {@link ZipFileContainer#fileEntries}
+	 */
+	private void prefetchNeighbours(@NotNull ZipFileContainer archive, @NotNull String key) {
+		String packageName = key.substring(0, key.lastIndexOf('/') + 1);
+		String decompiler = ByteView.configuration.getCurrentDecompiler();
+		boolean found = false;
+		int count = 0;
+		for (Map.Entry<String, FileContainer> entry : archive.fileEntries.entrySet()) {
+			if (!found) {
+				found = entry.getKey().equals(key);
+				continue;
+			}
+
+			String name = entry.getKey();
+			if (!name.startsWith(packageName) || name.indexOf('/', packageName.length()) != -1) {
+				continue;
+			}
+
+			if (entry.getValue() instanceof ClassFileContainer c && !c.hasBeenDecompiled) {
+				DecompilerExecutor.submit(c, decompiler, DecompilerExecutor.Priority.PREFETCH, _ -> {
+				}, _ -> {
+				});
+				if (++count == PREFETCH_COUNT) {
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds this container to the resource tree. An archive's entries that are already in the container are added as
+	 * well, the rest can be streamed in with {@link #addEntries(ZipFileContainer, Collection)}.
 	 *
 	 * @param container the container to add
 	 */
@@ -233,39 +326,84 @@ public class FileResourcePane extends JPanel {
 		uploadedFiles.put(container.fileName, container);
 		MyTreeNode rootNode = container.rootNode = new MyTreeNode(container.getFileName());
 		root.add(rootNode);
-		tree.setCellRenderer(new FileResourceTreeCellRenderer());
-		createTree(rootNode, container);
-		tree.expandPath(new TreePath(tree.getModel().getRoot()));
-		tree.updateUI();
+		getTreeModel().nodesWereInserted(root, new int[]{root.getChildCount() - 1});
+		if (container instanceof ZipFileContainer zfc && !zfc.fileEntries.isEmpty()) {
+			addEntries(zfc, zfc.fileEntries.keySet());
+		}
+
+		tree.expandPath(new TreePath(root));
 	}
 
-	private void createTree(MyTreeNode rootNode, FileContainer container) {
-		if (container instanceof ZipFileContainer zfc) {
-			if (!zfc.fileEntries.isEmpty()) {
-				for (String entry : ((ZipFileContainer) container).fileEntries.keySet()) {
-					final String[] split = entry.split("/");
-					int splitLength = split.length;
-					if (splitLength < 2) {
-						rootNode.add(new MyTreeNode(entry + ".class"));
-					} else {
-						MyTreeNode parent = rootNode;
-						for (int i = 0; i < splitLength; i++) {
-							String s = split[i];
-							if (i == splitLength - 1 && !s.equalsIgnoreCase("manifest")) {
-								s += ".class";
-							}
+	/**
+	 * @param container the archive
+	 * @return whether the archive is in the tree, it can be removed while its entries are still loading
+	 */
+	public boolean isOpen(@NotNull ZipFileContainer container) {
+		MyTreeNode rootNode = container.rootNode;
+		return rootNode != null && rootNode.getParent() == root;
+	}
 
-							MyTreeNode child = parent.getChildByUserObject(s);
-							if (child == null) {
-								child = new MyTreeNode(s);
-								parent.add(child);
-							}
+	/**
+	 * Add a batch of an archive's entries to its tree. Only the nodes that are new are announced to the tree model,
+	 * once per parent, so the tree can grow while the user is browsing it.
+	 *
+	 * @param container the archive the entries belong to
+	 * @param entries   the keys of the entries in {@link ZipFileContainer#fileEntries}
+	 */
+	public void addEntries(@NotNull ZipFileContainer container, @NotNull Collection<String> entries) {
+		if (!isOpen(container)) {
+			// The archive was removed while it was still loading
+			return;
+		}
+
+		MyTreeNode rootNode = container.rootNode;
 
-							parent = child;
+		Set<MyTreeNode> created = new HashSet<>();
+		Map<MyTreeNode, Integer> insertedCounts = new LinkedHashMap<>();
+		for (String entry : entries) {
+			final String[] split = entry.split("/");
+			int splitLength = split.length;
+			if (splitLength < 2) {
+				MyTreeNode child = new MyTreeNode(entry + ".class");
+				rootNode.add(child);
+				insertedCounts.merge(rootNode, 1, Integer::sum);
+			} else {
+				MyTreeNode parent = rootNode;
+				for (int i = 0; i < splitLength; i++) {
+					String s = split[i];
+					if (i == splitLength - 1 && !s.equalsIgnoreCase("manifest")) {
+						s += ".class";
+					}
+
+					MyTreeNode child = parent.getChildByUserObject(s);
+					if (child == null) {
+						child = new MyTreeNode(s);
+						parent.add(child);
+						created.add(child);
+						if (!created.contains(parent)) {
+							insertedCounts.merge(parent, 1, Integer::sum);
 						}
 					}
+
+					parent = child;
 				}
 			}
 		}
+
+		// New children are always appended, so they are the last ones of each parent
+		DefaultTreeModel model = getTreeModel();
+		insertedCounts.forEach((parent, count) -> {
+			int[] indices = new int[count];
+			int first = parent.getChildCount() - count;
+			for (int i = 0; i < count; i++) {
+				indices[i] = first + i;
+			}
+
+			model.nodesWereInserted(parent, indices);
+		});
+	}
+
+	private DefaultTreeModel getTreeModel() {
+		return (DefaultTreeModel) tree.getModel();
 	}
 }
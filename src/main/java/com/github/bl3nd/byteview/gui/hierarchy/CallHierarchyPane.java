@@ -0,0 +1,432 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.gui.hierarchy;
+
+import com.formdev.flatlaf.extras.components.FlatButton;
+import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.actions.GoToAction;
+import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.gui.components.HeaderPanel;
+import com.github.bl3nd.byteview.index.ArchiveIndex;
+import com.github.bl3nd.byteview.index.CallGraph;
+import com.github.bl3nd.byteview.index.DeclarationSearch;
+import com.github.bl3nd.byteview.index.MemberReference;
+import com.github.bl3nd.byteview.index.TypeHierarchy;
+import com.github.bl3nd.byteview.misc.Icons;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeWillExpandListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeCellRenderer;
+import javax.swing.tree.DefaultTreeModel;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Shows the methods that call a method, or that it calls, across every loaded archive, see {@link CallGraph}. A
+ * method's children are only looked up once it is expanded, so nothing is computed ahead of the tree.
+ * <p>
+ * An archive only knows the classes it declares, so a call through a subclass from another archive is to a method it
+ * doesn't declare. The {@link TypeHierarchy} of the loaded archives finds the method such a call inherits.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class CallHierarchyPane extends JPanel {
+	/**
+	 * How many callers or callees a method shows at most, {@code java/lang/Object.<init>} is called by most classes.
+	 */
+	private static final int MAX_CHILDREN = 5_000;
+	/**
+	 * The child of a method that hasn't been expanded yet, so the tree shows that it can be.
+	 */
+	private static final String LOADING = "Loading...";
+
+	public enum Mode {
+		CALLERS("Callers"),
+		CALLEES("Callees");
+
+		private final String title;
+
+		Mode(String title) {
+			this.title = title;
+		}
+
+		@Override
+		public String toString() {
+			return title;
+		}
+	}
+
+	/**
+	 * A loaded archive and its call graph.
+	 */
+	public record Archive(@NotNull ZipFileContainer container, @NotNull CallGraph graph) {
+	}
+
+	/**
+	 * A method by its {@link SymbolTable} ids, which are the same in every archive.
+	 */
+	private record Method(int owner, int name, int descriptor) {
+	}
+
+	/**
+	 * A method in the tree, with the archive that declares it and its number in that archive's graph.
+	 */
+	private record Node(@NotNull Method method, @Nullable Archive archive, int id) {
+	}
+
+	private final JComboBox<Mode> modeBox = new JComboBox<>(Mode.values());
+	private final JTree tree = new JTree(new DefaultTreeModel(null));
+	private final JLabel status = new JLabel();
+	private List<Archive> archives;
+	private TypeHierarchy hierarchy;
+	private Node root;
+
+	public CallHierarchyPane() {
+		super(new BorderLayout());
+		FlatButton closeButton = new FlatButton();
+		closeButton.setIcon(Icons.closeIcon);
+		closeButton.setButtonType(FlatButton.ButtonType.toolBarButton);
+		closeButton.setFocusable(false);
+		closeButton.addActionListener(_ -> close());
+
+		modeBox.setFocusable(false);
+		modeBox.setMaximumSize(modeBox.getPreferredSize());
+		modeBox.addActionListener(_ -> update());
+
+		JPanel headerRight = new JPanel();
+		headerRight.setLayout(new BoxLayout(headerRight, BoxLayout.LINE_AXIS));
+		headerRight.add(status);
+		headerRight.add(Box.createRigidArea(new Dimension(5, 0)));
+		headerRight.add(modeBox);
+		headerRight.add(Box.createRigidArea(new Dimension(5, 0)));
+		headerRight.add(closeButton);
+
+		tree.setCellRenderer(new DefaultTreeCellRenderer() {
+			@Override
+			public Component getTreeCellRendererComponent(JTree tree, Object value, boolean selected, boolean expanded,
+														  boolean leaf, int row, boolean hasFocus) {
+				Object node = ((DefaultMutableTreeNode) value).getUserObject();
+				super.getTreeCellRendererComponent(tree, node instanceof Node n ? getLabel(n) : node, selected,
+						expanded, leaf, row, hasFocus);
+				setIcon(node instanceof Node ? Icons.methodIcon : null);
+				return this;
+			}
+		});
+		tree.addTreeWillExpandListener(new TreeWillExpandListener() {
+			@Override
+			public void treeWillExpand(TreeExpansionEvent event) {
+				DefaultMutableTreeNode node = (DefaultMutableTreeNode) event.getPath().getLastPathComponent();
+				if (node.getChildCount() == 1 && ((DefaultMutableTreeNode) node.getFirstChild()).getUserObject() == LOADING) {
+					node.removeAllChildren();
+					addChildren(node, (Node) node.getUserObject());
+					((DefaultTreeModel) tree.getModel()).nodeStructureChanged(node);
+				}
+			}
+
+			@Override
+			public void treeWillCollapse(TreeExpansionEvent event) {
+			}
+		});
+		tree.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				if (e.getButton() == MouseEvent.BUTTON1 && e.getClickCount() == 2
+						&& tree.getLastSelectedPathComponent() instanceof DefaultMutableTreeNode node
+						&& node.getUserObject() instanceof Node n) {
+					open(n);
+				}
+			}
+		});
+
+		HeaderPanel headerPanel = new HeaderPanel("Call Hierarchy", null, new Insets(1, 0, 0, 0), headerRight);
+		headerPanel.setContent(new JScrollPane(tree));
+		add(headerPanel, BorderLayout.CENTER);
+	}
+
+	/**
+	 * Show this pane below the resource viewer with a method's callers or callees.
+	 *
+	 * @param archives  the loaded archives and their call graphs
+	 * @param hierarchy the hierarchy of the loaded archives
+	 * @param graph     the graph the method is from
+	 * @param method    the method in that graph
+	 * @param mode      what to show of it
+	 */
+	public void show(@NotNull List<Archive> archives, @NotNull TypeHierarchy hierarchy, @NotNull CallGraph graph,
+					 int method, @NotNull Mode mode) {
+		this.archives = archives;
+		this.hierarchy = hierarchy;
+		root = getNode(new Method(graph.getOwner(method), graph.getName(method), graph.getDescriptor(method)));
+		JSplitPane splitPane = ByteView.mainFrame.viewerSplitPane;
+		if (splitPane.getBottomComponent() != this) {
+			splitPane.setBottomComponent(this);
+			splitPane.setDividerLocation(0.6);
+		}
+
+		if (modeBox.getSelectedItem() != mode) {
+			// Updates the tree through the combo box's listener
+			modeBox.setSelectedItem(mode);
+		} else {
+			update();
+		}
+	}
+
+	private void update() {
+		if (root == null) {
+			return;
+		}
+
+		DefaultMutableTreeNode node = new DefaultMutableTreeNode(root);
+		int count = addChildren(node, root);
+		tree.setModel(new DefaultTreeModel(node));
+		tree.expandRow(0);
+		String text = count + (modeBox.getSelectedItem() == Mode.CALLERS ? " callers" : " callees");
+		status.setText(count <= MAX_CHILDREN ? text : text + ", showing " + MAX_CHILDREN);
+	}
+
+	/**
+	 * Add a method's callers or callees below it, each once however many archives or calls there are.
+	 *
+	 * @return how many there are
+	 */
+	private int addChildren(DefaultMutableTreeNode parent, Node node) {
+		boolean callers = modeBox.getSelectedItem() == Mode.CALLERS;
+		Set<Method> children = new LinkedHashSet<>();
+		if (callers) {
+			forEachCalled(node, (graph, id) -> {
+				for (int i = 0; i < graph.getCallerCount(id); i++) {
+					int caller = graph.getCaller(id, i);
+					children.add(new Method(graph.getOwner(caller), graph.getName(caller), graph.getDescriptor(caller)));
+				}
+			});
+		} else if (node.archive() != null) {
+			CallGraph graph = node.archive().graph();
+			for (int i = 0; i < graph.getCalleeCount(node.id()); i++) {
+				int callee = graph.getCallee(node.id(), i);
+				children.add(new Method(graph.getOwner(callee), graph.getName(callee), graph.getDescriptor(callee)));
+			}
+		}
+
+		int added = 0;
+		for (Method method : children) {
+			if (added++ == MAX_CHILDREN) {
+				parent.add(new DefaultMutableTreeNode((children.size() - MAX_CHILDREN) + " more"));
+				break;
+			}
+
+			Node child = getNode(method);
+			DefaultMutableTreeNode childNode = new DefaultMutableTreeNode(child);
+			if (hasChildren(child, callers)) {
+				childNode.add(new DefaultMutableTreeNode(LOADING));
+			}
+
+			parent.add(childNode);
+		}
+
+		return children.size();
+	}
+
+	private boolean hasChildren(@NotNull Node node, boolean callers) {
+		if (!callers) {
+			return node.archive() != null && node.archive().graph().getCalleeCount(node.id()) > 0;
+		}
+
+		boolean[] called = new boolean[1];
+		forEachCalled(node, (graph, id) -> called[0] |= graph.getCallerCount(id) > 0);
+		return called[0];
+	}
+
+	/**
+	 * Visit the method in each archive that declares or calls it. Besides the archives that number the method itself,
+	 * an archive can call it through a subclass from another archive, as a method it doesn't declare.
+	 */
+	private void forEachCalled(@NotNull Node node, @NotNull ObjIntConsumer<CallGraph> visitor) {
+		Method method = node.method();
+		// Constructors and static initializers aren't inherited
+		boolean inherited = SymbolTable.get(method.name()).charAt(0) != '<';
+		for (Archive archive : archives) {
+			CallGraph graph = archive.graph();
+			int id = graph.findMethod(method.owner(), method.name(), method.descriptor());
+			if (id != -1) {
+				visitor.accept(graph, id);
+			}
+
+			if (!inherited) {
+				continue;
+			}
+
+			for (int external : graph.findExternals(method.name(), method.descriptor())) {
+				if (external != id && getNode(new Method(graph.getOwner(external), method.name(),
+						method.descriptor())).method().equals(method)) {
+					visitor.accept(graph, external);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Find the archive that declares a method. A method that is inherited is the one it inherits, from the class's
+	 * own archive or, through the type hierarchy, from another.
+	 */
+	private @NotNull Node getNode(@NotNull Method method) {
+		Node node = getDeclaredNode(method);
+		if (node != null) {
+			return node;
+		}
+
+		int type = hierarchy.findType(SymbolTable.get(method.owner()));
+		if (type == -1) {
+			return new Node(method, null, -1);
+		}
+
+		// Super classes come before interfaces, the way a call is resolved. A malformed hierarchy can loop.
+		int superclass = type;
+		for (int i = 0; i < hierarchy.getTypeCount() && hierarchy.getSupertypeCount(superclass) > 0; i++) {
+			superclass = hierarchy.getSupertype(superclass, 0);
+			node = getDeclaredNode(new Method(SymbolTable.find(hierarchy.getName(superclass)), method.name(),
+					method.descriptor()));
+			if (node != null) {
+				return node;
+			}
+		}
+
+		for (int supertype : hierarchy.getAllSupertypes(type)) {
+			node = getDeclaredNode(new Method(SymbolTable.find(hierarchy.getName(supertype)), method.name(),
+					method.descriptor()));
+			if (node != null) {
+				return node;
+			}
+		}
+
+		return new Node(method, null, -1);
+	}
+
+	/**
+	 * Find the first archive that declares a method, itself or in a super class it declares too.
+	 */
+	private @Nullable Node getDeclaredNode(@NotNull Method method) {
+		for (Archive archive : archives) {
+			CallGraph graph = archive.graph();
+			int id = graph.findMethod(method.owner(), method.name(), method.descriptor());
+			if (id != -1 && graph.getMember(id) != -1) {
+				return new Node(new Method(graph.getOwner(id), method.name(), method.descriptor()), archive, id);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return the method the way it is written in Java, e.g. {@code Map$Entry.setValue(Object) (java.util)}
+	 */
+	private static @NotNull String getLabel(@NotNull Node node) {
+		String owner = SymbolTable.get(node.method().owner());
+		String name = SymbolTable.get(node.method().name());
+		StringBuilder text = new StringBuilder(owner.substring(owner.lastIndexOf('/') + 1));
+		if (!name.equals("<init>")) {
+			text.append('.').append(name);
+		}
+
+		String descriptor = SymbolTable.get(node.method().descriptor());
+		text.append('(');
+		for (int i = 1; i < descriptor.length() && descriptor.charAt(i) != ')'; i++) {
+			if (i > 1) {
+				text.append(", ");
+			}
+
+			int dimensions = 0;
+			while (descriptor.charAt(i) == '[') {
+				dimensions++;
+				i++;
+			}
+
+			if (descriptor.charAt(i) == 'L') {
+				int end = descriptor.indexOf(';', i);
+				text.append(MemberReference.simpleName(descriptor.substring(i + 1, end)));
+				i = end;
+			} else {
+				text.append(getPrimitiveName(descriptor.charAt(i)));
+			}
+
+			text.append("[]".repeat(dimensions));
+		}
+
+		text.append(')');
+		if (owner.indexOf('/') != -1) {
+			text.append(" (").append(owner.substring(0, owner.lastIndexOf('/')).replace('/', '.')).append(')');
+		}
+
+		Archive archive = node.archive();
+		return archive == null ? text + " - not loaded" : text + " - " + archive.container().getFileName();
+	}
+
+	private static @NotNull String getPrimitiveName(char descriptor) {
+		return switch (descriptor) {
+			case 'B' -> "byte";
+			case 'C' -> "char";
+			case 'D' -> "double";
+			case 'F' -> "float";
+			case 'I' -> "int";
+			case 'J' -> "long";
+			case 'S' -> "short";
+			case 'Z' -> "boolean";
+			default -> "void";
+		};
+	}
+
+	private void open(@NotNull Node node) {
+		Archive archive = node.archive();
+		String entry = archive == null ? null : archive.graph().getEntry(node.id());
+		if (entry != null) {
+			GoToAction.open(new DeclarationSearch.Declaration(archive.container(), SymbolTable.get(node.method().owner()),
+					entry, ArchiveIndex.METHOD, SymbolTable.get(node.method().name()),
+					SymbolTable.get(node.method().descriptor())));
+		}
+	}
+
+	/**
+	 * Let go of the archives and their call graphs, and hide this pane if it is showing.
+	 */
+	public void close() {
+		archives = null;
+		hierarchy = null;
+		root = null;
+		tree.setModel(new DefaultTreeModel(null));
+		if (ByteView.mainFrame.viewerSplitPane.getBottomComponent() == this) {
+			ByteView.mainFrame.viewerSplitPane.setBottomComponent(null);
+		}
+	}
+}
@@ -0,0 +1,271 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.gui.hierarchy;
+
+import com.formdev.flatlaf.extras.components.FlatButton;
+import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.gui.components.HeaderPanel;
+import com.github.bl3nd.byteview.index.TypeHierarchy;
+import com.github.bl3nd.byteview.misc.Icons;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeCellRenderer;
+import javax.swing.tree.DefaultTreeModel;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+
+/**
+ * Shows the subtypes, supertypes or implementations of a class across every loaded archive, see
+ * {@link TypeHierarchy}. A class is only decompiled once it is opened from the tree.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class HierarchyPane extends JPanel {
+	/**
+	 * How many types the tree shows at most, {@code java/lang/Object} has every class below it.
+	 */
+	private static final int MAX_NODES = 10_000;
+	/**
+	 * The tree is only expanded if it is this small.
+	 */
+	private static final int MAX_EXPANDED_NODES = 500;
+
+	public enum Mode {
+		SUBTYPES("Subtypes"),
+		SUPERTYPES("Supertypes"),
+		IMPLEMENTATIONS("Implementations");
+
+		private final String title;
+
+		Mode(String title) {
+			this.title = title;
+		}
+
+		@Override
+		public String toString() {
+			return title;
+		}
+	}
+
+	private final JComboBox<Mode> modeBox = new JComboBox<>(Mode.values());
+	private final JTree tree = new JTree(new DefaultTreeModel(null));
+	private final JLabel status = new JLabel();
+	private TypeHierarchy hierarchy;
+	private int type = -1;
+	private int nodes;
+
+	public HierarchyPane() {
+		super(new BorderLayout());
+		FlatButton closeButton = new FlatButton();
+		closeButton.setIcon(Icons.closeIcon);
+		closeButton.setButtonType(FlatButton.ButtonType.toolBarButton);
+		closeButton.setFocusable(false);
+		closeButton.addActionListener(_ -> close());
+
+		modeBox.setFocusable(false);
+		modeBox.setMaximumSize(modeBox.getPreferredSize());
+		modeBox.addActionListener(_ -> update());
+
+		JPanel headerRight = new JPanel();
+		headerRight.setLayout(new BoxLayout(headerRight, BoxLayout.LINE_AXIS));
+		headerRight.add(status);
+		headerRight.add(Box.createRigidArea(new Dimension(5, 0)));
+		headerRight.add(modeBox);
+		headerRight.add(Box.createRigidArea(new Dimension(5, 0)));
+		headerRight.add(closeButton);
+
+		tree.setCellRenderer(new DefaultTreeCellRenderer() {
+			@Override
+			public Component getTreeCellRendererComponent(JTree tree, Object value, boolean selected, boolean expanded,
+														  boolean leaf, int row, boolean hasFocus) {
+				Object type = ((DefaultMutableTreeNode) value).getUserObject();
+				super.getTreeCellRendererComponent(tree, type instanceof Integer t ? getLabel(t) : type, selected,
+						expanded, leaf, row, hasFocus);
+				setIcon(Icons.classFileIcon);
+				return this;
+			}
+		});
+		tree.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				if (e.getButton() == MouseEvent.BUTTON1 && e.getClickCount() == 2
+						&& tree.getLastSelectedPathComponent() instanceof DefaultMutableTreeNode node
+						&& node.getUserObject() instanceof Integer t) {
+					open(t);
+				}
+			}
+		});
+
+		HeaderPanel headerPanel = new HeaderPanel("Hierarchy", null, new Insets(1, 0, 0, 0), headerRight);
+		headerPanel.setContent(new JScrollPane(tree));
+		add(headerPanel, BorderLayout.CENTER);
+	}
+
+	/**
+	 * Show this pane below the resource viewer with a type's hierarchy.
+	 *
+	 * @param hierarchy the hierarchy of the loaded archives
+	 * @param type      the type
+	 * @param mode      what to show of it
+	 */
+	public void show(@NotNull TypeHierarchy hierarchy, int type, @NotNull Mode mode) {
+		this.hierarchy = hierarchy;
+		this.type = type;
+		JSplitPane splitPane = ByteView.mainFrame.viewerSplitPane;
+		if (splitPane.getBottomComponent() != this) {
+			splitPane.setBottomComponent(this);
+			splitPane.setDividerLocation(0.6);
+		}
+
+		if (modeBox.getSelectedItem() != mode) {
+			// Updates the tree through the combo box's listener
+			modeBox.setSelectedItem(mode);
+		} else {
+			update();
+		}
+	}
+
+	private void update() {
+		if (hierarchy == null) {
+			return;
+		}
+
+		nodes = 1;
+		DefaultMutableTreeNode root = new DefaultMutableTreeNode(type);
+		String text;
+		switch ((Mode) modeBox.getSelectedItem()) {
+			case SUBTYPES -> {
+				BitSet added = new BitSet(hierarchy.getTypeCount());
+				added.set(type);
+				addSubtypes(root, type, added);
+				text = hierarchy.getAllSubtypes(type).length + " subtypes";
+			}
+			case SUPERTYPES -> {
+				addSupertypes(root, type, new BitSet(hierarchy.getTypeCount()));
+				text = hierarchy.getAllSupertypes(type).length + " supertypes";
+			}
+			case IMPLEMENTATIONS -> {
+				int[] implementations = hierarchy.getImplementations(type);
+				Integer[] sorted = Arrays.stream(implementations).boxed().toArray(Integer[]::new);
+				Arrays.sort(sorted, Comparator.comparing(hierarchy::getName));
+				for (int i = 0; i < sorted.length && nodes < MAX_NODES; i++, nodes++) {
+					root.add(new DefaultMutableTreeNode(sorted[i]));
+				}
+
+				text = implementations.length + " implementations";
+			}
+			case null, default -> {
+				return;
+			}
+		}
+
+		tree.setModel(new DefaultTreeModel(root));
+		if (nodes <= MAX_EXPANDED_NODES) {
+			for (int row = 0; row < tree.getRowCount(); row++) {
+				tree.expandRow(row);
+			}
+		} else {
+			tree.expandRow(0);
+		}
+
+		status.setText(nodes < MAX_NODES ? text : text + ", showing " + MAX_NODES);
+	}
+
+	/**
+	 * Add the subtypes below a type, each only once since they can implement more than one of the others.
+	 */
+	private void addSubtypes(DefaultMutableTreeNode parent, int type, BitSet added) {
+		for (int i = 0; i < hierarchy.getSubtypeCount(type) && nodes < MAX_NODES; i++) {
+			int subtype = hierarchy.getSubtype(type, i);
+			if (added.get(subtype)) {
+				continue;
+			}
+
+			added.set(subtype);
+			DefaultMutableTreeNode node = new DefaultMutableTreeNode(subtype);
+			parent.add(node);
+			nodes++;
+			addSubtypes(node, subtype, added);
+		}
+	}
+
+	/**
+	 * Add the supertypes above a type. An interface that more than one of them implements is shown for each, but
+	 * only expanded once.
+	 */
+	private void addSupertypes(DefaultMutableTreeNode parent, int type, BitSet expanded) {
+		expanded.set(type);
+		for (int i = 0; i < hierarchy.getSupertypeCount(type) && nodes < MAX_NODES; i++) {
+			int supertype = hierarchy.getSupertype(type, i);
+			DefaultMutableTreeNode node = new DefaultMutableTreeNode(supertype);
+			parent.add(node);
+			nodes++;
+			if (!expanded.get(supertype)) {
+				addSupertypes(node, supertype, expanded);
+			}
+		}
+	}
+
+	private @NotNull String getLabel(int type) {
+		String name = hierarchy.getName(type);
+		int lastSlash = name.lastIndexOf('/');
+		String text = lastSlash == -1 ? name : name.substring(lastSlash + 1) + " ("
+				+ name.substring(0, lastSlash).replace('/', '.') + ")";
+		if (hierarchy.isInterface(type)) {
+			text = "interface " + text;
+		}
+
+		ZipFileContainer archive = hierarchy.getArchive(type);
+		return archive == null ? text + " - not loaded" : text + " - " + archive.getFileName();
+	}
+
+	private void open(int type) {
+		ZipFileContainer archive = hierarchy.getArchive(type);
+		String entry = hierarchy.getEntry(type);
+		if (archive != null && entry != null && archive.fileEntries.get(entry) instanceof ClassFileContainer container) {
+			ByteView.mainFrame.resourcePane.openClass(container);
+		}
+	}
+
+	/**
+	 * Let go of the hierarchy, and hide this pane if it is showing.
+	 */
+	public void close() {
+		hierarchy = null;
+		tree.setModel(new DefaultTreeModel(null));
+		if (ByteView.mainFrame.viewerSplitPane.getBottomComponent() == this) {
+			ByteView.mainFrame.viewerSplitPane.setBottomComponent(null);
+		}
+	}
+}
@@ -26,8 +26,12 @@ package com.github.bl3nd.byteview.gui.resourceviewer;
 
 import com.formdev.flatlaf.FlatClientProperties;
 import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.decompiler.DecompilerExecutor;
+import com.github.bl3nd.byteview.decompiler.cache.SourceCache;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
 import com.github.bl3nd.byteview.files.FileContainer;
 import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.gui.resourceviewer.pages.DecompilingPage;
 import com.github.bl3nd.byteview.gui.resourceviewer.pages.Page;
 import com.github.bl3nd.byteview.misc.Icons;
 import org.jetbrains.annotations.NotNull;
@@ -74,9 +78,15 @@ public class ResourceViewerPane extends JPanel {
 	}
 
 	private void removeTab(@NotNull JTabbedPane tabPane, Integer tabIndex) {
-		pages.remove(tabPane.getTitleAt(tabIndex));
+		Page page = pages.remove(tabPane.getTitleAt(tabIndex));
+		if (page instanceof DecompilingPage && page.getFileContainer() instanceof ClassFileContainer container) {
+			DecompilerExecutor.cancel(container);
+		}
+
 		ByteView.mainFrame.fileStructurePane.removeContainerStructure();
 		tabPane.removeTabAt(tabIndex);
+		// The closed class may have been the only thing keeping the cache over its budget
+		SourceCache.trim();
 	}
 
 	public void removeAllTabsRelatedToArchive(FileContainer container) {
@@ -95,7 +105,7 @@ public class ResourceViewerPane extends JPanel {
 	public void addPage(@NotNull Page page) {
 		if (pages.containsKey(page.getName())) {
 			tabbedPane.setSelectedIndex(tabbedPane.indexOfTab(page.getName()));
-			page.getTextArea().requestFocusInWindow();
+			requestFocus(pages.get(page.getName()));
 			return;
 		}
 
@@ -108,8 +118,40 @@ public class ResourceViewerPane extends JPanel {
 		final int tabIndex = tabbedPane.indexOfTab(page.name);
 		tabbedPane.setSelectedIndex(tabIndex);
 
-		page.getTextArea().requestFocusInWindow();
+		requestFocus(page);
+		pages.put(page.getName(), page);
+	}
+
+	/**
+	 * Swap the page that is open under the same name for this one, e.g. once a class has been decompiled.
+	 *
+	 * @param page the new page
+	 * @return {@code false} if there is no open page to replace, because its tab was closed
+	 */
+	public boolean replacePage(@NotNull Page page) {
+		Page oldPage = pages.get(page.getName());
+		int tabIndex = oldPage != null ? tabbedPane.indexOfComponent(oldPage) : -1;
+		if (tabIndex == -1) {
+			return false;
+		}
+
 		pages.put(page.getName(), page);
+		boolean selected = tabbedPane.getSelectedIndex() == tabIndex;
+		tabbedPane.setComponentAt(tabIndex, page);
+		if (selected) {
+			// The structure pane still shows the old page's (empty) structure
+			ByteView.mainFrame.fileStructurePane.hideContainerStructure();
+			ByteView.mainFrame.fileStructurePane.showContainerStructure(page.getFileContainer());
+			requestFocus(page);
+		}
+
+		return true;
+	}
+
+	private void requestFocus(@NotNull Page page) {
+		if (page.getTextArea() != null) {
+			page.getTextArea().requestFocusInWindow();
+		}
 	}
 
 	public JTabbedPane getTabbedPane() {
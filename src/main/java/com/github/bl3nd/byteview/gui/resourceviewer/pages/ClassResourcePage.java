@@ -25,16 +25,18 @@
 package com.github.bl3nd.byteview.gui.resourceviewer.pages;
 
 import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.actions.FindUsagesAction;
 import com.github.bl3nd.byteview.actions.GoToAction;
+import com.github.bl3nd.byteview.actions.ShowCallHierarchyAction;
+import com.github.bl3nd.byteview.actions.ShowHierarchyAction;
 import com.github.bl3nd.byteview.files.ClassFileContainer;
 import com.github.bl3nd.byteview.gui.components.MyErrorStripe;
 import com.github.bl3nd.byteview.gui.components.RequestFocustListener;
+import com.github.bl3nd.byteview.gui.hierarchy.CallHierarchyPane;
+import com.github.bl3nd.byteview.gui.hierarchy.HierarchyPane;
 import com.github.bl3nd.byteview.gui.resourceviewer.component.RSyntaxTextAreaHighlighterEx;
+import com.github.bl3nd.byteview.tokens.LocationIndex;
 import com.github.bl3nd.byteview.tokens.TokenUtil;
-import com.github.bl3nd.byteview.tokens.location.ClassFieldLocation;
-import com.github.bl3nd.byteview.tokens.location.ClassLocalVariableLocation;
-import com.github.bl3nd.byteview.tokens.location.ClassMethodLocation;
-import com.github.bl3nd.byteview.tokens.location.ClassParameterLocation;
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
 import org.fife.ui.rsyntaxtextarea.Token;
@@ -48,7 +50,6 @@ import javax.swing.text.BadLocationException;
 import javax.swing.text.Element;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.Objects;
 
 /**
  * A page that contains a decompiled classes text.
@@ -110,6 +111,31 @@ public class ClassResourcePage extends Page {
 		textArea.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_B, InputEvent.CTRL_DOWN_MASK), "goToAction");
 		textArea.getActionMap().put("goToAction", new GoToAction(classFileContainer));
 
+		/*
+		This action finds the classes that use a field or method.
+		 */
+		textArea.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_F7, InputEvent.ALT_DOWN_MASK), "findUsagesAction");
+		textArea.getActionMap().put("findUsagesAction", new FindUsagesAction(classFileContainer));
+
+		/*
+		These actions show the subtypes and supertypes, or the implementations, of a class.
+		 */
+		textArea.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_H, InputEvent.CTRL_DOWN_MASK), "showHierarchyAction");
+		textArea.getActionMap().put("showHierarchyAction", new ShowHierarchyAction(classFileContainer,
+				HierarchyPane.Mode.SUBTYPES));
+		textArea.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_B, InputEvent.CTRL_DOWN_MASK
+				| InputEvent.ALT_DOWN_MASK), "showImplementationsAction");
+		textArea.getActionMap().put("showImplementationsAction", new ShowHierarchyAction(classFileContainer,
+				HierarchyPane.Mode.IMPLEMENTATIONS));
+
+		/*
+		This action shows the methods that call a method.
+		 */
+		textArea.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_H, InputEvent.CTRL_DOWN_MASK
+				| InputEvent.ALT_DOWN_MASK), "showCallHierarchyAction");
+		textArea.getActionMap().put("showCallHierarchyAction", new ShowCallHierarchyAction(classFileContainer,
+				CallHierarchyPane.Mode.CALLERS));
+
 		RTextScrollPane scrollPane = new RTextScrollPane(textArea);
 		add(scrollPane, BorderLayout.CENTER);
 
@@ -145,222 +171,27 @@ public class ClassResourcePage extends Page {
 
 		int line = textArea.getCaretLineNumber() + 1;
 		int column = textArea.getCaretOffsetFromLineStart();
-		Token finalToken = token;
 
 		/*
-		Fields
+		Fields, methods, method parameters and method local variables
 		 */
-		markField(textArea, classFileContainer, line, column, finalToken, highlighterEx);
-
-		/*
-		Method parameters
-		 */
-		markMethodParameter(textArea, classFileContainer, line, column, finalToken, highlighterEx);
-
-		/*
-		Method local variables
-		 */
-		markMethodLocalVariable(textArea, classFileContainer, line, column, finalToken, highlighterEx);
-
-		/*
-		Methods
-		 */
-		markMethod(textArea, classFileContainer, line, column, finalToken, highlighterEx);
-
-		errorStripe.refreshMarkers();
-	}
-
-	/**
-	 * Search through the text area and mark all occurrences that match the selected token.
-	 *
-	 * @param textArea           the text area
-	 * @param classFileContainer the container
-	 * @param line               the caret line
-	 * @param column             the caret column
-	 * @param finalToken         the token
-	 * @param highlighterEx      the highlighter
-	 */
-	private static void markMethod(
-			@NotNull RSyntaxTextArea textArea,
-			@NotNull ClassFileContainer classFileContainer,
-			int line,
-			int column,
-			Token finalToken,
-			RSyntaxTextAreaHighlighterEx highlighterEx
-	) {
-		classFileContainer.methodMembers.values().forEach(methods -> methods.forEach(method -> {
-			String owner;
-			String parameterTypes;
-			if (method.line() == line && method.columnStart() - 1 <= column && method.columnEnd() >= column) {
-				owner = method.owner();
-				parameterTypes = method.methodParameterTypes();
-				try {
-					Element root = textArea.getDocument().getDefaultRootElement();
-					for (
-							ClassMethodLocation location :
-							classFileContainer.getMethodLocationsFor(finalToken.getLexeme())
-					) {
-						if (Objects.equals(owner, location.owner())
-								&& Objects.equals(parameterTypes, location.methodParameterTypes())
-						) {
-							int startOffset = root
-									.getElement(location.line() - 1)
-									.getStartOffset() + (location.columnStart() - 1);
-							int endOffset = root
-									.getElement(location.line() - 1)
-									.getStartOffset() + (location.columnEnd() - 1);
-							highlighterEx.addMarkedOccurrenceHighlight(
-									startOffset, endOffset, new SmartHighlightPainter()
-							);
-						}
-					}
-				} catch (BadLocationException ex) {
-					throw new RuntimeException(ex);
-				}
-			}
-		}));
-	}
-
-	/**
-	 * Search through the text area and mark all occurrences that match the selected token.
-	 *
-	 * @param textArea           the text area
-	 * @param classFileContainer the container
-	 * @param line               the caret line
-	 * @param column             the caret column
-	 * @param finalToken         the token
-	 * @param highlighterEx      the highlighter
-	 */
-	private static void markMethodLocalVariable(
-			@NotNull RSyntaxTextArea textArea,
-			@NotNull ClassFileContainer classFileContainer,
-			int line,
-			int column,
-			Token finalToken,
-			RSyntaxTextAreaHighlighterEx highlighterEx
-	) {
-		classFileContainer.methodLocalMembers.values().forEach(localVariables -> localVariables.forEach(localVariable -> {
-			String method;
-			if (localVariable.line() == line && localVariable.columnStart() - 1 <= column && localVariable.columnEnd() >= column) {
-				method = localVariable.method();
+		LocationIndex index = classFileContainer.getLocationIndex();
+		Element root = textArea.getDocument().getDefaultRootElement();
+		for (int occurrence : index.find(line, column)) {
+			int symbol = index.getSymbol(occurrence);
+			for (int i = 0; i < index.getOccurrenceCount(symbol); i++) {
+				int location = index.getOccurrence(symbol, i);
+				int lineStart = root.getElement(index.getLine(location) - 1).getStartOffset();
+				int startOffset = lineStart + (index.getColumnStart(location) - 1);
+				int endOffset = lineStart + (index.getColumnEnd(location) - 1);
 				try {
-					Element root = textArea.getDocument().getDefaultRootElement();
-					for (
-							ClassLocalVariableLocation location :
-							classFileContainer.getLocalLocationsFor(finalToken.getLexeme())
-					) {
-						if (Objects.equals(method, location.method())) {
-							int startOffset = root
-									.getElement(location.line() - 1)
-									.getStartOffset() + (location.columnStart() - 1);
-							int endOffset = root
-									.getElement(location.line() - 1)
-									.getStartOffset() + (location.columnEnd() - 1);
-
-							highlighterEx.addMarkedOccurrenceHighlight(
-									startOffset, endOffset, new SmartHighlightPainter()
-							);
-						}
-					}
+					highlighterEx.addMarkedOccurrenceHighlight(startOffset, endOffset, new SmartHighlightPainter());
 				} catch (BadLocationException ex) {
 					throw new RuntimeException(ex);
 				}
 			}
-		}));
-	}
-
-	/**
-	 * Search through the text area and mark all occurrences that match the selected token.
-	 *
-	 * @param textArea           the text area
-	 * @param classFileContainer the container
-	 * @param line               the caret line
-	 * @param column             the caret column
-	 * @param finalToken         the token
-	 * @param highlighterEx      the highlighter
-	 */
-	private static void markMethodParameter(
-			@NotNull RSyntaxTextArea textArea,
-			@NotNull ClassFileContainer classFileContainer,
-			int line,
-			int column,
-			Token finalToken,
-			RSyntaxTextAreaHighlighterEx highlighterEx
-	) {
-		classFileContainer.methodParameterMembers.values().forEach(parameters -> parameters.forEach(parameter -> {
-			String method;
-			if (parameter.line() == line && parameter.columnStart() - 1 <= column && parameter.columnEnd() >= column) {
-				method = parameter.method();
-				try {
-					Element root = textArea.getDocument().getDefaultRootElement();
-					for (
-							ClassParameterLocation location :
-							classFileContainer.getParameterLocationsFor(finalToken.getLexeme())
-					) {
-						if (Objects.equals(method, location.method())) {
-							int startOffset = root
-									.getElement(location.line() - 1)
-									.getStartOffset() + (location.columnStart() - 1);
-							int endOffset = root
-									.getElement(location.line() - 1)
-									.getStartOffset() + (location.columnEnd() - 1);
-
-							highlighterEx.addMarkedOccurrenceHighlight(
-									startOffset, endOffset, new SmartHighlightPainter()
-							);
-						}
-					}
-				} catch (BadLocationException ex) {
-					throw new RuntimeException(ex);
-				}
-			}
-		}));
-	}
+		}
 
-	/**
-	 * Search through the text area and mark all occurrences that match the selected token.
-	 *
-	 * @param textArea           the text area
-	 * @param classFileContainer the container
-	 * @param line               the caret line
-	 * @param column             the caret column
-	 * @param finalToken         the token
-	 * @param highlighterEx      the highlighter
-	 */
-	private static void markField(
-			@NotNull RSyntaxTextArea textArea,
-			@NotNull ClassFileContainer classFileContainer,
-			int line,
-			int column,
-			Token finalToken,
-			RSyntaxTextAreaHighlighterEx highlighterEx
-	) {
-		classFileContainer.fieldMembers.values().forEach(fields -> fields.forEach(field -> {
-			String owner;
-			if (field.line() == line && field.columnStart() - 1 <= column && field.columnEnd() >= column) {
-				owner = field.owner();
-				try {
-					Element root = textArea.getDocument().getDefaultRootElement();
-					for (
-							ClassFieldLocation location :
-							classFileContainer.getMemberLocationsFor(finalToken.getLexeme())
-					) {
-						if (Objects.equals(owner, location.owner())) {
-							int startOffset = root
-									.getElement(location.line() - 1)
-									.getStartOffset() + (location.columnStart() - 1);
-							int endOffset = root
-									.getElement(location.line() - 1)
-									.getStartOffset() + (location.columnEnd() - 1);
-							highlighterEx.addMarkedOccurrenceHighlight(
-									startOffset, endOffset, new SmartHighlightPainter()
-							);
-						}
-					}
-				} catch (BadLocationException ex) {
-					throw new RuntimeException(ex);
-				}
-			}
-		}));
+		errorStripe.refreshMarkers();
 	}
 }
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.gui.resourceviewer.pages;
+
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * The page shown in place of a class while it is being decompiled.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class DecompilingPage extends Page {
+	private final JLabel label;
+	private final JProgressBar progressBar = new JProgressBar();
+
+	public DecompilingPage(@NotNull ClassFileContainer container) {
+		super(container);
+		label = new JLabel("Decompiling " + name + "…");
+		progressBar.setIndeterminate(true);
+
+		JPanel panel = new JPanel(new GridBagLayout());
+		GridBagConstraints constraints = new GridBagConstraints();
+		constraints.gridy = 0;
+		panel.add(label, constraints);
+		constraints.gridy = 1;
+		constraints.insets = new Insets(8, 0, 0, 0);
+		panel.add(progressBar, constraints);
+		add(panel, BorderLayout.CENTER);
+
+		setVisible(true);
+	}
+
+	/**
+	 * Show that the class couldn't be decompiled.
+	 *
+	 * @param error what went wrong
+	 */
+	public void showError(@NotNull Throwable error) {
+		label.setText("Failed to decompile " + name + ": " + error);
+		progressBar.setVisible(false);
+	}
+}
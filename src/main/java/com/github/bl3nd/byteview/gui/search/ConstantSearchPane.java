@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.gui.search;
+
+import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.index.ConstantSearch;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Searches the string constants of every class in the loaded archives, see {@link ConstantSearch}. Nothing has to be
+ * decompiled, the class is only decompiled once a constant is opened from the list.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class ConstantSearchPane extends SearchPane<ConstantSearch.Hit> {
+	public ConstantSearchPane() {
+		super("Find String Constants");
+	}
+
+	@Override
+	protected @NotNull CompletableFuture<String> search(@NotNull String text, boolean regex, boolean matchCase,
+														@NotNull Consumer<List<ConstantSearch.Hit>> consumer,
+														@NotNull BooleanSupplier cancelled) {
+		long start = System.nanoTime();
+		return ConstantSearch.search(text, regex, matchCase, ByteView.mainFrame.resourcePane.uploadedFiles.values(),
+				consumer, cancelled).thenApply(stats -> {
+			String status = stats.count() + " constants (" + (System.nanoTime() - start) / 1_000_000 + " ms)";
+			return stats.shown() == stats.count() ? status : status + ", showing " + stats.shown();
+		});
+	}
+
+	@Override
+	protected @NotNull String getIdleStatus() {
+		return "";
+	}
+
+	@Override
+	protected @NotNull String getLabel(ConstantSearch.@NotNull Hit hit) {
+		String value = hit.value().length() > 120 ? hit.value().substring(0, 120) + "..." : hit.value();
+		String name = hit.className().substring(hit.className().lastIndexOf('/') + 1);
+		return "\"" + escape(value) + "\"  -  " + (hit.member() == null ? name : name + "." + hit.member());
+	}
+
+	/**
+	 * Open the class of a constant and select the constant's first occurrence once it is decompiled.
+	 */
+	@Override
+	protected void open(ConstantSearch.@NotNull Hit hit) {
+		if (!(hit.archive().fileEntries.get(hit.entry()) instanceof ClassFileContainer container)) {
+			return;
+		}
+
+		ByteView.mainFrame.resourcePane.openClass(container, page -> {
+			JTextArea textArea = page.getTextArea();
+			String literal = "\"" + escape(hit.value());
+			int start = textArea.getText().indexOf(literal);
+			if (start == -1) {
+				return;
+			}
+
+			textArea.setCaretPosition(start + 1);
+			textArea.moveCaretPosition(start + literal.length());
+			textArea.requestFocusInWindow();
+		});
+	}
+
+	/**
+	 * Escape a string the way it is written in a Java string literal.
+	 */
+	private static @NotNull String escape(@NotNull String value) {
+		StringBuilder builder = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '\n' -> builder.append("\\n");
+				case '\r' -> builder.append("\\r");
+				case '\t' -> builder.append("\\t");
+				case '"' -> builder.append("\\\"");
+				case '\\' -> builder.append("\\\\");
+				default -> builder.append(c);
+			}
+		}
+
+		return builder.toString();
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.gui.search;
+
+import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.index.ClassNameIndex;
+import com.github.bl3nd.byteview.misc.Icons;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * Go to a class in any loaded archive by typing part of its name, see {@link ClassNameIndex}. The list is updated on
+ * every keystroke.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class GoToClassDialog extends JDialog {
+	private final DefaultListModel<ClassNameIndex.Result> model = new DefaultListModel<>();
+	private final JList<ClassNameIndex.Result> list = new JList<>(model);
+	private final JTextField searchField = new JTextField();
+	private final JLabel status = new JLabel();
+
+	public GoToClassDialog(@NotNull Frame owner) {
+		super(owner, "Go to Class", false);
+		searchField.getDocument().addDocumentListener(new DocumentListener() {
+			@Override
+			public void insertUpdate(DocumentEvent e) {
+				search();
+			}
+
+			@Override
+			public void removeUpdate(DocumentEvent e) {
+				search();
+			}
+
+			@Override
+			public void changedUpdate(DocumentEvent e) {
+				search();
+			}
+		});
+		searchField.addKeyListener(new KeyAdapter() {
+			@Override
+			public void keyPressed(KeyEvent e) {
+				switch (e.getKeyCode()) {
+					case KeyEvent.VK_DOWN -> select(list.getSelectedIndex() + 1);
+					case KeyEvent.VK_UP -> select(list.getSelectedIndex() - 1);
+					case KeyEvent.VK_ENTER -> open(list.getSelectedValue());
+					case KeyEvent.VK_ESCAPE -> setVisible(false);
+					default -> {
+						return;
+					}
+				}
+
+				e.consume();
+			}
+		});
+
+		list.setFocusable(false);
+		list.setCellRenderer(new DefaultListCellRenderer() {
+			@Override
+			public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected,
+														  boolean cellHasFocus) {
+				ClassNameIndex.Result result = (ClassNameIndex.Result) value;
+				// The package and outer classes
+				String className = result.className();
+				String outer = className.substring(0, Math.max(className.length() - result.simpleName().length() - 1, 0));
+				super.getListCellRendererComponent(list, result.simpleName() + "  -  " + outer.replace('/', '.')
+						+ " (" + result.archive().fileName + ")", index, isSelected, cellHasFocus);
+				setIcon(Icons.classFileIcon);
+				return this;
+			}
+		});
+		list.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				if (e.getButton() == MouseEvent.BUTTON1 && e.getClickCount() == 2) {
+					open(list.getSelectedValue());
+				}
+			}
+		});
+
+		JPanel panel = new JPanel(new BorderLayout(0, 5));
+		panel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+		panel.add(searchField, BorderLayout.NORTH);
+		panel.add(new JScrollPane(list), BorderLayout.CENTER);
+		panel.add(status, BorderLayout.SOUTH);
+		setContentPane(panel);
+		getRootPane().registerKeyboardAction(_ -> setVisible(false), KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0),
+				JComponent.WHEN_IN_FOCUSED_WINDOW);
+		setSize(600, 400);
+	}
+
+	/**
+	 * Show the dialog over the main window with the last search selected.
+	 */
+	public void showDialog() {
+		setLocationRelativeTo(getOwner());
+		searchField.selectAll();
+		search();
+		setVisible(true);
+		searchField.requestFocusInWindow();
+	}
+
+	private void search() {
+		model.clear();
+		String text = searchField.getText();
+		if (text.isBlank()) {
+			status.setText(ClassNameIndex.getClassCount() + " classes");
+			return;
+		}
+
+		long start = System.nanoTime();
+		model.addAll(ClassNameIndex.find(text));
+		select(0);
+		status.setText(String.format("%d classes (%.1f ms)", model.size(), (System.nanoTime() - start) / 1e6));
+	}
+
+	private void select(int index) {
+		if (index >= 0 && index < model.size()) {
+			list.setSelectedIndex(index);
+			list.ensureIndexIsVisible(index);
+		}
+	}
+
+	private void open(ClassNameIndex.Result result) {
+		if (result == null) {
+			return;
+		}
+
+		ClassFileContainer container = result.getContainer();
+		if (container != null) {
+			setVisible(false);
+			ByteView.mainFrame.resourcePane.openClass(container);
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.gui.search;
+
+import com.formdev.flatlaf.extras.components.FlatButton;
+import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.gui.components.HeaderPanel;
+import com.github.bl3nd.byteview.misc.Icons;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A search field with regex and match case options above a list of results, shown below the resource viewer. Results
+ * are added as they are found, and the search starts over while the text is typed.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ *
+ * @param <T> the type of the results
+ */
+public abstract class SearchPane<T> extends JPanel {
+	private final DefaultListModel<T> model = new DefaultListModel<>();
+	private final JList<T> list = new JList<>(model);
+	private final JTextField searchField = new JTextField();
+	private final JCheckBox regexBox = new JCheckBox("Regex");
+	private final JCheckBox matchCaseBox = new JCheckBox("Match case");
+	private final JLabel status = new JLabel();
+	private final Timer searchTimer = new Timer(150, _ -> search());
+
+	/**
+	 * Counts the searches, so that results of a search that has been replaced are dropped.
+	 */
+	private volatile int generation;
+
+	protected SearchPane(@NotNull String title) {
+		super(new BorderLayout());
+		FlatButton closeButton = new FlatButton();
+		closeButton.setIcon(Icons.closeIcon);
+		closeButton.setButtonType(FlatButton.ButtonType.toolBarButton);
+		closeButton.setFocusable(false);
+		closeButton.addActionListener(_ -> close());
+
+		JPanel headerRight = new JPanel();
+		headerRight.setLayout(new BoxLayout(headerRight, BoxLayout.LINE_AXIS));
+		headerRight.add(status);
+		headerRight.add(Box.createRigidArea(new Dimension(5, 0)));
+		headerRight.add(closeButton);
+
+		searchTimer.setRepeats(false);
+		searchField.getDocument().addDocumentListener(new DocumentListener() {
+			@Override
+			public void insertUpdate(DocumentEvent e) {
+				searchTimer.restart();
+			}
+
+			@Override
+			public void removeUpdate(DocumentEvent e) {
+				searchTimer.restart();
+			}
+
+			@Override
+			public void changedUpdate(DocumentEvent e) {
+				searchTimer.restart();
+			}
+		});
+		searchField.addActionListener(_ -> search());
+		regexBox.addActionListener(_ -> search());
+		matchCaseBox.addActionListener(_ -> search());
+
+		JPanel searchBar = new JPanel();
+		searchBar.setLayout(new BoxLayout(searchBar, BoxLayout.LINE_AXIS));
+		searchBar.add(searchField);
+		searchBar.add(Box.createRigidArea(new Dimension(5, 0)));
+		searchBar.add(regexBox);
+		searchBar.add(matchCaseBox);
+
+		list.setCellRenderer(new DefaultListCellRenderer() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected,
+														  boolean cellHasFocus) {
+				super.getListCellRendererComponent(list, getLabel((T) value), index, isSelected, cellHasFocus);
+				setIcon(Icons.classFileIcon);
+				return this;
+			}
+		});
+		list.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				if (e.getButton() == MouseEvent.BUTTON1 && e.getClickCount() == 2) {
+					T result = list.getSelectedValue();
+					if (result != null) {
+						open(result);
+					}
+				}
+			}
+		});
+
+		HeaderPanel headerPanel = new HeaderPanel(title, null, new Insets(1, 0, 0, 0), headerRight);
+		headerPanel.setContent(list);
+		add(searchBar, BorderLayout.NORTH);
+		add(headerPanel, BorderLayout.CENTER);
+	}
+
+	/**
+	 * Start a search in the background.
+	 *
+	 * @param text      the text, or a regular expression
+	 * @param regex     whether the text is a regular expression
+	 * @param matchCase whether the case has to match
+	 * @param consumer  takes the results as they are found, on any thread
+	 * @param cancelled whether the search has been replaced and can stop
+	 * @return a future of the status to show once the search is done
+	 */
+	protected abstract @NotNull CompletableFuture<String> search(@NotNull String text, boolean regex,
+																 boolean matchCase, @NotNull Consumer<List<T>> consumer,
+																 @NotNull BooleanSupplier cancelled);
+
+	/**
+	 * @return the status to show while nothing is searched for
+	 */
+	protected abstract @NotNull String getIdleStatus();
+
+	/**
+	 * @return the text of a result in the list
+	 */
+	protected abstract @NotNull String getLabel(@NotNull T result);
+
+	/**
+	 * Open a result that was double-clicked.
+	 */
+	protected abstract void open(@NotNull T result);
+
+	/**
+	 * Show this pane below the resource viewer and focus the search field.
+	 */
+	public void showPane() {
+		JSplitPane splitPane = ByteView.mainFrame.viewerSplitPane;
+		if (splitPane.getBottomComponent() != this) {
+			splitPane.setBottomComponent(this);
+			splitPane.setDividerLocation(0.6);
+		}
+
+		searchField.selectAll();
+		searchField.requestFocusInWindow();
+		search();
+	}
+
+	/**
+	 * Show the idle status again if nothing is being searched for, e.g. because what it counts has changed.
+	 */
+	protected void updateIdleStatus() {
+		if (searchField.getText().isEmpty()) {
+			status.setText(getIdleStatus());
+		}
+	}
+
+	private void search() {
+		int search = ++generation;
+		searchTimer.stop();
+		model.clear();
+		String text = searchField.getText();
+		if (text.isEmpty()) {
+			status.setText(getIdleStatus());
+			return;
+		}
+
+		status.setText("Searching...");
+		CompletableFuture<String> future;
+		try {
+			future = search(text, regexBox.isSelected(), matchCaseBox.isSelected(),
+					results -> SwingUtilities.invokeLater(() -> {
+						if (search == generation) {
+							model.addAll(results);
+						}
+					}), () -> search != generation);
+		} catch (PatternSyntaxException e) {
+			status.setText(e.getDescription());
+			return;
+		}
+
+		future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+			if (search != generation) {
+				return;
+			}
+
+			if (error != null) {
+				System.err.println("Failed to search for " + text + ": " + error.getMessage());
+				status.setText("Search failed");
+				return;
+			}
+
+			status.setText(result);
+		}));
+	}
+
+	private void close() {
+		generation++;
+		model.clear();
+		ByteView.mainFrame.viewerSplitPane.setBottomComponent(null);
+	}
+}
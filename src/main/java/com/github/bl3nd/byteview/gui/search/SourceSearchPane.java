@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.gui.search;
+
+import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.decompiler.DecompilerExecutor;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.files.FileContainer;
+import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.index.SourceIndex;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.text.Element;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Searches the sources of every class that has been decompiled, see {@link SourceIndex}. Matching lines are added as
+ * each class is searched. Every loaded class can be decompiled up front with {@link #decompileAll()}.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class SourceSearchPane extends SearchPane<SourceIndex.Match> {
+	public SourceSearchPane() {
+		super("Find in Sources");
+	}
+
+	/**
+	 * Decompile every class of the loaded files in the background, so that all of them can be searched. Classes the
+	 * user opens in the meantime go first.
+	 */
+	public void decompileAll() {
+		if (!ByteView.configuration.hasCurrentDecompiler()) {
+			return;
+		}
+
+		List<ClassFileContainer> containers = new ArrayList<>();
+		for (FileContainer file : ByteView.mainFrame.resourcePane.uploadedFiles.values()) {
+			if (file instanceof ZipFileContainer zip) {
+				for (FileContainer entry : zip.fileEntries.values()) {
+					if (entry instanceof ClassFileContainer c) {
+						containers.add(c);
+					}
+				}
+			} else if (file instanceof ClassFileContainer c) {
+				containers.add(c);
+			}
+		}
+
+		DecompilerExecutor.submitAll(containers, ByteView.configuration.getCurrentDecompiler(),
+				_ -> updateIdleStatus());
+		showPane();
+	}
+
+	@Override
+	protected @NotNull CompletableFuture<String> search(@NotNull String text, boolean regex, boolean matchCase,
+														@NotNull Consumer<List<SourceIndex.Match>> consumer,
+														@NotNull BooleanSupplier cancelled) {
+		SourceIndex.compile(text, regex, matchCase);
+		return CompletableFuture.supplyAsync(() -> {
+			SourceIndex.Stats stats = SourceIndex.search(text, regex, matchCase, consumer, cancelled);
+			return stats.matches() + " lines in " + stats.candidates() + " of " + stats.documents()
+					+ " classes (" + stats.nanos() / 1_000_000 + " ms)";
+		});
+	}
+
+	@Override
+	protected @NotNull String getIdleStatus() {
+		return SourceIndex.getDocumentCount() + " classes indexed";
+	}
+
+	@Override
+	protected @NotNull String getLabel(SourceIndex.@NotNull Match match) {
+		String name = match.container().getFileName().replace(".class", ".java");
+		return match.preview().strip() + "  -  " + name + ":" + match.line();
+	}
+
+	/**
+	 * Open the class of a match and select the match once it is decompiled.
+	 */
+	@Override
+	protected void open(SourceIndex.@NotNull Match match) {
+		ByteView.mainFrame.resourcePane.openClass(match.container(), page -> {
+			JTextArea textArea = page.getTextArea();
+			Element root = textArea.getDocument().getDefaultRootElement();
+			if (match.line() > root.getElementCount()) {
+				return;
+			}
+
+			int start = root.getElement(match.line() - 1).getStartOffset() + match.column();
+			textArea.setCaretPosition(start);
+			textArea.moveCaretPosition(start + match.length());
+			textArea.requestFocusInWindow();
+		});
+	}
+}
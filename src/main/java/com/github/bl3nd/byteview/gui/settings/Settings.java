@@ -27,6 +27,7 @@ package com.github.bl3nd.byteview.gui.settings;
 import com.formdev.flatlaf.FlatLaf;
 import com.formdev.flatlaf.util.FontUtils;
 import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.decompiler.cache.SourceCache;
 import com.github.bl3nd.byteview.gui.settings.panels.GeneralDecompilerPanel;
 import com.github.bl3nd.byteview.gui.settings.panels.VineFlowerSettingPanel;
 
@@ -59,6 +60,7 @@ public class Settings {
 		checkHierarchyChange(i);
 		updateDecompiler(i);
 		updateDecompileEntireArchive(i);
+		updateSourceCacheSize(i);
 
 		if (i == JOptionPane.OK_OPTION) {
 			updateVineFlowerSettings();
@@ -75,6 +77,18 @@ public class Settings {
 		}
 	}
 
+	private static void updateSourceCacheSize(int option) {
+		int size = (int) GeneralDecompilerPanel.sourceCacheSize.getValue();
+		if (option == JOptionPane.OK_OPTION) {
+			if (ByteView.configuration.getSourceCacheSize() != size) {
+				ByteView.configuration.setSourceCacheSize(size);
+				SourceCache.setBudget(size * 1024L * 1024L);
+			}
+		} else {
+			GeneralDecompilerPanel.sourceCacheSize.setValue(ByteView.configuration.getSourceCacheSize());
+		}
+	}
+
 	private static void updateVineFlowerSettings() {
 		if (VineFlowerSettingPanel.settingChanges.isEmpty()) {
 			return;
@@ -41,6 +41,7 @@ import java.util.List;
  */
 public class GeneralDecompilerPanel extends JPanel {
 	public static JComboBox<Object> availableDecompilers;
+	public static JSpinner sourceCacheSize;
 
 	public GeneralDecompilerPanel() {
 		create();
@@ -68,6 +69,9 @@ public class GeneralDecompilerPanel extends JPanel {
 		checkBox.setSelected(Settings.changeDecompilerSetting);
 		checkBox.addActionListener(GeneralDecompilerPanel::decompileAllChanged);
 
+		JLabel sourceCacheLabel = new JLabel("Memory for decompiled classes (MB):");
+		sourceCacheSize = new JSpinner(new SpinnerNumberModel(ByteView.configuration.getSourceCacheSize(), 8, 4096, 8));
+
 		layout.setHorizontalGroup(layout.createParallelGroup()
 				.addGroup(layout.createSequentialGroup().addComponent(label))
 				.addGroup(layout.createSequentialGroup()
@@ -99,6 +103,23 @@ public class GeneralDecompilerPanel extends JPanel {
 						.addPreferredGap(LayoutStyle.ComponentPlacement.RELATED, 20, 20)
 						.addComponent(decompileAll)
 				)
+				.addGroup(layout.createSequentialGroup()
+						.addPreferredGap(
+								label,
+								sourceCacheLabel,
+								LayoutStyle.ComponentPlacement.INDENT,
+								15,
+								15
+						)
+						.addComponent(sourceCacheLabel)
+						.addPreferredGap(LayoutStyle.ComponentPlacement.RELATED, 20, 20)
+						.addComponent(
+								sourceCacheSize,
+								GroupLayout.PREFERRED_SIZE,
+								GroupLayout.DEFAULT_SIZE,
+								GroupLayout.PREFERRED_SIZE
+						)
+				)
 		);
 
 		layout.setVerticalGroup(layout.createSequentialGroup()
@@ -116,6 +137,15 @@ public class GeneralDecompilerPanel extends JPanel {
 						.addComponent(checkBox)
 						.addComponent(decompileAll)
 				)
+				.addGroup(layout.createParallelGroup()
+						.addComponent(sourceCacheLabel)
+						.addComponent(
+								sourceCacheSize,
+								GroupLayout.PREFERRED_SIZE,
+								GroupLayout.DEFAULT_SIZE,
+								GroupLayout.PREFERRED_SIZE
+						)
+				)
 		);
 	}
 
@@ -34,7 +34,7 @@ import com.github.bl3nd.byteview.gui.resourceviewer.component.RSyntaxTextAreaHig
 import com.github.bl3nd.byteview.gui.resourceviewer.pages.ClassResourcePage;
 import com.github.bl3nd.byteview.gui.resourceviewer.pages.Page;
 import com.github.bl3nd.byteview.gui.structure.components.FileStructureTreeCellRenderer;
-import com.github.bl3nd.byteview.tokens.location.ClassFieldLocation;
+import com.github.bl3nd.byteview.tokens.LocationTable;
 import org.fife.ui.rtextarea.SmartHighlightPainter;
 import org.jetbrains.annotations.NotNull;
 
@@ -90,33 +90,34 @@ public class FileStructurePane extends JPanel {
 						ClassFileContainer container = (ClassFileContainer) openedContainer;
 						page.getTextArea().getHighlighter().removeAllHighlights();
 						Element root = page.getTextArea().getDocument().getDefaultRootElement();
-						String finalPathName = pathName;
 
 						/*
 						Fields
 						 */
-						container.fieldMembers.values().forEach(fields -> fields.forEach(_ -> {
-							for (ClassFieldLocation location : container.getMemberLocationsFor(finalPathName)) {
-								if (location.decRef().equalsIgnoreCase("declaration")) {
-									int startOffset = root
-											.getElement(location.line() - 1)
-											.getStartOffset() + (location.columnStart() - 1);
-									int endOffset = root
-											.getElement(location.line() - 1)
-											.getStartOffset() + (location.columnEnd() - 1);
-
-									try {
-										highlighterEx.addMarkedOccurrenceHighlight(
-												startOffset, endOffset, new SmartHighlightPainter()
-										);
-										page.getTextArea().setCaretPosition(startOffset);
-										page.markOccurrences(page.getTextArea(), container);
-									} catch (BadLocationException ex) {
-										throw new RuntimeException(ex);
-									}
-								}
+						LocationTable locations = container.locations;
+						for (int i = 0; i < locations.size(); i++) {
+							if (locations.getKind(i) != LocationTable.FIELD || !locations.isDeclaration(i)
+									|| !locations.getName(i).equals(pathName)) {
+								continue;
 							}
-						}));
+
+							int startOffset = root
+									.getElement(locations.getLine(i) - 1)
+									.getStartOffset() + (locations.getColumnStart(i) - 1);
+							int endOffset = root
+									.getElement(locations.getLine(i) - 1)
+									.getStartOffset() + (locations.getColumnEnd(i) - 1);
+
+							try {
+								highlighterEx.addMarkedOccurrenceHighlight(
+										startOffset, endOffset, new SmartHighlightPainter()
+								);
+								page.getTextArea().setCaretPosition(startOffset);
+								page.markOccurrences(page.getTextArea(), container);
+							} catch (BadLocationException ex) {
+								throw new RuntimeException(ex);
+							}
+						}
 					} else {
 						page.getTextArea().getHighlighter().removeAllHighlights();
 					}
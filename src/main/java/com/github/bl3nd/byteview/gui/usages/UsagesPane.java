@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.gui.usages;
+
+import com.formdev.flatlaf.extras.components.FlatButton;
+import com.github.bl3nd.byteview.ByteView;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.gui.components.HeaderPanel;
+import com.github.bl3nd.byteview.index.MemberReference;
+import com.github.bl3nd.byteview.index.UsageSearch;
+import com.github.bl3nd.byteview.misc.Icons;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * Lists the classes that use a field or method. Usages are added as each archive is searched, and a class is only
+ * decompiled once it is opened from the list.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class UsagesPane extends JPanel {
+	private final DefaultListModel<UsageSearch.Usage> model = new DefaultListModel<>();
+	private final JList<UsageSearch.Usage> list = new JList<>(model);
+	private final JLabel status = new JLabel();
+
+	/**
+	 * Counts the searches, so that usages of a search that has been replaced are dropped.
+	 */
+	private int generation;
+
+	public UsagesPane() {
+		super(new BorderLayout());
+		FlatButton closeButton = new FlatButton();
+		closeButton.setIcon(Icons.closeIcon);
+		closeButton.setButtonType(FlatButton.ButtonType.toolBarButton);
+		closeButton.setFocusable(false);
+		closeButton.addActionListener(_ -> close());
+
+		JPanel headerRight = new JPanel();
+		headerRight.setLayout(new BoxLayout(headerRight, BoxLayout.LINE_AXIS));
+		headerRight.add(status);
+		headerRight.add(Box.createRigidArea(new Dimension(5, 0)));
+		headerRight.add(closeButton);
+
+		HeaderPanel headerPanel = new HeaderPanel("Usages", null, new Insets(1, 0, 0, 0), headerRight);
+		list.setCellRenderer(new DefaultListCellRenderer() {
+			@Override
+			public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected,
+														  boolean cellHasFocus) {
+				UsageSearch.Usage usage = (UsageSearch.Usage) value;
+				String className = usage.className();
+				int lastSlash = className.lastIndexOf('/');
+				String text = lastSlash == -1 ? className : className.substring(lastSlash + 1) + " ("
+						+ className.substring(0, lastSlash).replace('/', '.') + ")";
+				super.getListCellRendererComponent(list, text + " - " + usage.archive().getFileName(), index,
+						isSelected, cellHasFocus);
+				setIcon(Icons.classFileIcon);
+				return this;
+			}
+		});
+		list.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				if (e.getButton() != MouseEvent.BUTTON1 || e.getClickCount() != 2) {
+					return;
+				}
+
+				UsageSearch.Usage usage = list.getSelectedValue();
+				if (usage != null
+						&& usage.archive().fileEntries.get(usage.entry()) instanceof ClassFileContainer container) {
+					ByteView.mainFrame.resourcePane.openClass(container);
+				}
+			}
+		});
+		headerPanel.setContent(list);
+		add(headerPanel, BorderLayout.CENTER);
+	}
+
+	/**
+	 * Show this pane and search every loaded archive for usages.
+	 *
+	 * @param query what to search for
+	 */
+	public void search(@NotNull MemberReference query) {
+		int search = ++generation;
+		model.clear();
+		status.setText("Searching for " + query + "...");
+		JSplitPane splitPane = ByteView.mainFrame.viewerSplitPane;
+		if (splitPane.getBottomComponent() != this) {
+			splitPane.setBottomComponent(this);
+			splitPane.setDividerLocation(0.7);
+		}
+
+		UsageSearch.search(query, ByteView.mainFrame.resourcePane.uploadedFiles.values(),
+				usages -> SwingUtilities.invokeLater(() -> {
+					if (search == generation) {
+						model.addAll(usages);
+					}
+				})).whenComplete((_, error) -> SwingUtilities.invokeLater(() -> {
+			if (search != generation) {
+				return;
+			}
+
+			if (error != null) {
+				System.err.println("Failed to find usages of " + query + ": " + error.getMessage());
+			}
+
+			status.setText(model.size() + (model.size() == 1 ? " class uses " : " classes use ") + query);
+		}));
+	}
+
+	private void close() {
+		generation++;
+		model.clear();
+		ByteView.mainFrame.viewerSplitPane.setBottomComponent(null);
+	}
+}
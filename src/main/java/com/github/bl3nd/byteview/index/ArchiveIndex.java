@@ -0,0 +1,767 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import com.github.bl3nd.byteview.files.zip.MappedZipEntry;
+import com.github.bl3nd.byteview.files.zip.MappedZipFile;
+import com.github.bl3nd.byteview.misc.FileMisc;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Every class of an archive, the fields and methods it declares and the classes, fields and methods it refers to,
+ * read from the class files' constant pools without decompiling anything.
+ * <p>
+ * Classes, members and references are each numbered from 0 and kept in parallel int arrays. A class's members and
+ * references are a contiguous range of their arrays. Names, owners and descriptors are {@link SymbolTable} ids, and
+ * class names are internal names, e.g. {@code java/lang/String}. References and members are also grouped by what
+ * they name, so the classes that use a field or method, and where it is declared, are found without looking at the
+ * rest of the archive. String constants are kept once each, with the members that load them. The methods a method
+ * invokes are a contiguous range of references, which {@link CallGraph} resolves to their declarations. The index
+ * doesn't change once it is built, and keeps its ids until it is released from the {@link SymbolTable}.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class ArchiveIndex implements SymbolTable.Holder {
+	public static final int CLASS = 0;
+	public static final int FIELD = 1;
+	public static final int METHOD = 2;
+
+	private static final int CHUNK_SIZE = 256;
+	/**
+	 * How far up a class's hierarchy a member is looked for, so a malformed archive can't loop forever.
+	 */
+	private static final int MAX_HIERARCHY_DEPTH = 64;
+
+	private final int classCount;
+	private final int[] classNames;
+	private final int[] classEntries;
+	private final int[] superNames;
+	private final int[] classAccess;
+	private final int[] interfaceStarts;
+	private final int[] interfaces;
+	private final int[] memberStarts;
+	private final int[] referenceStarts;
+
+	private final int[] memberOwners;
+	private final int[] memberKinds;
+	private final int[] memberAccess;
+	private final int[] memberNames;
+	private final int[] memberDescriptors;
+
+	private final int[] referenceSources;
+	private final int[] referenceKinds;
+	private final int[] referenceOwners;
+	private final int[] referenceNames;
+	private final int[] referenceDescriptors;
+
+	private final IntMap classesByName;
+	private final String[] strings;
+	private final int[] stringStarts;
+	private final int[] stringClasses;
+	private final int[] stringMembers;
+	private final int[] callStarts;
+	private final int[] calls;
+	private final InvertedIndex usages;
+	private final InvertedIndex declarations;
+
+	/**
+	 * Scan every class file of an archive.
+	 *
+	 * @param zipFile the archive
+	 * @param pool    the pool the class files are scanned on, in chunks
+	 * @return the index
+	 */
+	public static @NotNull ArchiveIndex build(@NotNull MappedZipFile zipFile, @NotNull ForkJoinPool pool) {
+		try (SymbolTable.Scope _ = SymbolTable.use()) {
+			List<MappedZipEntry> entries = zipFile.entries();
+			List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+			for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+				List<MappedZipEntry> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+				tasks.add(pool.submit(() -> scan(zipFile, chunk)));
+			}
+
+			List<Chunk> chunks = new ArrayList<>(tasks.size());
+			for (ForkJoinTask<Chunk> task : tasks) {
+				chunks.add(task.join());
+			}
+
+			ArchiveIndex index = new ArchiveIndex(chunks);
+			SymbolTable.register(index);
+			return index;
+		}
+	}
+
+	private static @NotNull Chunk scan(@NotNull MappedZipFile zipFile, @NotNull List<MappedZipEntry> entries) {
+		Chunk chunk = new Chunk();
+		for (MappedZipEntry entry : entries) {
+			if (entry.isDirectory() || !entry.name().endsWith(".class")) {
+				continue;
+			}
+
+			try {
+				ClassFileScanner.scan(zipFile.read(entry), SymbolTable.intern(FileMisc.removeExtension(entry.name())),
+						chunk);
+			} catch (IOException e) {
+				chunk.discardClass();
+				System.err.println("Not indexing " + entry.name() + ": " + e.getMessage());
+			}
+		}
+
+		return chunk;
+	}
+
+	private ArchiveIndex(@NotNull List<Chunk> chunks) {
+		int classTotal = 0;
+		int interfaceTotal = 0;
+		int memberTotal = 0;
+		int referenceTotal = 0;
+		int callTotal = 0;
+		for (Chunk chunk : chunks) {
+			classTotal += chunk.classNames.size();
+			interfaceTotal += chunk.interfaces.size();
+			memberTotal += chunk.memberNames.size();
+			referenceTotal += chunk.referenceOwners.size();
+			callTotal += chunk.callMembers.size();
+		}
+
+		classCount = classTotal;
+		classNames = new int[classTotal];
+		classEntries = new int[classTotal];
+		superNames = new int[classTotal];
+		classAccess = new int[classTotal];
+		interfaceStarts = new int[classTotal + 1];
+		interfaces = new int[interfaceTotal];
+		memberStarts = new int[classTotal + 1];
+		referenceStarts = new int[classTotal + 1];
+		memberOwners = new int[memberTotal];
+		memberKinds = new int[memberTotal];
+		memberAccess = new int[memberTotal];
+		memberNames = new int[memberTotal];
+		memberDescriptors = new int[memberTotal];
+		referenceSources = new int[referenceTotal];
+		referenceKinds = new int[referenceTotal];
+		referenceOwners = new int[referenceTotal];
+		referenceNames = new int[referenceTotal];
+		referenceDescriptors = new int[referenceTotal];
+		callStarts = new int[memberTotal + 1];
+		calls = new int[callTotal];
+
+		// Chunks are merged in archive order, shifting their ranges past the chunks before them
+		int classOffset = 0;
+		int interfaceOffset = 0;
+		int memberOffset = 0;
+		int referenceOffset = 0;
+		int callOffset = 0;
+		for (Chunk chunk : chunks) {
+			chunk.classNames.copyTo(classNames, classOffset, 0);
+			chunk.classEntries.copyTo(classEntries, classOffset, 0);
+			chunk.superNames.copyTo(superNames, classOffset, 0);
+			chunk.classAccess.copyTo(classAccess, classOffset, 0);
+			chunk.interfaceEnds.copyTo(interfaceStarts, classOffset + 1, interfaceOffset);
+			chunk.memberEnds.copyTo(memberStarts, classOffset + 1, memberOffset);
+			chunk.referenceEnds.copyTo(referenceStarts, classOffset + 1, referenceOffset);
+			chunk.interfaces.copyTo(interfaces, interfaceOffset, 0);
+			chunk.memberOwners.copyTo(memberOwners, memberOffset, classOffset);
+			chunk.memberKinds.copyTo(memberKinds, memberOffset, 0);
+			chunk.memberAccess.copyTo(memberAccess, memberOffset, 0);
+			chunk.memberNames.copyTo(memberNames, memberOffset, 0);
+			chunk.memberDescriptors.copyTo(memberDescriptors, memberOffset, 0);
+			chunk.referenceSources.copyTo(referenceSources, referenceOffset, classOffset);
+			chunk.referenceKinds.copyTo(referenceKinds, referenceOffset, 0);
+			chunk.referenceOwners.copyTo(referenceOwners, referenceOffset, 0);
+			chunk.referenceNames.copyTo(referenceNames, referenceOffset, 0);
+			chunk.referenceDescriptors.copyTo(referenceDescriptors, referenceOffset, 0);
+			chunk.callReferences.copyTo(calls, callOffset, referenceOffset);
+			// A class's calls are added member by member, so counting them is enough to make the ranges
+			for (int i = 0; i < chunk.callMembers.size(); i++) {
+				callStarts[chunk.callMembers.get(i) + memberOffset + 1]++;
+			}
+
+			classOffset += chunk.classNames.size();
+			interfaceOffset += chunk.interfaces.size();
+			memberOffset += chunk.memberNames.size();
+			referenceOffset += chunk.referenceOwners.size();
+			callOffset += chunk.callMembers.size();
+		}
+
+		for (int m = 0; m < memberTotal; m++) {
+			callStarts[m + 1] += callStarts[m];
+		}
+
+		// Every distinct string once, with the classes and members that load it in archive order
+		Map<String, Integer> stringIds = new HashMap<>();
+		List<String> distinct = new ArrayList<>();
+		IntList rowStrings = new IntList(1024);
+		IntList rowClasses = new IntList(1024);
+		IntList rowMembers = new IntList(1024);
+		classOffset = 0;
+		memberOffset = 0;
+		for (Chunk chunk : chunks) {
+			for (int i = 0; i < chunk.stringValues.size(); i++) {
+				String value = chunk.stringValues.get(i);
+				Integer id = stringIds.get(value);
+				if (id == null) {
+					id = distinct.size();
+					stringIds.put(value, id);
+					distinct.add(value);
+				}
+
+				int member = chunk.stringMembers.get(i);
+				rowStrings.add(id);
+				rowClasses.add(chunk.stringClasses.get(i) + classOffset);
+				rowMembers.add(member == -1 ? -1 : member + memberOffset);
+			}
+
+			classOffset += chunk.classNames.size();
+			memberOffset += chunk.memberNames.size();
+		}
+
+		strings = distinct.toArray(String[]::new);
+		stringStarts = new int[strings.length + 1];
+		for (int r = 0; r < rowStrings.size(); r++) {
+			stringStarts[rowStrings.get(r) + 1]++;
+		}
+
+		for (int i = 0; i < strings.length; i++) {
+			stringStarts[i + 1] += stringStarts[i];
+		}
+
+		stringClasses = new int[rowStrings.size()];
+		stringMembers = new int[rowStrings.size()];
+		int[] next = Arrays.copyOf(stringStarts, strings.length);
+		for (int r = 0; r < rowStrings.size(); r++) {
+			int row = next[rowStrings.get(r)]++;
+			stringClasses[row] = rowClasses.get(r);
+			stringMembers[row] = rowMembers.get(r);
+		}
+
+		// A class that is in the archive more than once, e.g. in a multi-release jar, is found by its first copy
+		classesByName = new IntMap(classCount);
+		for (int i = 0; i < classCount; i++) {
+			classesByName.putIfAbsent(classNames[i], i);
+		}
+
+		usages = new InvertedIndex(referenceKinds, referenceOwners, referenceNames);
+		int[] memberClassNames = new int[memberTotal];
+		for (int m = 0; m < memberTotal; m++) {
+			memberClassNames[m] = classNames[memberOwners[m]];
+		}
+
+		declarations = new InvertedIndex(memberKinds, memberClassNames, memberNames);
+	}
+
+	@Override
+	public void markSymbols(@NotNull BitSet symbols) {
+		// The grouped indexes and the classes by name only repeat these
+		for (int[] ids : new int[][]{classNames, classEntries, superNames, interfaces, memberNames, memberDescriptors,
+				referenceOwners, referenceNames, referenceDescriptors}) {
+			for (int id : ids) {
+				if (id != -1) {
+					symbols.set(id);
+				}
+			}
+		}
+	}
+
+	public int getClassCount() {
+		return classCount;
+	}
+
+	/**
+	 * @param name a class's internal name
+	 * @return the class, or {@code -1} if it isn't in the archive
+	 */
+	public int findClass(@NotNull String name) {
+		return findClass(SymbolTable.find(name));
+	}
+
+	/**
+	 * @param name the {@link SymbolTable} id of a class's internal name
+	 * @return the class, or {@code -1} if it isn't in the archive
+	 */
+	public int findClass(int name) {
+		return classesByName.get(name);
+	}
+
+	/**
+	 * @param c the class
+	 * @return the {@link SymbolTable} id of the class's internal name
+	 */
+	public int getClassName(int c) {
+		return classNames[c];
+	}
+
+	/**
+	 * @param c the class
+	 * @return the {@link SymbolTable} id of the class's key in
+	 * {@link com.github.bl3nd.byteview.files.ZipFileContainer#fileEntries}
+	 */
+	public int getClassEntry(int c) {
+		return classEntries[c];
+	}
+
+	/**
+	 * @param c the class
+	 * @return the {@link SymbolTable} id of the super class's internal name, or {@code -1} for {@code java/lang/Object}
+	 */
+	public int getSuperName(int c) {
+		return superNames[c];
+	}
+
+	public int getClassAccess(int c) {
+		return classAccess[c];
+	}
+
+	public int getInterfaceCount(int c) {
+		return interfaceStarts[c + 1] - interfaceStarts[c];
+	}
+
+	/**
+	 * @param c     the class
+	 * @param index which of the class's interfaces
+	 * @return the {@link SymbolTable} id of the interface's internal name
+	 */
+	public int getInterface(int c, int index) {
+		return interfaces[interfaceStarts[c] + index];
+	}
+
+	public int getMemberCount(int c) {
+		return memberStarts[c + 1] - memberStarts[c];
+	}
+
+	/**
+	 * @param c     the class
+	 * @param index which of the class's fields and methods, in class file order
+	 * @return the member
+	 */
+	public int getMember(int c, int index) {
+		return memberStarts[c] + index;
+	}
+
+	/**
+	 * @return how many fields and methods all the classes declare
+	 */
+	public int getMemberTotal() {
+		return memberKinds.length;
+	}
+
+	/**
+	 * Find a field or method a class declares.
+	 *
+	 * @param c          the class
+	 * @param kind       {@link #FIELD} or {@link #METHOD}
+	 * @param name       the {@link SymbolTable} id of the name
+	 * @param descriptor the id of the descriptor
+	 * @return the member, or {@code -1} if the class doesn't declare it
+	 */
+	public int findMember(int c, int kind, int name, int descriptor) {
+		for (int m = memberStarts[c]; m < memberStarts[c + 1]; m++) {
+			if (memberKinds[m] == kind && memberNames[m] == name && memberDescriptors[m] == descriptor) {
+				return m;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @param m the member
+	 * @return the class that declares the member
+	 */
+	public int getMemberOwner(int m) {
+		return memberOwners[m];
+	}
+
+	/**
+	 * @param m the member
+	 * @return {@link #FIELD} or {@link #METHOD}
+	 */
+	public int getMemberKind(int m) {
+		return memberKinds[m];
+	}
+
+	public int getMemberAccess(int m) {
+		return memberAccess[m];
+	}
+
+	public int getMemberName(int m) {
+		return memberNames[m];
+	}
+
+	public int getMemberDescriptor(int m) {
+		return memberDescriptors[m];
+	}
+
+	public int getReferenceCount(int c) {
+		return referenceStarts[c + 1] - referenceStarts[c];
+	}
+
+	/**
+	 * @param c     the class
+	 * @param index which of the class's references, in constant pool order
+	 * @return the reference
+	 */
+	public int getReference(int c, int index) {
+		return referenceStarts[c] + index;
+	}
+
+	/**
+	 * @return how many references all the classes make
+	 */
+	public int getReferenceTotal() {
+		return referenceKinds.length;
+	}
+
+	/**
+	 * @param r the reference
+	 * @return the class the reference is made from
+	 */
+	public int getReferenceSource(int r) {
+		return referenceSources[r];
+	}
+
+	/**
+	 * @param r the reference
+	 * @return {@link #CLASS}, {@link #FIELD} or {@link #METHOD}
+	 */
+	public int getReferenceKind(int r) {
+		return referenceKinds[r];
+	}
+
+	/**
+	 * @param r the reference
+	 * @return the {@link SymbolTable} id of the internal name of the class referred to, or that the member referred to
+	 * is accessed through
+	 */
+	public int getReferenceOwner(int r) {
+		return referenceOwners[r];
+	}
+
+	/**
+	 * @param r the reference
+	 * @return the id of the member's name, or {@code -1} for a class
+	 */
+	public int getReferenceName(int r) {
+		return referenceNames[r];
+	}
+
+	/**
+	 * @param r the reference
+	 * @return the id of the member's descriptor, or {@code -1} for a class
+	 */
+	public int getReferenceDescriptor(int r) {
+		return referenceDescriptors[r];
+	}
+
+	/**
+	 * Find what refers to a class, or to the fields or methods of a name. A member is referred to through the class it
+	 * is accessed on, which isn't always the class that declares it.
+	 *
+	 * @param kind  {@link #CLASS}, {@link #FIELD} or {@link #METHOD}
+	 * @param owner the {@link SymbolTable} id of the class's internal name
+	 * @param name  the id of the member's name, or {@code -1} for a class
+	 * @return the usages' target, or {@code -1} if there are none
+	 */
+	public int findUsages(int kind, int owner, int name) {
+		return usages.find(kind, owner, name);
+	}
+
+	/**
+	 * @param target a target from {@link #findUsages(int, int, int)}
+	 * @return how many references there are to it
+	 */
+	public int getUsageCount(int target) {
+		return usages.getRowCount(target);
+	}
+
+	/**
+	 * @param target a target from {@link #findUsages(int, int, int)}
+	 * @param index  which reference, in class order
+	 * @return the reference
+	 */
+	public int getUsage(int target, int index) {
+		return usages.getRow(target, index);
+	}
+
+	/**
+	 * @return how many distinct string constants the archive's classes have
+	 */
+	public int getStringCount() {
+		return strings.length;
+	}
+
+	/**
+	 * @param s the string constant
+	 * @return its value
+	 */
+	public @NotNull String getString(int s) {
+		return strings[s];
+	}
+
+	/**
+	 * @param s the string constant
+	 * @return how many members, or classes, load it
+	 */
+	public int getStringUsageCount(int s) {
+		return stringStarts[s + 1] - stringStarts[s];
+	}
+
+	/**
+	 * @param s     the string constant
+	 * @param index which use, in archive order
+	 * @return the class that has it
+	 */
+	public int getStringUsageClass(int s, int index) {
+		return stringClasses[stringStarts[s] + index];
+	}
+
+	/**
+	 * @param s     the string constant
+	 * @param index which use, in archive order
+	 * @return the field or method that loads it, or {@code -1} if it is only in the class's constant pool
+	 */
+	public int getStringUsageMember(int s, int index) {
+		return stringMembers[stringStarts[s] + index];
+	}
+
+	/**
+	 * @param m the member
+	 * @return how many distinct methods the member invokes, none for a field
+	 */
+	public int getCallCount(int m) {
+		return callStarts[m + 1] - callStarts[m];
+	}
+
+	/**
+	 * @param m     the member
+	 * @param index which of the methods it invokes, in the order they are first invoked
+	 * @return the reference to the method
+	 */
+	public int getCall(int m, int index) {
+		return calls[callStarts[m] + index];
+	}
+
+	/**
+	 * @return how many member to method calls there are, each counted once however often it is made
+	 */
+	public int getCallTotal() {
+		return calls.length;
+	}
+
+	/**
+	 * Find where a field or method is declared. A member that isn't declared by the class it is accessed on is looked
+	 * for in the class's superclasses and then its interfaces, as far as they are in the archive.
+	 *
+	 * @param kind             {@link #FIELD} or {@link #METHOD}
+	 * @param owner            the {@link SymbolTable} id of the class's internal name
+	 * @param name             the id of the member's name
+	 * @param descriptorPrefix the start of the member's descriptor, e.g. its parameters, or {@code null} for any
+	 * @return the member, or {@code -1} if it isn't declared in the archive
+	 */
+	public int findDeclaration(int kind, int owner, int name, @Nullable String descriptorPrefix) {
+		return findDeclaration(kind, owner, name, descriptorPrefix, 0);
+	}
+
+	private int findDeclaration(int kind, int owner, int name, @Nullable String descriptorPrefix, int depth) {
+		int c = findClass(owner);
+		if (c == -1 || depth > MAX_HIERARCHY_DEPTH) {
+			return -1;
+		}
+
+		int key = declarations.find(kind, owner, name);
+		if (key != -1) {
+			for (int i = 0; i < declarations.getRowCount(key); i++) {
+				int m = declarations.getRow(key, i);
+				if (memberOwners[m] == c && (descriptorPrefix == null
+						|| SymbolTable.get(memberDescriptors[m]).startsWith(descriptorPrefix))) {
+					return m;
+				}
+			}
+		}
+
+		if (superNames[c] != -1) {
+			int m = findDeclaration(kind, superNames[c], name, descriptorPrefix, depth + 1);
+			if (m != -1) {
+				return m;
+			}
+		}
+
+		for (int i = interfaceStarts[c]; i < interfaceStarts[c + 1]; i++) {
+			int m = findDeclaration(kind, interfaces[i], name, descriptorPrefix, depth + 1);
+			if (m != -1) {
+				return m;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * The classes a worker scanned, in archive order. Ranges are relative to the chunk until it is merged.
+	 */
+	static final class Chunk {
+		private final IntList classNames = new IntList();
+		private final IntList classEntries = new IntList();
+		private final IntList superNames = new IntList();
+		private final IntList classAccess = new IntList();
+		private final IntList interfaceEnds = new IntList();
+		private final IntList memberEnds = new IntList();
+		private final IntList referenceEnds = new IntList();
+		private final IntList interfaces = new IntList();
+		private final IntList memberOwners = new IntList(256);
+		private final IntList memberKinds = new IntList(256);
+		private final IntList memberAccess = new IntList(256);
+		private final IntList memberNames = new IntList(256);
+		private final IntList memberDescriptors = new IntList(256);
+		private final IntList referenceSources = new IntList(1024);
+		private final IntList referenceKinds = new IntList(1024);
+		private final IntList referenceOwners = new IntList(1024);
+		private final IntList referenceNames = new IntList(1024);
+		private final IntList referenceDescriptors = new IntList(1024);
+		private final List<String> stringValues = new ArrayList<>(1024);
+		private final IntList stringClasses = new IntList(1024);
+		private final IntList stringMembers = new IntList(1024);
+		private final IntList callMembers = new IntList(1024);
+		private final IntList callReferences = new IntList(1024);
+
+		private int interfaceMark;
+		private int memberMark;
+		private int referenceMark;
+		private int stringMark;
+		private int callMark;
+		private boolean open;
+
+		void startClass(int entry, int name, int superName, int access) {
+			classNames.add(name);
+			classEntries.add(entry);
+			superNames.add(superName);
+			classAccess.add(access);
+			open = true;
+		}
+
+		void addInterface(int name) {
+			interfaces.add(name);
+		}
+
+		/**
+		 * @return the member, relative to the chunk
+		 */
+		int addMember(int kind, int access, int name, int descriptor) {
+			memberOwners.add(classNames.size() - 1);
+			memberKinds.add(kind);
+			memberAccess.add(access);
+			memberNames.add(name);
+			memberDescriptors.add(descriptor);
+			return memberNames.size() - 1;
+		}
+
+		/**
+		 * @return the reference, relative to the chunk
+		 */
+		int addReference(int kind, int owner, int name, int descriptor) {
+			referenceSources.add(classNames.size() - 1);
+			referenceKinds.add(kind);
+			referenceOwners.add(owner);
+			referenceNames.add(name);
+			referenceDescriptors.add(descriptor);
+			return referenceOwners.size() - 1;
+		}
+
+		/**
+		 * @param member the member that loads it, relative to the chunk, or {@code -1} for the class
+		 */
+		void addString(@NotNull String value, int member) {
+			stringValues.add(value);
+			stringClasses.add(classNames.size() - 1);
+			stringMembers.add(member);
+		}
+
+		/**
+		 * Add a method a member invokes. A class's calls have to be added in the order of its members.
+		 *
+		 * @param member    the member, relative to the chunk
+		 * @param reference the reference to the method, relative to the chunk
+		 */
+		void addCall(int member, int reference) {
+			callMembers.add(member);
+			callReferences.add(reference);
+		}
+
+		void endClass() {
+			interfaceEnds.add(interfaces.size());
+			memberEnds.add(memberNames.size());
+			referenceEnds.add(referenceOwners.size());
+			interfaceMark = interfaces.size();
+			memberMark = memberNames.size();
+			referenceMark = referenceOwners.size();
+			stringMark = stringValues.size();
+			callMark = callMembers.size();
+			open = false;
+		}
+
+		/**
+		 * Drop whatever was added for a class that turned out to be malformed.
+		 */
+		void discardClass() {
+			if (open) {
+				classNames.truncate(classNames.size() - 1);
+				classEntries.truncate(classNames.size());
+				superNames.truncate(classNames.size());
+				classAccess.truncate(classNames.size());
+				open = false;
+			}
+
+			interfaces.truncate(interfaceMark);
+			memberOwners.truncate(memberMark);
+			memberKinds.truncate(memberMark);
+			memberAccess.truncate(memberMark);
+			memberNames.truncate(memberMark);
+			memberDescriptors.truncate(memberMark);
+			referenceSources.truncate(referenceMark);
+			referenceKinds.truncate(referenceMark);
+			referenceOwners.truncate(referenceMark);
+			referenceNames.truncate(referenceMark);
+			referenceDescriptors.truncate(referenceMark);
+			stringValues.subList(stringMark, stringValues.size()).clear();
+			stringClasses.truncate(stringMark);
+			stringMembers.truncate(stringMark);
+			callMembers.truncate(callMark);
+			callReferences.truncate(callMark);
+		}
+	}
+}
@@ -0,0 +1,296 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Which methods of an archive call which, from the invoke instructions its {@link ArchiveIndex} found, so callers and
+ * callees are found without decompiling anything.
+ * <p>
+ * A method is numbered by its member in the index, and methods that are called but not declared in the archive, like
+ * those of the JDK, are numbered after the members. A call is made to the method the compiler wrote down, which is
+ * looked for in the class it is invoked on and then up that class's hierarchy, so calls to an overriding method
+ * aren't callers of the method it overrides. A method's callees and its callers are each a contiguous range of an int
+ * array, four bytes per call in each direction. Resolving the calls is done in parallel, one reference at a time.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public final class CallGraph {
+	private final ArchiveIndex index;
+	private final int memberCount;
+	private final int methodCount;
+	private final int[] externalOwners;
+	private final int[] externalNames;
+	private final int[] externalDescriptors;
+	private final Map<Method, Integer> externals;
+	private final int[] calleeStarts;
+	private final int[] callees;
+	private final int[] callerStarts;
+	private final int[] callers;
+
+	/**
+	 * A method that isn't declared in the archive.
+	 */
+	private record Method(int owner, int name, int descriptor) {
+	}
+
+	/**
+	 * Build the call graph of an archive.
+	 *
+	 * @param index the archive's index
+	 */
+	public CallGraph(@NotNull ArchiveIndex index) {
+		this.index = index;
+		memberCount = index.getMemberTotal();
+
+		// Every method reference is resolved once, however many calls there are through it
+		int[] targets = new int[index.getReferenceTotal()];
+		IntStream.range(0, targets.length).parallel().forEach(r -> {
+			if (index.getReferenceKind(r) == ArchiveIndex.METHOD) {
+				targets[r] = index.findDeclaration(ArchiveIndex.METHOD, index.getReferenceOwner(r),
+						index.getReferenceName(r), SymbolTable.get(index.getReferenceDescriptor(r)));
+			} else {
+				targets[r] = -1;
+			}
+		});
+
+		externals = new HashMap<>();
+		IntList owners = new IntList();
+		IntList names = new IntList();
+		IntList descriptors = new IntList();
+		for (int r = 0; r < targets.length; r++) {
+			if (index.getReferenceKind(r) != ArchiveIndex.METHOD || targets[r] != -1) {
+				continue;
+			}
+
+			Method method = new Method(index.getReferenceOwner(r), index.getReferenceName(r),
+					index.getReferenceDescriptor(r));
+			Integer external = externals.putIfAbsent(method, owners.size());
+			if (external == null) {
+				external = owners.size();
+				owners.add(method.owner());
+				names.add(method.name());
+				descriptors.add(method.descriptor());
+			}
+
+			targets[r] = memberCount + external;
+		}
+
+		externalOwners = toArray(owners);
+		externalNames = toArray(names);
+		externalDescriptors = toArray(descriptors);
+		methodCount = memberCount + externalOwners.length;
+
+		// Calls through different references can end up at the same method, e.g. through a class and its subclass
+		calleeStarts = new int[methodCount + 1];
+		IntList edges = new IntList(index.getCallTotal());
+		int[] lastCaller = new int[methodCount];
+		Arrays.fill(lastCaller, -1);
+		for (int m = 0; m < memberCount; m++) {
+			calleeStarts[m] = edges.size();
+			for (int i = 0; i < index.getCallCount(m); i++) {
+				int target = targets[index.getCall(m, i)];
+				if (lastCaller[target] != m) {
+					lastCaller[target] = m;
+					edges.add(target);
+				}
+			}
+		}
+
+		Arrays.fill(calleeStarts, memberCount, methodCount + 1, edges.size());
+		callees = toArray(edges);
+
+		callerStarts = new int[methodCount + 1];
+		for (int callee : callees) {
+			callerStarts[callee + 1]++;
+		}
+
+		for (int i = 0; i < methodCount; i++) {
+			callerStarts[i + 1] += callerStarts[i];
+		}
+
+		callers = new int[callees.length];
+		int[] next = Arrays.copyOf(callerStarts, methodCount);
+		for (int m = 0; m < memberCount; m++) {
+			for (int e = calleeStarts[m]; e < calleeStarts[m + 1]; e++) {
+				callers[next[callees[e]]++] = m;
+			}
+		}
+	}
+
+	/**
+	 * @return how many methods there are, declared in the archive or not
+	 */
+	public int getMethodCount() {
+		return methodCount;
+	}
+
+	/**
+	 * Find a method the way a call to it is resolved.
+	 *
+	 * @param owner      the {@link SymbolTable} id of the internal name of the class it is invoked on
+	 * @param name       the id of the method's name
+	 * @param descriptor the id of the method's descriptor
+	 * @return the method, or {@code -1} if the archive neither declares nor calls it
+	 */
+	public int findMethod(int owner, int name, int descriptor) {
+		int member = index.findDeclaration(ArchiveIndex.METHOD, owner, name, SymbolTable.get(descriptor));
+		if (member != -1) {
+			return member;
+		}
+
+		Integer external = externals.get(new Method(owner, name, descriptor));
+		return external != null ? memberCount + external : -1;
+	}
+
+	/**
+	 * Find the method a reference from a decompiled class is to, whose owner and descriptor may only be partly known.
+	 *
+	 * @param reference the method
+	 * @return the method, or {@code -1} if the archive neither declares nor calls it
+	 */
+	public int findMethod(@NotNull MemberReference reference) {
+		int name = SymbolTable.find(reference.name());
+		String descriptorPrefix = reference.descriptorPrefix();
+		for (int owner : reference.getOwners(index)) {
+			int member = index.findDeclaration(ArchiveIndex.METHOD, owner, name, descriptorPrefix);
+			if (member != -1) {
+				return member;
+			}
+
+			for (int e = 0; e < externalOwners.length; e++) {
+				if (externalOwners[e] == owner && externalNames[e] == name && (descriptorPrefix == null
+						|| SymbolTable.get(externalDescriptors[e]).startsWith(descriptorPrefix))) {
+					return memberCount + e;
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Find the methods the archive calls but doesn't declare that have a name and descriptor, whichever class they are
+	 * invoked on. A class from another archive can inherit the method it is looking for.
+	 *
+	 * @param name       the id of the method's name
+	 * @param descriptor the id of the method's descriptor
+	 * @return the methods
+	 */
+	public int @NotNull [] findExternals(int name, int descriptor) {
+		IntList found = new IntList();
+		for (int e = 0; e < externalOwners.length; e++) {
+			if (externalNames[e] == name && externalDescriptors[e] == descriptor) {
+				found.add(memberCount + e);
+			}
+		}
+
+		return toArray(found);
+	}
+
+	/**
+	 * @param method the method
+	 * @return its member in the {@link ArchiveIndex}, or {@code -1} if it isn't declared in the archive
+	 */
+	public int getMember(int method) {
+		return method < memberCount ? method : -1;
+	}
+
+	/**
+	 * @param method the method
+	 * @return the {@link SymbolTable} id of the internal name of the class that declares it, or that it is invoked on
+	 * if it isn't declared in the archive
+	 */
+	public int getOwner(int method) {
+		return method < memberCount ? index.getClassName(index.getMemberOwner(method))
+				: externalOwners[method - memberCount];
+	}
+
+	/**
+	 * @param method the method
+	 * @return the key in {@link com.github.bl3nd.byteview.files.ZipFileContainer#fileEntries} of the class that
+	 * declares it, or {@code null} if it isn't declared in the archive
+	 */
+	public @Nullable String getEntry(int method) {
+		return method < memberCount ? SymbolTable.get(index.getClassEntry(index.getMemberOwner(method))) : null;
+	}
+
+	/**
+	 * @param method the method
+	 * @return the {@link SymbolTable} id of its name
+	 */
+	public int getName(int method) {
+		return method < memberCount ? index.getMemberName(method) : externalNames[method - memberCount];
+	}
+
+	/**
+	 * @param method the method
+	 * @return the {@link SymbolTable} id of its descriptor
+	 */
+	public int getDescriptor(int method) {
+		return method < memberCount ? index.getMemberDescriptor(method) : externalDescriptors[method - memberCount];
+	}
+
+	public int getCalleeCount(int method) {
+		return calleeStarts[method + 1] - calleeStarts[method];
+	}
+
+	/**
+	 * @param method the method
+	 * @param index  which of the methods it calls, in the order they are first called
+	 * @return the callee
+	 */
+	public int getCallee(int method, int index) {
+		return callees[calleeStarts[method] + index];
+	}
+
+	public int getCallerCount(int method) {
+		return callerStarts[method + 1] - callerStarts[method];
+	}
+
+	/**
+	 * @param method the method
+	 * @param index  which of the methods that call it, in archive order
+	 * @return the caller, always declared in the archive
+	 */
+	public int getCaller(int method, int index) {
+		return callers[callerStarts[method] + index];
+	}
+
+	private static int[] toArray(IntList list) {
+		int[] array = new int[list.size()];
+		list.copyTo(array, 0, 0);
+		return array;
+	}
+}
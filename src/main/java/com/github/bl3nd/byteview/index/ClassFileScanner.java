@@ -0,0 +1,505 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads what the archive index needs straight out of a class file: the class's name, super class, interfaces, fields
+ * and methods, the classes, fields and methods its constant pool refers to, its string constants and which methods
+ * each method calls. Code is only walked for the strings it loads and the methods it invokes, other attributes are
+ * skipped, and only the UTF-8 constants that end up in the index are decoded.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+final class ClassFileScanner {
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final int UTF8 = 1;
+	private static final int INTEGER = 3;
+	private static final int FLOAT = 4;
+	private static final int LONG = 5;
+	private static final int DOUBLE = 6;
+	private static final int CLASS = 7;
+	private static final int STRING = 8;
+	private static final int FIELD_REF = 9;
+	private static final int METHOD_REF = 10;
+	private static final int INTERFACE_METHOD_REF = 11;
+	private static final int NAME_AND_TYPE = 12;
+	private static final int METHOD_HANDLE = 15;
+	private static final int METHOD_TYPE = 16;
+	private static final int DYNAMIC = 17;
+	private static final int INVOKE_DYNAMIC = 18;
+	private static final int MODULE = 19;
+	private static final int PACKAGE = 20;
+
+	private static final int LDC = 0x12;
+	private static final int LDC_W = 0x13;
+	private static final int TABLESWITCH = 0xAA;
+	private static final int LOOKUPSWITCH = 0xAB;
+	private static final int WIDE = 0xC4;
+	private static final int IINC = 0x84;
+	private static final int INVOKEVIRTUAL = 0xB6;
+	private static final int INVOKESPECIAL = 0xB7;
+	private static final int INVOKESTATIC = 0xB8;
+	private static final int INVOKEINTERFACE = 0xB9;
+
+	/**
+	 * How many bytes each instruction takes, 0 for the ones whose length varies or that don't exist.
+	 */
+	private static final byte[] INSTRUCTION_LENGTHS = new byte[256];
+
+	static {
+		Arrays.fill(INSTRUCTION_LENGTHS, 0, 0xCA, (byte) 1);
+		for (int opcode : new int[]{0x10, 0x12, 0x15, 0x16, 0x17, 0x18, 0x19, 0x36, 0x37, 0x38, 0x39, 0x3A, 0xA9,
+				0xBC}) {
+			INSTRUCTION_LENGTHS[opcode] = 2;
+		}
+
+		for (int opcode = 0x99; opcode <= 0xA8; opcode++) {
+			INSTRUCTION_LENGTHS[opcode] = 3;
+		}
+
+		for (int opcode = 0xB2; opcode <= 0xB8; opcode++) {
+			INSTRUCTION_LENGTHS[opcode] = 3;
+		}
+
+		for (int opcode : new int[]{0x11, 0x13, 0x14, 0x84, 0xBB, 0xBD, 0xC0, 0xC1, 0xC6, 0xC7}) {
+			INSTRUCTION_LENGTHS[opcode] = 3;
+		}
+
+		INSTRUCTION_LENGTHS[0xC5] = 4;
+		for (int opcode : new int[]{0xB9, 0xBA, 0xC8, 0xC9}) {
+			INSTRUCTION_LENGTHS[opcode] = 5;
+		}
+
+		INSTRUCTION_LENGTHS[TABLESWITCH] = 0;
+		INSTRUCTION_LENGTHS[LOOKUPSWITCH] = 0;
+		INSTRUCTION_LENGTHS[WIDE] = 0;
+	}
+
+	private final byte[] bytes;
+	private int[] offsets;
+	private byte[] tags;
+	private int[] symbols;
+	private String[] strings;
+	/**
+	 * The member that last loaded each string constant, {@code -2} if none did.
+	 */
+	private int[] stringMembers;
+	/**
+	 * The member that last invoked each method constant, {@code -2} if none did.
+	 */
+	private int[] callers;
+	/**
+	 * Each member reference's index in the chunk, {@code -1} if it isn't in it.
+	 */
+	private int[] references;
+	private final IntList callMembers = new IntList();
+	private final IntList callConstants = new IntList();
+
+	private ClassFileScanner(byte[] bytes) {
+		this.bytes = bytes;
+	}
+
+	/**
+	 * Scan a class file into a chunk of the index.
+	 *
+	 * @param bytes the class file
+	 * @param entry the {@link SymbolTable} id of the class's entry in the archive
+	 * @param chunk the chunk to add the class to
+	 * @throws IOException when the bytes are not a class file the scanner understands
+	 */
+	static void scan(byte @NotNull [] bytes, int entry, @NotNull ArchiveIndex.Chunk chunk) throws IOException {
+		try {
+			new ClassFileScanner(bytes).scan(entry, chunk);
+		} catch (IndexOutOfBoundsException e) {
+			throw new IOException("Truncated class file", e);
+		}
+	}
+
+	private void scan(int entry, ArchiveIndex.Chunk chunk) throws IOException {
+		if (readInt(0) != MAGIC) {
+			throw new IOException("Not a class file");
+		}
+
+		int position = readConstantPool();
+		int access = readUnsignedShort(position);
+		int self = readUnsignedShort(position + 2);
+		int name = getClassName(self);
+		if (name == -1) {
+			throw new IOException("Class without a name");
+		}
+
+		int superClass = readUnsignedShort(position + 4);
+		chunk.startClass(entry, name, superClass == 0 ? -1 : getClassName(superClass), access);
+
+		int interfaceCount = readUnsignedShort(position + 6);
+		position += 8;
+		for (int i = 0; i < interfaceCount; i++) {
+			chunk.addInterface(getClassName(readUnsignedShort(position)));
+			position += 2;
+		}
+
+		position = readMembers(position, ArchiveIndex.FIELD, chunk);
+		readMembers(position, ArchiveIndex.METHOD, chunk);
+
+		// Strings no member loads, e.g. bootstrap method arguments, belong to the class
+		for (int i = 1; i < tags.length; i++) {
+			if (tags[i] == STRING && stringMembers[i] == -2) {
+				chunk.addString(getString(i), -1);
+			}
+		}
+
+		// Everything the constant pool refers to, except the class itself
+		for (int i = 1; i < tags.length; i++) {
+			switch (tags[i]) {
+				case CLASS -> {
+					if (i != self) {
+						int type = getClassName(i);
+						if (type != -1) {
+							chunk.addReference(ArchiveIndex.CLASS, type, -1, -1);
+						}
+					}
+				}
+				case FIELD_REF -> references[i] = addMemberReference(ArchiveIndex.FIELD, i, chunk);
+				case METHOD_REF, INTERFACE_METHOD_REF ->
+						references[i] = addMemberReference(ArchiveIndex.METHOD, i, chunk);
+			}
+		}
+
+		// The calls are only added now that the methods they invoke are references, in the order they were found
+		for (int i = 0; i < callMembers.size(); i++) {
+			int reference = references[callConstants.get(i)];
+			if (reference != -1) {
+				chunk.addCall(callMembers.get(i), reference);
+			}
+		}
+
+		chunk.endClass();
+	}
+
+	/**
+	 * Note where every constant is, without decoding any of them.
+	 *
+	 * @return the position just after the constant pool
+	 */
+	private int readConstantPool() throws IOException {
+		int count = readUnsignedShort(8);
+		offsets = new int[count];
+		tags = new byte[count];
+		symbols = new int[count];
+		strings = new String[count];
+		stringMembers = new int[count];
+		callers = new int[count];
+		references = new int[count];
+		Arrays.fill(references, -1);
+		int position = 10;
+		for (int i = 1; i < count; i++) {
+			int tag = bytes[position] & 0xFF;
+			tags[i] = (byte) tag;
+			offsets[i] = position + 1;
+			symbols[i] = -2;
+			stringMembers[i] = -2;
+			callers[i] = -2;
+			position += 1 + switch (tag) {
+				case UTF8 -> 2 + readUnsignedShort(position + 1);
+				case CLASS, STRING, METHOD_TYPE, MODULE, PACKAGE -> 2;
+				case METHOD_HANDLE -> 3;
+				case INTEGER, FLOAT, FIELD_REF, METHOD_REF, INTERFACE_METHOD_REF, NAME_AND_TYPE, DYNAMIC,
+					 INVOKE_DYNAMIC -> 4;
+				case LONG, DOUBLE -> 8;
+				default -> throw new IOException("Unknown constant pool tag " + tag);
+			};
+
+			// Longs and doubles take up two entries
+			if (tag == LONG || tag == DOUBLE) {
+				i++;
+			}
+		}
+
+		return position;
+	}
+
+	/**
+	 * @return the position just after the members
+	 */
+	private int readMembers(int position, int kind, ArchiveIndex.Chunk chunk) throws IOException {
+		int count = readUnsignedShort(position);
+		position += 2;
+		for (int i = 0; i < count; i++) {
+			int access = readUnsignedShort(position);
+			int name = getUtf8(readUnsignedShort(position + 2));
+			int descriptor = getUtf8(readUnsignedShort(position + 4));
+			int member = chunk.addMember(kind, access, name, descriptor);
+
+			int attributeCount = readUnsignedShort(position + 6);
+			position += 8;
+			for (int j = 0; j < attributeCount; j++) {
+				int attributeName = readUnsignedShort(position);
+				if (kind == ArchiveIndex.FIELD && isUtf8(attributeName, "ConstantValue")) {
+					addString(readUnsignedShort(position + 6), member, chunk);
+				} else if (kind == ArchiveIndex.METHOD && isUtf8(attributeName, "Code")) {
+					readCode(position + 6, member, chunk);
+				}
+
+				position += 6 + readInt(position + 2);
+			}
+		}
+
+		return position;
+	}
+
+	/**
+	 * Walk a method's code for the string constants it loads and the methods it invokes.
+	 *
+	 * @param position where the code attribute's contents start
+	 */
+	private void readCode(int position, int member, ArchiveIndex.Chunk chunk) throws IOException {
+		int length = readInt(position + 4);
+		int code = position + 8;
+		int end = code + length;
+		if (length < 0 || end > bytes.length) {
+			throw new IOException("Invalid code length");
+		}
+
+		int pc = code;
+		while (pc < end) {
+			int opcode = bytes[pc] & 0xFF;
+			int next = switch (opcode) {
+				case LDC -> {
+					addString(bytes[pc + 1] & 0xFF, member, chunk);
+					yield pc + 2;
+				}
+				case LDC_W -> {
+					addString(readUnsignedShort(pc + 1), member, chunk);
+					yield pc + 3;
+				}
+				case TABLESWITCH -> {
+					// The operands are aligned to 4 bytes from the start of the code
+					int operands = pc + 1 + (3 - (pc - code) % 4);
+					long cases = (long) readInt(operands + 8) - readInt(operands + 4) + 1;
+					yield (int) Math.min(Integer.MAX_VALUE, operands + 12 + cases * 4);
+				}
+				case LOOKUPSWITCH -> {
+					int operands = pc + 1 + (3 - (pc - code) % 4);
+					long pairs = readInt(operands + 4);
+					yield (int) Math.min(Integer.MAX_VALUE, operands + 8 + pairs * 8);
+				}
+				case INVOKEVIRTUAL, INVOKESPECIAL, INVOKESTATIC, INVOKEINTERFACE -> {
+					addCall(readUnsignedShort(pc + 1), member);
+					yield pc + INSTRUCTION_LENGTHS[opcode];
+				}
+				case WIDE -> pc + ((bytes[pc + 1] & 0xFF) == IINC ? 6 : 4);
+				default -> pc + INSTRUCTION_LENGTHS[opcode];
+			};
+
+			if (next <= pc) {
+				throw new IOException("Invalid instruction " + opcode);
+			}
+
+			pc = next;
+		}
+	}
+
+	/**
+	 * Add a string constant that a member loads, once per member.
+	 */
+	private void addString(int index, int member, ArchiveIndex.Chunk chunk) throws IOException {
+		if (!is(index, STRING) || stringMembers[index] == member) {
+			return;
+		}
+
+		stringMembers[index] = member;
+		chunk.addString(getString(index), member);
+	}
+
+	/**
+	 * Note a method a member invokes, once per member. Invoking anything but a method constant is left to the verifier.
+	 */
+	private void addCall(int index, int member) {
+		if (!(is(index, METHOD_REF) || is(index, INTERFACE_METHOD_REF)) || callers[index] == member) {
+			return;
+		}
+
+		callers[index] = member;
+		callMembers.add(member);
+		callConstants.add(index);
+	}
+
+	/**
+	 * Decode a string constant, once per class file. Strings aren't interned, there are too many of them that are
+	 * only used once.
+	 */
+	private @NotNull String getString(int index) throws IOException {
+		String string = strings[index];
+		if (string == null) {
+			int utf8 = readUnsignedShort(offsets[index]);
+			if (!is(utf8, UTF8)) {
+				throw new IOException("Expected a UTF-8 constant at " + utf8);
+			}
+
+			string = strings[index] = decodeUtf8(offsets[utf8]);
+		}
+
+		return string;
+	}
+
+	/**
+	 * Compare a UTF-8 constant to an ASCII string without decoding it.
+	 */
+	private boolean isUtf8(int index, @NotNull String ascii) {
+		if (!is(index, UTF8) || readUnsignedShort(offsets[index]) != ascii.length()) {
+			return false;
+		}
+
+		int offset = offsets[index] + 2;
+		for (int i = 0; i < ascii.length(); i++) {
+			if (bytes[offset + i] != ascii.charAt(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return the reference, relative to the chunk, or {@code -1} if it isn't added
+	 */
+	private int addMemberReference(int kind, int index, ArchiveIndex.Chunk chunk) throws IOException {
+		int ownerIndex = readUnsignedShort(offsets[index]);
+		int nameAndType = readUnsignedShort(offsets[index] + 2);
+		if (!is(ownerIndex, CLASS) || !is(nameAndType, NAME_AND_TYPE)) {
+			throw new IOException("Invalid member reference at " + index);
+		}
+
+		// e.g. clone() on an array, which isn't a member of the element class
+		if (isArray(ownerIndex)) {
+			return -1;
+		}
+
+		int owner = getClassName(ownerIndex);
+
+		int name = getUtf8(readUnsignedShort(offsets[nameAndType]));
+		int descriptor = getUtf8(readUnsignedShort(offsets[nameAndType] + 2));
+		return chunk.addReference(kind, owner, name, descriptor);
+	}
+
+	/**
+	 * Get the internal name of a class constant. An array class is its element class, and an array of primitives is
+	 * no class at all.
+	 *
+	 * @return the name's {@link SymbolTable} id, or {@code -1}
+	 */
+	private int getClassName(int index) throws IOException {
+		if (!is(index, CLASS)) {
+			throw new IOException("Expected a class constant at " + index);
+		}
+
+		int nameIndex = readUnsignedShort(offsets[index]);
+		if (!isArray(index)) {
+			return getUtf8(nameIndex);
+		}
+
+		String descriptor = SymbolTable.get(getUtf8(nameIndex));
+		int start = descriptor.lastIndexOf('[') + 1;
+		if (descriptor.charAt(start) != 'L') {
+			return -1;
+		}
+
+		return SymbolTable.intern(descriptor.substring(start + 1, descriptor.length() - 1));
+	}
+
+	private boolean isArray(int classIndex) throws IOException {
+		int nameIndex = readUnsignedShort(offsets[classIndex]);
+		if (!is(nameIndex, UTF8)) {
+			throw new IOException("Expected a UTF-8 constant at " + nameIndex);
+		}
+
+		return readUnsignedShort(offsets[nameIndex]) > 0 && bytes[offsets[nameIndex] + 2] == '[';
+	}
+
+	/**
+	 * Decode and intern a UTF-8 constant, once per class file.
+	 *
+	 * @return the {@link SymbolTable} id
+	 */
+	private int getUtf8(int index) throws IOException {
+		if (!is(index, UTF8)) {
+			throw new IOException("Expected a UTF-8 constant at " + index);
+		}
+
+		int symbol = symbols[index];
+		if (symbol == -2) {
+			symbol = SymbolTable.intern(decodeUtf8(offsets[index]));
+			symbols[index] = symbol;
+		}
+
+		return symbol;
+	}
+
+	/**
+	 * Decode the modified UTF-8 the class file format uses.
+	 */
+	private @NotNull String decodeUtf8(int offset) throws IOException {
+		int length = readUnsignedShort(offset);
+		int position = offset + 2;
+		int end = position + length;
+		char[] chars = new char[length];
+		int count = 0;
+		while (position < end) {
+			int b = bytes[position++] & 0xFF;
+			if (b < 0x80) {
+				chars[count++] = (char) b;
+			} else if ((b & 0xE0) == 0xC0) {
+				chars[count++] = (char) ((b & 0x1F) << 6 | bytes[position++] & 0x3F);
+			} else if ((b & 0xF0) == 0xE0) {
+				chars[count++] = (char) ((b & 0x0F) << 12 | (bytes[position++] & 0x3F) << 6 | bytes[position++] & 0x3F);
+			} else {
+				throw new IOException("Malformed UTF-8 constant");
+			}
+		}
+
+		return new String(chars, 0, count);
+	}
+
+	private boolean is(int index, int tag) {
+		return index > 0 && index < tags.length && tags[index] == tag;
+	}
+
+	private int readUnsignedShort(int position) {
+		return (bytes[position] & 0xFF) << 8 | bytes[position + 1] & 0xFF;
+	}
+
+	private int readInt(int position) {
+		return (bytes[position] & 0xFF) << 24 | (bytes[position + 1] & 0xFF) << 16 | (bytes[position + 2] & 0xFF) << 8
+				| bytes[position + 3] & 0xFF;
+	}
+}
@@ -0,0 +1,384 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.files.FileContainer;
+import com.github.bl3nd.byteview.files.ZipFileContainer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The names of the classes in every loaded archive, to go to a class by typing part of its name.
+ * <p>
+ * Each archive gets its own {@link NameSuffixArray}s over its classes' simple names, built in the background once
+ * the archive is loaded and dropped when it is removed, so nothing else has to be rebuilt. One has every suffix, the
+ * other only those that start a hump, which is where the better matches are. A query matches a name that
+ * contains it, ignoring case, or whose humps start with the query's humps, like {@code NPE} or {@code NuPoEx} for
+ * {@code NullPointerException}. Anything before the last {@code .} or {@code /} has to be in the package. Only the
+ * best {@value #MAX_RESULTS} matches are returned, exact names first, then prefixes, then the rest, shorter names
+ * first.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public final class ClassNameIndex {
+	private static final int MAX_RESULTS = 200;
+	private static final int EXACT = 1;
+	private static final int PREFIX = 2;
+	private static final int HUMP = 3;
+	private static final int CAMEL_HUMPS = 4;
+	private static final int SUBSTRING = 5;
+	private static final int RANKS = 6;
+
+	private static final Map<ZipFileContainer, CompletableFuture<Segment>> segments = new ConcurrentHashMap<>();
+
+	private ClassNameIndex() {
+	}
+
+	/**
+	 * A class whose name matches.
+	 *
+	 * @param archive    the archive the class is in
+	 * @param className  the class's internal name
+	 * @param simpleName the class's name without its package and outer classes
+	 * @param rank       how well it matches, lower is better
+	 */
+	public record Result(@NotNull ZipFileContainer archive, @NotNull String className, @NotNull String simpleName,
+						 int rank) {
+		/**
+		 * @return the class's container, or {@code null} if it is no longer in the archive
+		 */
+		public @Nullable ClassFileContainer getContainer() {
+			return archive.fileEntries.get(className) instanceof ClassFileContainer container ? container : null;
+		}
+	}
+
+	/**
+	 * The classes of one archive, sorted by their simple names.
+	 */
+	private record Segment(ZipFileContainer archive, String[] classNames, String[] simpleNames, String[] packageNames,
+						   byte[] lengths, int[] initials, NameSuffixArray names, NameSuffixArray humps) {
+	}
+
+	/**
+	 * Index the classes of an archive in the background, replacing what was indexed for it before. The archive's
+	 * entries are listed right away, so this has to be called on the thread that adds them.
+	 *
+	 * @param archive the archive
+	 * @return a future that completes once the archive's classes can be found
+	 */
+	public static @NotNull CompletableFuture<Void> add(@NotNull ZipFileContainer archive) {
+		List<String> classNames = new ArrayList<>();
+		for (Map.Entry<String, FileContainer> entry : archive.fileEntries.entrySet()) {
+			if (entry.getValue() instanceof ClassFileContainer && !entry.getKey().startsWith("META-INF/")
+					&& getSimpleName(entry.getKey()) != null) {
+				classNames.add(entry.getKey());
+			}
+		}
+
+		CompletableFuture<Segment> segment = CompletableFuture.supplyAsync(() -> build(archive, classNames));
+		segments.put(archive, segment);
+		return segment.thenApply(_ -> null);
+	}
+
+	/**
+	 * Stop finding an archive's classes.
+	 *
+	 * @param archive the archive
+	 */
+	public static void remove(@NotNull ZipFileContainer archive) {
+		segments.remove(archive);
+	}
+
+	/**
+	 * @return how many classes can be found
+	 */
+	public static int getClassCount() {
+		int count = 0;
+		for (CompletableFuture<Segment> segment : segments.values()) {
+			Segment s = segment.getNow(null);
+			if (s != null) {
+				count += s.classNames.length;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Find the classes whose names match a query, in the archives that are indexed so far.
+	 *
+	 * @param query the query
+	 * @return the best matches, best first
+	 */
+	public static @NotNull List<Result> find(@NotNull String query) {
+		query = query.strip();
+		int separator = Math.max(query.lastIndexOf('.'), query.lastIndexOf('/'));
+		String packageName = separator == -1 ? null : NameSuffixArray.toLowerCase(
+				query.substring(0, separator).replace('.', '/'));
+		String name = query.substring(separator + 1);
+		List<Result> results = new ArrayList<>();
+		if (name.isEmpty()) {
+			return results;
+		}
+
+		String[] humps = getHumps(name);
+		for (CompletableFuture<Segment> segment : segments.values()) {
+			Segment s = segment.getNow(null);
+			if (s != null) {
+				find(s, NameSuffixArray.toLowerCase(name), humps, packageName, results);
+			}
+		}
+
+		results.sort(Comparator.comparingInt(Result::rank)
+				.thenComparingInt(result -> result.simpleName().length())
+				.thenComparing(Result::simpleName, String.CASE_INSENSITIVE_ORDER)
+				.thenComparing(Result::className));
+		return results.size() > MAX_RESULTS ? new ArrayList<>(results.subList(0, MAX_RESULTS)) : results;
+	}
+
+	private static void find(Segment segment, String lowerCase, String[] humps, @Nullable String packageName,
+							 List<Result> results) {
+		String[] simpleNames = segment.simpleNames;
+		byte[] ranks = new byte[simpleNames.length];
+		IntList matches = new IntList();
+		segment.humps.find(lowerCase, (name, offset) -> rank(ranks, matches, name,
+				offset != 0 ? HUMP : simpleNames[name].length() == lowerCase.length() ? EXACT : PREFIX));
+		if (humps.length > 1) {
+			int initials = getInitials(humps);
+			segment.humps.find(NameSuffixArray.toLowerCase(humps[0]), (name, offset) -> {
+				if ((segment.initials[name] & initials) == initials && matchesHumps(simpleNames[name], offset, humps)) {
+					rank(ranks, matches, name, CAMEL_HUMPS);
+				}
+			});
+		}
+
+		// A name that contains the query elsewhere can only be one of the best if there are too few better ones
+		if (matches.size() < MAX_RESULTS || packageName != null) {
+			segment.names.find(lowerCase, (name, _) -> rank(ranks, matches, name, SUBSTRING));
+		}
+
+		// Only the best matches are kept, so count them by rank and length to know which ones, instead of sorting
+		int[] counts = new int[RANKS << 8];
+		int kept = 0;
+		for (int i = 0; i < matches.size(); i++) {
+			int name = matches.get(i);
+			if (packageName != null && !segment.packageNames[name].contains(packageName)) {
+				ranks[name] = 0;
+				continue;
+			}
+
+			counts[getBucket(ranks[name], segment.lengths[name])]++;
+			kept++;
+		}
+
+		int last = counts.length - 1;
+		if (kept > MAX_RESULTS) {
+			int total = 0;
+			for (last = 0; total + counts[last] < MAX_RESULTS; last++) {
+				total += counts[last];
+			}
+		}
+
+		// The names are sorted, so going through them in order keeps the first of those that are as good as the last
+		int[] taken = new int[counts.length];
+		for (int name = 0; name < ranks.length && kept > 0; name++) {
+			if (ranks[name] == 0) {
+				continue;
+			}
+
+			kept--;
+			int bucket = getBucket(ranks[name], segment.lengths[name]);
+			if (bucket < last || bucket == last && taken[bucket]++ < MAX_RESULTS) {
+				results.add(new Result(segment.archive, segment.classNames[name], simpleNames[name], ranks[name]));
+			}
+		}
+	}
+
+	private static void rank(byte[] ranks, IntList matches, int name, int rank) {
+		if (ranks[name] == 0) {
+			matches.add(name);
+			ranks[name] = (byte) rank;
+		} else if (rank < ranks[name]) {
+			ranks[name] = (byte) rank;
+		}
+	}
+
+	private static int getBucket(int rank, byte length) {
+		return rank << 8 | length & 0xFF;
+	}
+
+	/**
+	 * Whether every hump of a query, after the first, starts one of the name's humps, in order.
+	 *
+	 * @param name  the name
+	 * @param start where the query's first hump is in the name
+	 * @param humps the query's humps
+	 */
+	private static boolean matchesHumps(String name, int start, String[] humps) {
+		int position = start + humps[0].length();
+		for (int h = 1; h < humps.length; h++) {
+			String hump = humps[h];
+			while (position < name.length()
+					&& !(isHumpStart(name, position) && name.regionMatches(true, position, hump, 0, hump.length()))) {
+				position++;
+			}
+
+			if (position == name.length()) {
+				return false;
+			}
+
+			position += hump.length();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Whether a hump starts at an index of a name. Humps start with an upper case letter after a lower case one, the
+	 * last upper case letter before a lower case one, like {@code Parser} in {@code XMLParser}, or the first letter
+	 * or digit after anything else.
+	 */
+	static boolean isHumpStart(@NotNull String name, int index) {
+		if (index == 0) {
+			return true;
+		}
+
+		char c = name.charAt(index);
+		char previous = name.charAt(index - 1);
+		if (Character.isUpperCase(c)) {
+			return !Character.isUpperCase(previous)
+					|| index + 1 < name.length() && Character.isLowerCase(name.charAt(index + 1));
+		}
+
+		if (Character.isDigit(c)) {
+			return !Character.isDigit(previous);
+		}
+
+		return Character.isLetter(c) && !Character.isLetterOrDigit(previous);
+	}
+
+	/**
+	 * @return a bit for each letter from a to z that starts one of the humps, to rule out most names without looking
+	 * at them
+	 */
+	private static int getInitials(String[] humps) {
+		int initials = 0;
+		for (String hump : humps) {
+			initials |= getInitial(hump.charAt(0));
+		}
+
+		return initials;
+	}
+
+	private static int getInitials(String name) {
+		int initials = 0;
+		for (int i = 0; i < name.length(); i++) {
+			if (isHumpStart(name, i)) {
+				initials |= getInitial(name.charAt(i));
+			}
+		}
+
+		return initials;
+	}
+
+	private static int getInitial(char c) {
+		c = Character.toLowerCase(c);
+		return c >= 'a' && c <= 'z' ? 1 << c - 'a' : 0;
+	}
+
+	/**
+	 * Split a query into humps, each starting with an upper case letter, like {@code Nu}, {@code Po} and {@code Ex}
+	 * for {@code NuPoEx}.
+	 */
+	private static String[] getHumps(String query) {
+		List<String> humps = new ArrayList<>();
+		int start = 0;
+		for (int i = 1; i < query.length(); i++) {
+			if (Character.isUpperCase(query.charAt(i))) {
+				humps.add(query.substring(start, i));
+				start = i;
+			}
+		}
+
+		humps.add(query.substring(start));
+		return humps.toArray(String[]::new);
+	}
+
+	/**
+	 * @return the part of an internal class name after its package and outer classes, or {@code null} for anonymous
+	 * and local classes, and package and module descriptors
+	 */
+	static @Nullable String getSimpleName(@NotNull String className) {
+		String simpleName = className.substring(Math.max(className.lastIndexOf('/'), className.lastIndexOf('$')) + 1);
+		if (simpleName.isEmpty() || !Character.isJavaIdentifierStart(simpleName.charAt(0))
+				|| simpleName.equals("package-info") || simpleName.equals("module-info")) {
+			return null;
+		}
+
+		return simpleName;
+	}
+
+	private static Segment build(ZipFileContainer archive, List<String> entries) {
+		String[][] pairs = new String[entries.size()][];
+		for (int i = 0; i < pairs.length; i++) {
+			pairs[i] = new String[]{getSimpleName(entries.get(i)), entries.get(i)};
+		}
+
+		Arrays.sort(pairs, Comparator.<String[], String>comparing(pair -> pair[0], String.CASE_INSENSITIVE_ORDER)
+				.thenComparing(pair -> pair[1]));
+		String[] classNames = new String[pairs.length];
+		String[] simpleNames = new String[pairs.length];
+		String[] packageNames = new String[pairs.length];
+		byte[] lengths = new byte[pairs.length];
+		int[] initials = new int[pairs.length];
+		// The classes of a package share its lower case name
+		Map<String, String> packages = new HashMap<>();
+		for (int i = 0; i < pairs.length; i++) {
+			simpleNames[i] = pairs[i][0];
+			classNames[i] = pairs[i][1];
+			int separator = classNames[i].lastIndexOf('/');
+			packageNames[i] = packages.computeIfAbsent(separator == -1 ? "" : classNames[i].substring(0, separator),
+					NameSuffixArray::toLowerCase);
+			lengths[i] = (byte) Math.min(simpleNames[i].length(), 0xFF);
+			initials[i] = getInitials(simpleNames[i]);
+		}
+
+		NameSuffixArray names = new NameSuffixArray(simpleNames);
+		NameSuffixArray humps = new NameSuffixArray(simpleNames, ClassNameIndex::isHumpStart);
+		return new Segment(archive, classNames, simpleNames, packageNames, lengths, initials, names,
+				humps);
+	}
+}
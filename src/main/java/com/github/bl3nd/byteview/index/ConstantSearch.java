@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import com.github.bl3nd.byteview.files.FileContainer;
+import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Find string constants, like messages, URLs or configuration keys, across every archive that is loaded. Only the
+ * archives' {@link ArchiveIndex}es are searched, nothing is decompiled.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public final class ConstantSearch {
+	private static final int MAX_HITS = 5000;
+
+	private ConstantSearch() {
+	}
+
+	/**
+	 * A string constant and where it is loaded.
+	 *
+	 * @param archive   the archive the class is in
+	 * @param className the class's internal name
+	 * @param entry     the class's key in {@link ZipFileContainer#fileEntries}
+	 * @param member    the name of the field or method that loads it, or {@code null} if it is only in the class's
+	 *                  constant pool
+	 * @param value     the string
+	 */
+	public record Hit(@NotNull ZipFileContainer archive, @NotNull String className, @NotNull String entry,
+					  @Nullable String member, @NotNull String value) {
+	}
+
+	/**
+	 * @param hits  the hits that were handed over, at most {@value #MAX_HITS} per archive
+	 * @param count how many hits there were
+	 */
+	public record Result(@NotNull List<Hit> hits, int count) {
+	}
+
+	/**
+	 * @param count how many hits there were
+	 * @param shown how many of them were handed over
+	 */
+	public record Stats(int count, int shown) {
+	}
+
+	/**
+	 * Search every archive. Each archive's hits are handed over as soon as its index is built and searched, so the
+	 * consumer is called on whichever thread that happens.
+	 *
+	 * @param text       the text, or a regular expression
+	 * @param regex      whether the text is a regular expression
+	 * @param matchCase  whether the case has to match
+	 * @param containers the loaded files, anything that isn't an archive is skipped
+	 * @param consumer   takes each archive's hits, at most {@value #MAX_HITS} of them
+	 * @param cancelled  checked before each archive is searched, to stop early
+	 * @return a future of how many hits there were, once every archive has been searched
+	 */
+	public static @NotNull CompletableFuture<Stats> search(@NotNull String text, boolean regex, boolean matchCase,
+															 @NotNull Collection<? extends FileContainer> containers,
+															 @NotNull Consumer<List<Hit>> consumer,
+															 @NotNull BooleanSupplier cancelled) {
+		Predicate<String> matcher = getMatcher(text, regex, matchCase);
+		List<CompletableFuture<Result>> searches = new ArrayList<>();
+		for (FileContainer container : containers) {
+			if (container instanceof ZipFileContainer archive) {
+				searches.add(archive.getIndex().thenApply(index -> {
+					if (cancelled.getAsBoolean()) {
+						return new Result(List.of(), 0);
+					}
+
+					Result result = search(matcher, archive, index);
+					consumer.accept(result.hits());
+					return result;
+				}));
+			}
+		}
+
+		return CompletableFuture.allOf(searches.toArray(CompletableFuture[]::new)).thenApply(_ -> {
+			int count = 0;
+			int shown = 0;
+			for (CompletableFuture<Result> search : searches) {
+				count += search.join().count();
+				shown += search.join().hits().size();
+			}
+
+			return new Stats(count, shown);
+		});
+	}
+
+	/**
+	 * Search one archive. Only the first {@value #MAX_HITS} hits are kept, the rest are only counted.
+	 *
+	 * @param matcher which strings match
+	 * @param archive the archive
+	 * @param index   the archive's index
+	 * @return the hits, one per string and member, and how many there were
+	 */
+	public static @NotNull Result search(@NotNull Predicate<String> matcher, @NotNull ZipFileContainer archive,
+										 @NotNull ArchiveIndex index) {
+		List<Hit> hits = new ArrayList<>();
+		int count = 0;
+		for (int s = 0; s < index.getStringCount(); s++) {
+			String value = index.getString(s);
+			if (!matcher.test(value)) {
+				continue;
+			}
+
+			count += index.getStringUsageCount(s);
+			for (int i = 0; i < index.getStringUsageCount(s) && hits.size() < MAX_HITS; i++) {
+				int c = index.getStringUsageClass(s, i);
+				int m = index.getStringUsageMember(s, i);
+				hits.add(new Hit(archive, SymbolTable.get(index.getClassName(c)),
+						SymbolTable.get(index.getClassEntry(c)),
+						m == -1 ? null : SymbolTable.get(index.getMemberName(m)), value));
+			}
+		}
+
+		return new Result(hits, count);
+	}
+
+	/**
+	 * @param text      the text, or a regular expression
+	 * @param regex     whether the text is a regular expression
+	 * @param matchCase whether the case has to match
+	 * @return which strings match
+	 * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid
+	 */
+	public static @NotNull Predicate<String> getMatcher(@NotNull String text, boolean regex, boolean matchCase) {
+		if (regex) {
+			Pattern pattern = SourceIndex.compile(text, true, matchCase);
+			return value -> pattern.matcher(value).find();
+		}
+
+		if (matchCase) {
+			return value -> value.contains(text);
+		}
+
+		return value -> {
+			for (int i = 0; i <= value.length() - text.length(); i++) {
+				if (value.regionMatches(true, i, text, 0, text.length())) {
+					return true;
+				}
+			}
+
+			return false;
+		};
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import com.github.bl3nd.byteview.files.FileContainer;
+import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Find where a field or method is declared, across every archive that is loaded. Only the archives'
+ * {@link ArchiveIndex}es are searched, so the class that declares it only has to be decompiled once it is opened.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public final class DeclarationSearch {
+	private DeclarationSearch() {
+	}
+
+	/**
+	 * Where a field or method is declared.
+	 *
+	 * @param archive    the archive the class is in
+	 * @param className  the internal name of the class that declares it
+	 * @param entry      the class's key in {@link ZipFileContainer#fileEntries}
+	 * @param kind       {@link ArchiveIndex#FIELD} or {@link ArchiveIndex#METHOD}
+	 * @param name       the member's name
+	 * @param descriptor the member's descriptor
+	 */
+	public record Declaration(@NotNull ZipFileContainer archive, @NotNull String className, @NotNull String entry,
+							  int kind, @NotNull String name, @NotNull String descriptor) {
+	}
+
+	/**
+	 * Search the archives in order until one of them declares the member. An archive whose index isn't built yet is
+	 * waited for.
+	 *
+	 * @param reference  the field or method
+	 * @param containers the loaded files, anything that isn't an archive is skipped
+	 * @return a future of the declaration, or of {@code null} if no archive declares it
+	 */
+	public static @NotNull CompletableFuture<Declaration> find(@NotNull MemberReference reference,
+															   @NotNull Collection<? extends FileContainer> containers) {
+		CompletableFuture<Declaration> search = CompletableFuture.completedFuture(null);
+		for (FileContainer container : containers) {
+			if (container instanceof ZipFileContainer archive) {
+				search = search.thenCompose(found -> found != null ? CompletableFuture.completedFuture(found)
+						: archive.getIndex().thenApply(index -> find(reference, archive, index)));
+			}
+		}
+
+		return search;
+	}
+
+	/**
+	 * Search one archive.
+	 *
+	 * @param reference the field or method
+	 * @param archive   the archive
+	 * @param index     the archive's index
+	 * @return the declaration, or {@code null} if the archive doesn't declare it
+	 */
+	public static @Nullable Declaration find(@NotNull MemberReference reference, @NotNull ZipFileContainer archive,
+											 @NotNull ArchiveIndex index) {
+		int name = SymbolTable.find(reference.name());
+		for (int owner : reference.getOwners(index)) {
+			int m = index.findDeclaration(reference.kind(), owner, name, reference.descriptorPrefix());
+			if (m == -1) {
+				continue;
+			}
+
+			int c = index.getMemberOwner(m);
+			return new Declaration(archive, SymbolTable.get(index.getClassName(c)),
+					SymbolTable.get(index.getClassEntry(c)), reference.kind(), reference.name(),
+					SymbolTable.get(index.getMemberDescriptor(m)));
+		}
+
+		return null;
+	}
+}
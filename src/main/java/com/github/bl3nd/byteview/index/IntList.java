@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import java.util.Arrays;
+
+/**
+ * A growable array of ints, so the index can be filled without boxing.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+final class IntList {
+	private int[] values;
+	private int size;
+
+	IntList() {
+		this(16);
+	}
+
+	IntList(int capacity) {
+		values = new int[Math.max(capacity, 1)];
+	}
+
+	void add(int value) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, size * 2);
+		}
+
+		values[size++] = value;
+	}
+
+	int get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Drop the values from {@code size} on.
+	 */
+	void truncate(int size) {
+		this.size = Math.min(this.size, size);
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Copy the values into {@code target} starting at {@code offset}, adding {@code delta} to each of them.
+	 */
+	void copyTo(int[] target, int offset, int delta) {
+		for (int i = 0; i < size; i++) {
+			target[offset + i] = values[i] + delta;
+		}
+	}
+}
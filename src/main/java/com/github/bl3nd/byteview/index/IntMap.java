@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+/**
+ * A map from int keys to non-negative int values, so ids can be looked up without boxing. Keys are found through an
+ * open addressing hash table over two int arrays.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+final class IntMap {
+	private int[] keys;
+	// The value plus one, 0 for an empty slot
+	private int[] values;
+	private int size;
+
+	IntMap(int expected) {
+		int capacity = Math.max(16, Integer.highestOneBit(Math.max(expected, 1)) << 2);
+		keys = new int[capacity];
+		values = new int[capacity];
+	}
+
+	/**
+	 * @return the key's value, or {@code -1} if it has none
+	 */
+	int get(int key) {
+		int mask = keys.length - 1;
+		for (int slot = hash(key) & mask; values[slot] != 0; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				return values[slot] - 1;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Give a key a value, unless it already has one.
+	 *
+	 * @return the value the key already had, or {@code -1} if it is given this one
+	 */
+	int putIfAbsent(int key, int value) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		for (; values[slot] != 0; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				return values[slot] - 1;
+			}
+		}
+
+		keys[slot] = key;
+		values[slot] = value + 1;
+
+		// Keep the table at most half full
+		if (++size * 2 > keys.length) {
+			rehash();
+		}
+
+		return -1;
+	}
+
+	private void rehash() {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new int[oldKeys.length * 2];
+		values = new int[oldKeys.length * 2];
+		int mask = keys.length - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] == 0) {
+				continue;
+			}
+
+			int slot = hash(oldKeys[i]) & mask;
+			while (values[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+
+			keys[slot] = oldKeys[i];
+			values[slot] = oldValues[i];
+		}
+	}
+
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ h >>> 16;
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Rows of an archive's index grouped by kind, owner and name, e.g. all the references to a method or all the
+ * declarations of one.
+ * <p>
+ * Fields and methods of the same name share a key whatever their descriptor, so overloads are looked up together.
+ * Keys are found through an open addressing hash table over int arrays, and the rows of a key are a contiguous range
+ * in the order they were given.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+final class InvertedIndex {
+	private final IntList keyKinds = new IntList(1024);
+	private final IntList keyOwners = new IntList(1024);
+	private final IntList keyNames = new IntList(1024);
+	private int[] slots;
+
+	private final int[] rowStarts;
+	private final int[] rows;
+
+	/**
+	 * @param kinds  every row's kind
+	 * @param owners every row's owner
+	 * @param names  every row's name
+	 */
+	InvertedIndex(int @NotNull [] kinds, int @NotNull [] owners, int @NotNull [] names) {
+		int count = kinds.length;
+		slots = new int[tableSize(count / 2)];
+		int[] keys = new int[count];
+		for (int r = 0; r < count; r++) {
+			keys[r] = add(kinds[r], owners[r], names[r]);
+		}
+
+		int keyCount = keyKinds.size();
+		rowStarts = new int[keyCount + 1];
+		for (int r = 0; r < count; r++) {
+			rowStarts[keys[r] + 1]++;
+		}
+
+		for (int k = 0; k < keyCount; k++) {
+			rowStarts[k + 1] += rowStarts[k];
+		}
+
+		rows = new int[count];
+		int[] next = Arrays.copyOf(rowStarts, keyCount);
+		for (int r = 0; r < count; r++) {
+			rows[next[keys[r]]++] = r;
+		}
+	}
+
+	/**
+	 * @return the key, or {@code -1} if no row has it
+	 */
+	int find(int kind, int owner, int name) {
+		int mask = slots.length - 1;
+		for (int slot = hash(kind, owner, name) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+			int key = slots[slot] - 1;
+			if (keyKinds.get(key) == kind && keyOwners.get(key) == owner && keyNames.get(key) == name) {
+				return key;
+			}
+		}
+
+		return -1;
+	}
+
+	int getRowCount(int key) {
+		return rowStarts[key + 1] - rowStarts[key];
+	}
+
+	int getRow(int key, int index) {
+		return rows[rowStarts[key] + index];
+	}
+
+	private int add(int kind, int owner, int name) {
+		int mask = slots.length - 1;
+		int slot = hash(kind, owner, name) & mask;
+		for (; slots[slot] != 0; slot = (slot + 1) & mask) {
+			int key = slots[slot] - 1;
+			if (keyKinds.get(key) == kind && keyOwners.get(key) == owner && keyNames.get(key) == name) {
+				return key;
+			}
+		}
+
+		int key = keyKinds.size();
+		keyKinds.add(kind);
+		keyOwners.add(owner);
+		keyNames.add(name);
+		slots[slot] = key + 1;
+
+		// Keep the table at most half full
+		if (keyKinds.size() * 2 > slots.length) {
+			rehash();
+		}
+
+		return key;
+	}
+
+	private void rehash() {
+		slots = new int[slots.length * 2];
+		int mask = slots.length - 1;
+		for (int key = 0; key < keyKinds.size(); key++) {
+			int slot = hash(keyKinds.get(key), keyOwners.get(key), keyNames.get(key)) & mask;
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+
+			slots[slot] = key + 1;
+		}
+	}
+	private static int tableSize(int expected) {
+		return Math.max(16, Integer.highestOneBit(Math.max(expected, 1)) << 2);
+	}
+
+	private static int hash(int kind, int owner, int name) {
+		int h = (kind * 31 + owner) * 0x9E3779B9 + name;
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		return h ^ h >>> 13;
+	}
+}
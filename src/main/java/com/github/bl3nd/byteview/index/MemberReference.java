@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import com.github.bl3nd.byteview.files.zip.ZipEntrySource;
+import com.github.bl3nd.byteview.misc.FileMisc;
+import com.github.bl3nd.byteview.tokens.LocationIndex;
+import com.github.bl3nd.byteview.tokens.LocationTable;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.Pattern;
+
+/**
+ * A field or method as it is used in decompiled source, to be looked up in the archives' {@link ArchiveIndex}es.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ *
+ * @param kind           {@link ArchiveIndex#FIELD} or {@link ArchiveIndex#METHOD}
+ * @param owner          the internal name of the member's class, or only its simple name if that's all there is
+ * @param name           the member's name, {@code <init>} for constructors
+ * @param parameterTypes the method's parameter types as they are in its descriptor, or {@code null} for any overload
+ */
+public record MemberReference(int kind, @NotNull String owner, @NotNull String name, @Nullable String parameterTypes) {
+	/**
+	 * Parameter types as they are in a descriptor, which is how VineFlower's locations have them.
+	 */
+	private static final Pattern PARAMETER_DESCRIPTORS = Pattern.compile("(\\[*([BCDFIJSZ]|L[^;]+;))*");
+
+	/**
+	 * Get the field or method at a position in a decompiled class.
+	 *
+	 * @param container the decompiled class
+	 * @param line      the line, starting at 1
+	 * @param column    the column, starting at 0
+	 * @return the member, or {@code null} if there is no field or method there
+	 */
+	public static @Nullable MemberReference at(@NotNull ClassFileContainer container, int line, int column) {
+		LocationIndex index = container.getLocationIndex();
+		LocationTable table = index.getTable();
+		for (int occurrence : index.find(line, column)) {
+			int location = index.getLocation(occurrence);
+			int kind = table.getKind(location);
+			String owner = table.getOwner(location);
+			if (kind != LocationTable.FIELD && kind != LocationTable.METHOD || owner == null) {
+				continue;
+			}
+
+			// The owner is only a simple name if the source was parsed, so it is the class itself if the names match
+			String self = getClassName(container);
+			if (owner.indexOf('/') == -1 && self != null && simpleName(self).equals(simpleName(owner))) {
+				owner = self;
+			}
+
+			String name = table.getName(location);
+			if (kind == LocationTable.FIELD) {
+				return new MemberReference(ArchiveIndex.FIELD, owner, name, null);
+			}
+
+			// Constructors are named after their class in the source
+			if (name.equals(simpleName(owner)) || name.equals(owner.substring(owner.lastIndexOf('/') + 1))) {
+				name = "<init>";
+			}
+
+			String context = table.getContext(location);
+			boolean descriptor = context != null && PARAMETER_DESCRIPTORS.matcher(context).matches();
+			return new MemberReference(ArchiveIndex.METHOD, owner, name, descriptor ? context : null);
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return the start of the member's descriptor that is known, or {@code null} if any descriptor matches
+	 */
+	public @Nullable String descriptorPrefix() {
+		return parameterTypes == null ? null : "(" + parameterTypes + ")";
+	}
+
+	/**
+	 * An internal name is its own owner. A simple name could be any of the archive's classes of that name.
+	 *
+	 * @param index the archive's index
+	 * @return the {@link SymbolTable} ids of the classes the member could belong to
+	 */
+	int @NotNull [] getOwners(@NotNull ArchiveIndex index) {
+		if (owner.indexOf('/') != -1) {
+			int id = SymbolTable.find(owner);
+			return id == -1 ? new int[0] : new int[]{id};
+		}
+
+		String simpleName = simpleName(owner);
+		IntList owners = new IntList();
+		for (int c = 0; c < index.getClassCount(); c++) {
+			String className = SymbolTable.get(index.getClassName(c));
+			if (className.endsWith(simpleName) && simpleName(className).equals(simpleName)) {
+				owners.add(index.getClassName(c));
+			}
+		}
+
+		int[] result = new int[owners.size()];
+		owners.copyTo(result, 0, 0);
+		return result;
+	}
+
+	@Override
+	public @NotNull String toString() {
+		String member = owner.substring(owner.lastIndexOf('/') + 1) + "." + name;
+		return kind == ArchiveIndex.METHOD ? member + "()" : member;
+	}
+
+	/**
+	 * @return the internal name of an archive's class, or {@code null} if it isn't from an archive
+	 */
+	public static @Nullable String getClassName(@NotNull ClassFileContainer container) {
+		if (container.getByteSource() instanceof ZipEntrySource source) {
+			return FileMisc.removeExtension(source.entry().name());
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return the name after the package and any outer classes
+	 */
+	public static @NotNull String simpleName(@NotNull String className) {
+		return className.substring(Math.max(className.lastIndexOf('/'), className.lastIndexOf('$')) + 1);
+	}
+}
@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A suffix array over a list of names, to find every name that contains some text without looking at the others.
+ * <p>
+ * The names are lower cased into one array, each followed by a {@code '\0'} so that no suffix runs into the next name.
+ * A suffix is packed into an int as its name's index and its offset in the name, so the array takes four bytes per
+ * character. Suffixes that start past the {@value #MAX_OFFSET}th character aren't indexed, and a filter can leave out
+ * more of them. The suffixes are sorted with a multikey quicksort, which compares each character once per partitioning
+ * step instead of comparing whole suffixes.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+final class NameSuffixArray {
+	static final int MAX_OFFSET = 0xFF;
+	private static final int MAX_NAMES = 1 << 24;
+	private static final int INSERTION_SORT_SIZE = 16;
+
+	private final char[] text;
+	private final int[] starts;
+	private final int[] suffixes;
+
+	/**
+	 * A suffix that starts with the text that was looked up.
+	 */
+	@FunctionalInterface
+	interface Visitor {
+		/**
+		 * @param name   the name's index
+		 * @param offset where in the name the text starts
+		 */
+		void visit(int name, int offset);
+	}
+
+	/**
+	 * Which suffixes are indexed.
+	 */
+	@FunctionalInterface
+	interface Filter {
+		/**
+		 * @param name   the name
+		 * @param offset where in the name the suffix starts
+		 * @return whether the suffix is indexed
+		 */
+		boolean accept(@NotNull String name, int offset);
+	}
+
+	NameSuffixArray(@NotNull String @NotNull [] names) {
+		this(names, (_, _) -> true);
+	}
+
+	NameSuffixArray(@NotNull String @NotNull [] names, @NotNull Filter filter) {
+		if (names.length > MAX_NAMES) {
+			throw new IllegalArgumentException("Too many names: " + names.length);
+		}
+
+		int length = 0;
+		int count = 0;
+		for (String name : names) {
+			length += name.length() + 1;
+			for (int i = 0; i < name.length() && i <= MAX_OFFSET; i++) {
+				if (filter.accept(name, i)) {
+					count++;
+				}
+			}
+		}
+
+		text = new char[length];
+		starts = new int[names.length];
+		suffixes = new int[count];
+		int position = 0;
+		int suffix = 0;
+		for (int n = 0; n < names.length; n++) {
+			String name = names[n];
+			starts[n] = position;
+			for (int i = 0; i < name.length(); i++) {
+				// A '\0' in a name would end it early, and there are no such class names
+				text[position++] = Character.toLowerCase(name.charAt(i));
+				if (i <= MAX_OFFSET && filter.accept(name, i)) {
+					suffixes[suffix++] = n << 8 | i;
+				}
+			}
+
+			text[position++] = '\0';
+		}
+
+		sort(0, suffixes.length, 0);
+	}
+
+	/**
+	 * Lower case a text the way the names are, one character at a time, so that it doesn't depend on the locale and
+	 * keeps its length.
+	 *
+	 * @param text the text
+	 * @return the text, lower cased
+	 */
+	static @NotNull String toLowerCase(@NotNull String text) {
+		char[] chars = text.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(chars[i]);
+		}
+
+		return new String(chars);
+	}
+
+	/**
+	 * Visit every suffix that starts with some text, in the order of the suffixes.
+	 *
+	 * @param lowerCase the text, lower cased with {@link #toLowerCase(String)}
+	 * @param visitor   takes each suffix
+	 */
+	void find(@NotNull String lowerCase, @NotNull Visitor visitor) {
+		if (lowerCase.isEmpty()) {
+			return;
+		}
+
+		int from = search(lowerCase, false);
+		int to = search(lowerCase, true);
+		for (int i = from; i < to; i++) {
+			visitor.visit(suffixes[i] >>> 8, suffixes[i] & 0xFF);
+		}
+	}
+
+	/**
+	 * Binary search for the first suffix that is greater than the text, or that is greater or starts with it.
+	 */
+	private int search(String text, boolean after) {
+		int low = 0;
+		int high = suffixes.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int comparison = compareStart(suffixes[middle], text);
+			if (comparison < 0 || after && comparison == 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Compare the start of a suffix, as long as the text, with the text.
+	 */
+	private int compareStart(int suffix, String text) {
+		int position = getPosition(suffix);
+		for (int i = 0; i < text.length(); i++) {
+			int difference = this.text[position + i] - text.charAt(i);
+			if (difference != 0) {
+				return difference;
+			}
+		}
+
+		return 0;
+	}
+
+	private void sort(int from, int to, int depth) {
+		while (to - from > INSERTION_SORT_SIZE) {
+			int pivot = median(charAt(suffixes[from], depth), charAt(suffixes[(from + to) >>> 1], depth),
+					charAt(suffixes[to - 1], depth));
+			int less = from;
+			int greater = to;
+			int i = from;
+			while (i < greater) {
+				int c = charAt(suffixes[i], depth);
+				if (c < pivot) {
+					swap(less++, i++);
+				} else if (c > pivot) {
+					swap(i, --greater);
+				} else {
+					i++;
+				}
+			}
+
+			sort(from, less, depth);
+			sort(greater, to, depth);
+			if (pivot == '\0') {
+				// Every suffix in the middle has ended, they are equal
+				return;
+			}
+
+			from = less;
+			to = greater;
+			depth++;
+		}
+
+		for (int i = from + 1; i < to; i++) {
+			for (int j = i; j > from && compare(suffixes[j - 1], suffixes[j], depth) > 0; j--) {
+				swap(j - 1, j);
+			}
+		}
+	}
+
+	private int compare(int a, int b, int depth) {
+		int positionA = getPosition(a) + depth;
+		int positionB = getPosition(b) + depth;
+		while (true) {
+			char c = text[positionA++];
+			int difference = c - text[positionB++];
+			if (difference != 0 || c == '\0') {
+				return difference;
+			}
+		}
+	}
+
+	private char charAt(int suffix, int depth) {
+		return text[getPosition(suffix) + depth];
+	}
+
+	private int getPosition(int suffix) {
+		return starts[suffix >>> 8] + (suffix & 0xFF);
+	}
+
+	private void swap(int a, int b) {
+		int suffix = suffixes[a];
+		suffixes[a] = suffixes[b];
+		suffixes[b] = suffix;
+	}
+
+	private static int median(int a, int b, int c) {
+		return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+	}
+}
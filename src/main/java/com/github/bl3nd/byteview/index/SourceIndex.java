@@ -0,0 +1,512 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import com.github.bl3nd.byteview.decompiler.cache.DecompilationCache;
+import com.github.bl3nd.byteview.files.ClassFileContainer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Full text search over the sources of every class that has been decompiled or restored from the
+ * {@link DecompilationCache}. Classes are added to a {@link TrigramIndex} as their sources come in, and a search
+ * only reads the sources of the classes that can match.
+ * <p>
+ * Sources that have been unloaded since are read back from the {@link DecompilationCache}, without filling their
+ * container again. Classes are only referenced weakly. A class that is removed, decompiled again or garbage collected
+ * leaves a dead document behind, and once a quarter of the documents are dead the rest are renumbered and the dead
+ * ones dropped from the trigram index.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public final class SourceIndex {
+	private static final int MAX_MATCHES_PER_CLASS = 100;
+	private static final int MAX_MATCHES = 5000;
+	/**
+	 * How many documents have to be dead before the index is compacted, so a small index isn't compacted all the time.
+	 */
+	private static final int MIN_DEAD = 256;
+	private static final Pattern COMMENTS_FLAG = Pattern.compile("\\(\\?[a-zA-Z-]*x");
+
+	private static final TrigramIndex trigrams = new TrigramIndex();
+	private static final List<Document> documents = new ArrayList<>();
+	private static final Map<ClassFileContainer, Document> documentsByClass = new WeakHashMap<>();
+	private static final ReferenceQueue<ClassFileContainer> collected = new ReferenceQueue<>();
+	private static final BitSet live = new BitSet();
+	private static int dead;
+
+	private SourceIndex() {
+	}
+
+	/**
+	 * A line that matches.
+	 *
+	 * @param container the class
+	 * @param line      the line, starting at 1
+	 * @param column    where the match starts in the line, starting at 0
+	 * @param length    how long the match is, up to the end of the line
+	 * @param preview   the line's text
+	 */
+	public record Match(@NotNull ClassFileContainer container, int line, int column, int length,
+						@NotNull String preview) {
+	}
+
+	/**
+	 * @param documents  how many classes are indexed
+	 * @param candidates how many of them had to be read
+	 * @param matches    how many lines matched
+	 * @param nanos      how long the search took
+	 */
+	public record Stats(int documents, int candidates, int matches, long nanos) {
+	}
+
+	/**
+	 * Add a class's source, replacing the one it had if it was decompiled again with different settings.
+	 *
+	 * @param container the class
+	 * @param key       the class's {@link DecompilationCache} key
+	 */
+	public static void add(@NotNull ClassFileContainer container, @NotNull String key) {
+		String content = container.getContent();
+		if (content == null) {
+			return;
+		}
+
+		synchronized (SourceIndex.class) {
+			Document old = documentsByClass.get(container);
+			if (old != null) {
+				if (old.key.equals(key)) {
+					return;
+				}
+
+				kill(old);
+			}
+
+			Document document = new Document(container, key, documents.size());
+			documents.add(document);
+			documentsByClass.put(container, document);
+			live.set(document.id);
+			trigrams.add(document.id, content);
+			compact();
+		}
+	}
+
+	/**
+	 * Stop searching a class, e.g. when its archive is closed.
+	 *
+	 * @param container the class
+	 */
+	public static synchronized void remove(@NotNull ClassFileContainer container) {
+		Document document = documentsByClass.remove(container);
+		if (document != null) {
+			kill(document);
+		}
+
+		compact();
+	}
+
+	/**
+	 * @return how many classes can be searched
+	 */
+	public static synchronized int getDocumentCount() {
+		return documents.size() - dead;
+	}
+
+	/**
+	 * Drop a document from the searches. Called with the lock held.
+	 */
+	private static void kill(@NotNull Document document) {
+		if (document.id != -1) {
+			live.clear(document.id);
+			documents.set(document.id, null);
+			document.id = -1;
+			dead++;
+		}
+	}
+
+	/**
+	 * Kill the documents of the classes that were garbage collected, and renumber the documents without the dead ones
+	 * if there are enough of them. Called with the lock held.
+	 */
+	private static void compact() {
+		for (var reference = collected.poll(); reference != null; reference = collected.poll()) {
+			kill((Document) reference);
+		}
+
+		if (dead < MIN_DEAD || dead * 4 < documents.size()) {
+			return;
+		}
+
+		int[] ids = new int[documents.size()];
+		List<Document> kept = new ArrayList<>(documents.size() - dead);
+		for (int id = 0; id < ids.length; id++) {
+			Document document = documents.get(id);
+			if (document == null) {
+				ids[id] = -1;
+				continue;
+			}
+
+			ids[id] = kept.size();
+			document.id = kept.size();
+			kept.add(document);
+		}
+
+		trigrams.renumber(ids);
+		documents.clear();
+		documents.addAll(kept);
+		live.clear();
+		live.set(0, kept.size());
+		dead = 0;
+	}
+
+	/**
+	 * @return roughly how many bytes the index takes
+	 */
+	public static synchronized long getSize() {
+		return trigrams.getSize();
+	}
+
+	/**
+	 * Compile what to search for.
+	 *
+	 * @param text      the text, or a regular expression
+	 * @param regex     whether the text is a regular expression
+	 * @param matchCase whether the case has to match
+	 * @return the pattern
+	 * @throws PatternSyntaxException if the regular expression is invalid
+	 */
+	public static @NotNull Pattern compile(@NotNull String text, boolean regex, boolean matchCase) {
+		int flags = matchCase ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+		return Pattern.compile(regex ? text : Pattern.quote(text), flags | Pattern.MULTILINE);
+	}
+
+	/**
+	 * Search every indexed class. This reads sources from disk if they were unloaded, so run it off the EDT.
+	 *
+	 * @param text      the text, or a regular expression
+	 * @param regex     whether the text is a regular expression
+	 * @param matchCase whether the case has to match
+	 * @param consumer  takes each class's matches, in the order the classes were indexed
+	 * @param cancelled checked between classes, to stop early
+	 * @return how the search went
+	 * @throws PatternSyntaxException if the regular expression is invalid
+	 */
+	public static @NotNull Stats search(@NotNull String text, boolean regex, boolean matchCase,
+										@NotNull Consumer<List<Match>> consumer, @NotNull BooleanSupplier cancelled) {
+		long start = System.nanoTime();
+		Pattern pattern = compile(text, regex, matchCase);
+		List<String> literals = regex ? getRequiredLiterals(text) : List.of(text);
+
+		List<Document> candidates = new ArrayList<>();
+		int documentCount;
+		synchronized (SourceIndex.class) {
+			compact();
+			documentCount = documents.size() - dead;
+			BitSet found = (BitSet) live.clone();
+			for (String literal : literals) {
+				if (literal.length() < 3) {
+					continue;
+				}
+
+				BitSet containing = new BitSet();
+				for (int document : trigrams.find(literal)) {
+					containing.set(document);
+				}
+
+				found.and(containing);
+			}
+
+			for (int document = found.nextSetBit(0); document >= 0; document = found.nextSetBit(document + 1)) {
+				candidates.add(documents.get(document));
+			}
+		}
+
+		int matchCount = 0;
+		for (Document document : candidates) {
+			if (cancelled.getAsBoolean() || matchCount >= MAX_MATCHES) {
+				break;
+			}
+
+			ClassFileContainer container = document.get();
+			if (container == null) {
+				continue;
+			}
+
+			String content = container.getContent();
+			if (content == null) {
+				content = DecompilationCache.loadContent(document.key);
+				if (content == null) {
+					continue;
+				}
+			}
+
+			Finder finder = regex ? Finder.of(pattern.matcher(content)) : Finder.of(content, text, matchCase);
+			List<Match> matches = match(container, content, finder,
+					Math.min(MAX_MATCHES_PER_CLASS, MAX_MATCHES - matchCount));
+			if (!matches.isEmpty()) {
+				matchCount += matches.size();
+				consumer.accept(matches);
+			}
+		}
+
+		return new Stats(documentCount, candidates.size(), matchCount, System.nanoTime() - start);
+	}
+
+	/**
+	 * Find the lines of a source that match, at most one match per line.
+	 */
+	private static @NotNull List<Match> match(@NotNull ClassFileContainer container, @NotNull String content,
+											  @NotNull Finder matcher, int limit) {
+		List<Match> matches = new ArrayList<>();
+		int line = 1;
+		int lineStart = 0;
+		int scanned = 0;
+		int lastLine = 0;
+		while (matches.size() < limit && matcher.find()) {
+			int matchStart = matcher.start();
+			if (matcher.end() == matchStart) {
+				continue;
+			}
+
+			for (; scanned < matchStart; scanned++) {
+				if (content.charAt(scanned) == '\n') {
+					line++;
+					lineStart = scanned + 1;
+				}
+			}
+
+			if (line == lastLine) {
+				continue;
+			}
+
+			lastLine = line;
+			int lineEnd = content.indexOf('\n', matchStart);
+			if (lineEnd == -1) {
+				lineEnd = content.length();
+			}
+
+			String preview = content.substring(lineStart, lineEnd);
+			if (preview.endsWith("\r")) {
+				preview = preview.substring(0, preview.length() - 1);
+			}
+
+			int column = matchStart - lineStart;
+			int length = Math.max(0, Math.min(matcher.end() - lineStart, preview.length()) - column);
+			matches.add(new Match(container, line, column, length, preview));
+		}
+
+		return matches;
+	}
+
+	/**
+	 * Get literals that every match of a regular expression contains. Anything that isn't certain to be matched, like
+	 * groups, character classes and optional characters, is left out, and alternatives or comments mode anywhere mean
+	 * nothing is certain. Fewer literals only mean more sources are read, never that a match is missed.
+	 *
+	 * @param regex the regular expression
+	 * @return the literals
+	 */
+	static @NotNull List<String> getRequiredLiterals(@NotNull String regex) {
+		List<String> literals = new ArrayList<>();
+		// Comments mode makes whitespace insignificant
+		if (regex.indexOf('|') != -1 || COMMENTS_FLAG.matcher(regex).find()) {
+			return literals;
+		}
+
+		StringBuilder literal = new StringBuilder();
+		int depth = 0;
+		for (int i = 0; i < regex.length(); i++) {
+			char c = regex.charAt(i);
+			switch (c) {
+				case '\\' -> {
+					char next = i + 1 < regex.length() ? regex.charAt(i + 1) : 0;
+					i++;
+					if (Character.isLetterOrDigit(next) || next == 0) {
+						// Character classes, back references and quoting aren't literal
+						if (next == 'Q') {
+							return literals;
+						}
+
+						addLiteral(literals, literal);
+					} else if (depth == 0) {
+						literal.append(next);
+					}
+				}
+				case '[' -> {
+					addLiteral(literals, literal);
+					i = skipCharacterClass(regex, i);
+				}
+				case '(' -> {
+					addLiteral(literals, literal);
+					depth++;
+				}
+				case ')' -> {
+					addLiteral(literals, literal);
+					depth = Math.max(0, depth - 1);
+				}
+				case '*', '?', '{' -> {
+					// The character before is optional
+					if (!literal.isEmpty()) {
+						literal.setLength(literal.length() - 1);
+					}
+
+					addLiteral(literals, literal);
+					if (c == '{') {
+						int end = regex.indexOf('}', i);
+						i = end == -1 ? regex.length() : end;
+					}
+				}
+				case '.', '^', '$', '+' -> addLiteral(literals, literal);
+				default -> {
+					if (depth == 0) {
+						literal.append(c);
+					}
+				}
+			}
+		}
+
+		addLiteral(literals, literal);
+		return literals;
+	}
+
+	private static void addLiteral(@NotNull List<String> literals, @NotNull StringBuilder literal) {
+		if (literal.length() >= 3) {
+			literals.add(literal.toString());
+		}
+
+		literal.setLength(0);
+	}
+
+	private static int skipCharacterClass(@NotNull String regex, int start) {
+		int depth = 0;
+		for (int i = start; i < regex.length(); i++) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				i++;
+			} else if (c == '[') {
+				depth++;
+			} else if (c == ']' && i > start + 1 && --depth == 0) {
+				return i;
+			}
+		}
+
+		return regex.length();
+	}
+
+	/**
+	 * An indexed class. Its id changes when the index is compacted, and is {@code -1} once it is dead.
+	 */
+	private static final class Document extends WeakReference<ClassFileContainer> {
+		private final String key;
+		private int id;
+
+		private Document(@NotNull ClassFileContainer container, @NotNull String key, int id) {
+			super(container, collected);
+			this.key = key;
+			this.id = id;
+		}
+	}
+
+	/**
+	 * Finds the matches in a source one after the other, like a {@link Matcher}. Literals ignoring case are looked for
+	 * in a lower case copy, the same way they are indexed, which is a lot faster than a case insensitive pattern.
+	 */
+	private interface Finder {
+		boolean find();
+
+		int start();
+
+		int end();
+
+		static @NotNull Finder of(@NotNull Matcher matcher) {
+			return new Finder() {
+				@Override
+				public boolean find() {
+					return matcher.find();
+				}
+
+				@Override
+				public int start() {
+					return matcher.start();
+				}
+
+				@Override
+				public int end() {
+					return matcher.end();
+				}
+			};
+		}
+
+		static @NotNull Finder of(@NotNull String content, @NotNull String literal, boolean matchCase) {
+			String text = matchCase ? content : toLowerCase(content);
+			String needle = matchCase ? literal : toLowerCase(literal);
+			return new Finder() {
+				private int start = -1;
+
+				@Override
+				public boolean find() {
+					start = text.indexOf(needle, start + 1);
+					return start != -1 && !needle.isEmpty();
+				}
+
+				@Override
+				public int start() {
+					return start;
+				}
+
+				@Override
+				public int end() {
+					return start + needle.length();
+				}
+			};
+		}
+
+		/**
+		 * Lower case one char at a time, so the offsets stay the same.
+		 */
+		private static @NotNull String toLowerCase(@NotNull String s) {
+			char[] chars = new char[s.length()];
+			for (int i = 0; i < chars.length; i++) {
+				chars[i] = Character.toLowerCase(s.charAt(i));
+			}
+
+			return new String(chars);
+		}
+	}
+}
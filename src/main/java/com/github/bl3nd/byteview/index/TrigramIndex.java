@@ -0,0 +1,292 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Which documents contain which three character sequences, to narrow a text search down to the documents that can
+ * match before any of them is read.
+ * <p>
+ * Text is indexed lower case, so a lookup finds the documents that could match whatever the case. Every trigram has a
+ * posting list of the documents it is in. Documents have to be added in increasing order, which lets the lists be
+ * stored as variable length deltas, mostly a byte per document. Trigrams are found through an open addressing hash
+ * table over long keys. Documents that are gone can be dropped with {@link #renumber(int[])}, which keeps the ids
+ * dense. The index isn't thread safe.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+final class TrigramIndex {
+	private int[] slots = new int[1 << 12];
+	private long[] trigrams = new long[1 << 10];
+	private byte[][] postings = new byte[1 << 10][];
+	private int[] lengths = new int[1 << 10];
+	private int[] lasts = new int[1 << 10];
+	private int[] counts = new int[1 << 10];
+	private int size;
+	private long bytes;
+
+	/**
+	 * Add a document. Its id has to be greater than that of every document added before it.
+	 *
+	 * @param document the document's id
+	 * @param text     the document's text
+	 */
+	void add(int document, @NotNull CharSequence text) {
+		if (text.length() < 3) {
+			return;
+		}
+
+		long trigram = (long) Character.toLowerCase(text.charAt(0)) << 16 | Character.toLowerCase(text.charAt(1));
+		for (int i = 2; i < text.length(); i++) {
+			trigram = (trigram << 16 | Character.toLowerCase(text.charAt(i))) & 0xFFFF_FFFF_FFFFL;
+			int list = getOrAdd(trigram);
+			if (lasts[list] != document) {
+				append(list, document);
+			}
+		}
+	}
+
+	/**
+	 * Find the documents that contain every trigram of a literal, ignoring case.
+	 *
+	 * @param literal the literal, at least three characters long
+	 * @return the documents' ids in increasing order
+	 */
+	int @NotNull [] find(@NotNull String literal) {
+		int count = literal.length() - 2;
+		int[] lists = new int[count];
+		long trigram = (long) Character.toLowerCase(literal.charAt(0)) << 16 | Character.toLowerCase(literal.charAt(1));
+		for (int i = 0; i < count; i++) {
+			trigram = (trigram << 16 | Character.toLowerCase(literal.charAt(i + 2))) & 0xFFFF_FFFF_FFFFL;
+			lists[i] = find(trigram);
+			if (lists[i] == -1) {
+				return new int[0];
+			}
+		}
+
+		// The shortest list bounds the result, so start with it
+		Integer[] order = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = lists[i];
+		}
+
+		Arrays.sort(order, (a, b) -> Integer.compare(counts[a], counts[b]));
+		int[] documents = decode(order[0]);
+		for (int i = 1; i < count && documents.length > 0; i++) {
+			if (order[i].intValue() != order[i - 1].intValue()) {
+				documents = intersect(documents, order[i]);
+			}
+		}
+
+		return documents;
+	}
+
+	/**
+	 * Drop documents and renumber the rest in the same order, so the lists stay sorted. Trigrams that no document has
+	 * any more are dropped too.
+	 *
+	 * @param ids each document's new id, or {@code -1} to drop it, increasing with the old id
+	 */
+	void renumber(int @NotNull [] ids) {
+		int kept = 0;
+		bytes = 0;
+		for (int list = 0; list < size; list++) {
+			int[] documents = decode(list);
+			trigrams[kept] = trigrams[list];
+			postings[kept] = new byte[8];
+			lengths[kept] = 0;
+			lasts[kept] = -1;
+			counts[kept] = 0;
+			bytes += 8;
+			for (int document : documents) {
+				if (ids[document] != -1) {
+					append(kept, ids[document]);
+				}
+			}
+
+			if (counts[kept] > 0) {
+				kept++;
+			} else {
+				bytes -= postings[kept].length;
+			}
+		}
+
+		Arrays.fill(postings, kept, size, null);
+		size = kept;
+		int capacity = 1 << 12;
+		while (size * 2 > capacity) {
+			capacity *= 2;
+		}
+
+		rehash(capacity);
+	}
+
+	/**
+	 * @return roughly how many bytes the index takes
+	 */
+	long getSize() {
+		return bytes + (long) slots.length * Integer.BYTES
+				+ (long) trigrams.length * (Long.BYTES + 3 * Integer.BYTES + 16);
+	}
+
+	private int[] decode(int list) {
+		int[] documents = new int[counts[list]];
+		byte[] data = postings[list];
+		int document = -1;
+		for (int i = 0, p = 0; i < documents.length; i++) {
+			int delta = 0;
+			for (int shift = 0; ; shift += 7) {
+				byte b = data[p++];
+				delta |= (b & 0x7F) << shift;
+				if (b >= 0) {
+					break;
+				}
+			}
+
+			document += delta;
+			documents[i] = document;
+		}
+
+		return documents;
+	}
+
+	private int[] intersect(int @NotNull [] documents, int list) {
+		int[] result = new int[documents.length];
+		int size = 0;
+		byte[] data = postings[list];
+		int length = lengths[list];
+		int document = -1;
+		int p = 0;
+		for (int candidate : documents) {
+			while (document < candidate && p < length) {
+				int delta = 0;
+				for (int shift = 0; ; shift += 7) {
+					byte b = data[p++];
+					delta |= (b & 0x7F) << shift;
+					if (b >= 0) {
+						break;
+					}
+				}
+
+				document += delta;
+			}
+
+			if (document == candidate) {
+				result[size++] = candidate;
+			} else if (document < candidate) {
+				break;
+			}
+		}
+
+		return Arrays.copyOf(result, size);
+	}
+
+	private void append(int list, int document) {
+		byte[] data = postings[list];
+		int length = lengths[list];
+		if (data.length - length < 5) {
+			data = postings[list] = Arrays.copyOf(data, data.length * 2);
+			bytes += data.length / 2;
+		}
+
+		// Deltas are at least 1, since the first document is counted from -1
+		int delta = document - lasts[list];
+		while ((delta & ~0x7F) != 0) {
+			data[length++] = (byte) (delta & 0x7F | 0x80);
+			delta >>>= 7;
+		}
+
+		data[length++] = (byte) delta;
+		lengths[list] = length;
+		lasts[list] = document;
+		counts[list]++;
+	}
+
+	private int find(long trigram) {
+		int mask = slots.length - 1;
+		for (int slot = hash(trigram) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+			if (trigrams[slots[slot] - 1] == trigram) {
+				return slots[slot] - 1;
+			}
+		}
+
+		return -1;
+	}
+
+	private int getOrAdd(long trigram) {
+		int mask = slots.length - 1;
+		int slot = hash(trigram) & mask;
+		for (; slots[slot] != 0; slot = (slot + 1) & mask) {
+			if (trigrams[slots[slot] - 1] == trigram) {
+				return slots[slot] - 1;
+			}
+		}
+
+		if (size == trigrams.length) {
+			int capacity = size * 2;
+			trigrams = Arrays.copyOf(trigrams, capacity);
+			postings = Arrays.copyOf(postings, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			lasts = Arrays.copyOf(lasts, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+		}
+
+		int list = size++;
+		trigrams[list] = trigram;
+		postings[list] = new byte[8];
+		lasts[list] = -1;
+		bytes += 8;
+		slots[slot] = list + 1;
+
+		// Keep the table at most half full
+		if (size * 2 > slots.length) {
+			rehash(slots.length * 2);
+		}
+
+		return list;
+	}
+
+	private void rehash(int capacity) {
+		slots = new int[capacity];
+		int mask = slots.length - 1;
+		for (int list = 0; list < size; list++) {
+			int slot = hash(trigrams[list]) & mask;
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+
+			slots[slot] = list + 1;
+		}
+	}
+
+	private static int hash(long trigram) {
+		long h = trigram * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ h >>> 32);
+	}
+}
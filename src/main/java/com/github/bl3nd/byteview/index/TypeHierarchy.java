@@ -0,0 +1,382 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import com.github.bl3nd.byteview.files.FileContainer;
+import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The supertypes and subtypes of every class in the loaded archives, from the super classes and interfaces in their
+ * {@link ArchiveIndex}es, so nothing has to be decompiled.
+ * <p>
+ * Every type is numbered from 0, including the supertypes that aren't in any archive, like {@code java/lang/Object}
+ * when the runtime isn't loaded. A type's direct supertypes, its super class first, and its direct subtypes are
+ * contiguous ranges of two int arrays, so walking the hierarchy only reads arrays. A class that is in more than one
+ * archive is taken from the first. The hierarchy doesn't change once it is built, a new one is built when the loaded
+ * archives change.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public final class TypeHierarchy implements SymbolTable.Holder {
+	private static final int ACC_INTERFACE = 0x0200;
+
+	private static Snapshot snapshot;
+
+	private final int typeCount;
+	private final int[] names;
+	private final ZipFileContainer[] archives;
+	private final int[] entries;
+	private final int[] access;
+	private final int[] supertypeStarts;
+	private final int[] supertypes;
+	private final int[] subtypeStarts;
+	private final int[] subtypes;
+	private final IntMap typesByName;
+
+	/**
+	 * The hierarchy of the archives it was built from.
+	 */
+	private record Snapshot(List<ZipFileContainer> archives, CompletableFuture<TypeHierarchy> hierarchy) {
+	}
+
+	/**
+	 * Get the hierarchy of the loaded archives, building it in the background if they changed since it was last built.
+	 *
+	 * @param containers the loaded files, anything that isn't an archive is skipped
+	 * @return the hierarchy, once every archive is indexed
+	 */
+	public static synchronized @NotNull CompletableFuture<TypeHierarchy> of(
+			@NotNull Collection<? extends FileContainer> containers) {
+		List<ZipFileContainer> archives = new ArrayList<>();
+		for (FileContainer container : containers) {
+			if (container instanceof ZipFileContainer archive) {
+				archives.add(archive);
+			}
+		}
+
+		if (snapshot != null && snapshot.archives.equals(archives)) {
+			return snapshot.hierarchy;
+		}
+
+		List<CompletableFuture<ArchiveIndex>> indexes = archives.stream().map(ZipFileContainer::getIndex).toList();
+		CompletableFuture<TypeHierarchy> hierarchy = CompletableFuture.allOf(indexes.toArray(CompletableFuture[]::new))
+				.thenApply(_ -> {
+					try (SymbolTable.Scope _ = SymbolTable.use()) {
+						TypeHierarchy built = new TypeHierarchy(archives,
+								indexes.stream().map(CompletableFuture::join).toList());
+						SymbolTable.register(built);
+						return built;
+					}
+				});
+		snapshot = new Snapshot(archives, hierarchy);
+		return hierarchy;
+	}
+
+	/**
+	 * Forget the hierarchy that was built last, because an archive it was built from is closed, and let its names be
+	 * collected once it is done being built. Whatever shows it has to be closed first.
+	 */
+	public static synchronized void clear() {
+		if (snapshot != null) {
+			snapshot.hierarchy.thenAccept(SymbolTable::release);
+			snapshot = null;
+		}
+	}
+
+	/**
+	 * Build the hierarchy of some archives.
+	 *
+	 * @param archives the archives
+	 * @param indexes  the archives' indexes, in the same order
+	 */
+	public TypeHierarchy(@NotNull List<ZipFileContainer> archives, @NotNull List<ArchiveIndex> indexes) {
+		int classTotal = 0;
+		for (ArchiveIndex index : indexes) {
+			classTotal += index.getClassCount();
+		}
+
+		// Declared types are numbered first, then the supertypes that aren't declared anywhere as they come up
+		typesByName = new IntMap(classTotal);
+		IntList typeNames = new IntList(classTotal);
+		List<ZipFileContainer> typeArchives = new ArrayList<>(classTotal);
+		IntList typeEntries = new IntList(classTotal);
+		IntList typeAccess = new IntList(classTotal);
+		for (int a = 0; a < indexes.size(); a++) {
+			ArchiveIndex index = indexes.get(a);
+			for (int c = 0; c < index.getClassCount(); c++) {
+				if (typesByName.putIfAbsent(index.getClassName(c), typeNames.size()) == -1) {
+					typeNames.add(index.getClassName(c));
+					typeArchives.add(archives.get(a));
+					typeEntries.add(index.getClassEntry(c));
+					typeAccess.add(index.getClassAccess(c));
+				}
+			}
+		}
+
+		int declared = typeNames.size();
+		IntList edgeSources = new IntList(classTotal * 2);
+		IntList edgeTargets = new IntList(classTotal * 2);
+		for (int a = 0; a < indexes.size(); a++) {
+			ArchiveIndex index = indexes.get(a);
+			for (int c = 0; c < index.getClassCount(); c++) {
+				int type = typesByName.get(index.getClassName(c));
+				if (typeArchives.get(type) != archives.get(a) || typeEntries.get(type) != index.getClassEntry(c)) {
+					// Another copy of a class that is already in the hierarchy
+					continue;
+				}
+
+				if (index.getSuperName(c) != -1) {
+					edgeSources.add(type);
+					edgeTargets.add(getOrAdd(index.getSuperName(c), typeNames));
+				}
+
+				for (int i = 0; i < index.getInterfaceCount(c); i++) {
+					edgeSources.add(type);
+					edgeTargets.add(getOrAdd(index.getInterface(c, i), typeNames));
+				}
+			}
+		}
+
+		typeCount = typeNames.size();
+		names = new int[typeCount];
+		typeNames.copyTo(names, 0, 0);
+		this.archives = typeArchives.toArray(new ZipFileContainer[typeCount]);
+		entries = new int[typeCount];
+		access = new int[typeCount];
+		Arrays.fill(entries, declared, typeCount, -1);
+		Arrays.fill(access, declared, typeCount, -1);
+		typeEntries.copyTo(entries, 0, 0);
+		typeAccess.copyTo(access, 0, 0);
+
+		int edgeCount = edgeSources.size();
+		supertypeStarts = new int[typeCount + 1];
+		supertypes = new int[edgeCount];
+		subtypeStarts = new int[typeCount + 1];
+		subtypes = new int[edgeCount];
+		group(edgeSources, edgeTargets, supertypeStarts, supertypes);
+		group(edgeTargets, edgeSources, subtypeStarts, subtypes);
+	}
+
+	private int getOrAdd(int name, IntList typeNames) {
+		int type = typesByName.putIfAbsent(name, typeNames.size());
+		if (type == -1) {
+			typeNames.add(name);
+			return typeNames.size() - 1;
+		}
+
+		return type;
+	}
+
+	/**
+	 * Sort edges by their source into ranges, keeping their order within each source.
+	 */
+	private static void group(IntList sources, IntList targets, int[] starts, int[] grouped) {
+		for (int e = 0; e < sources.size(); e++) {
+			starts[sources.get(e) + 1]++;
+		}
+
+		for (int i = 1; i < starts.length; i++) {
+			starts[i] += starts[i - 1];
+		}
+
+		int[] next = Arrays.copyOf(starts, starts.length - 1);
+		for (int e = 0; e < sources.size(); e++) {
+			grouped[next[sources.get(e)]++] = targets.get(e);
+		}
+	}
+
+	public int getTypeCount() {
+		return typeCount;
+	}
+
+	@Override
+	public void markSymbols(@NotNull BitSet symbols) {
+		for (int t = 0; t < typeCount; t++) {
+			symbols.set(names[t]);
+			if (entries[t] != -1) {
+				symbols.set(entries[t]);
+			}
+		}
+	}
+
+	/**
+	 * @param name a type's internal name
+	 * @return the type, or {@code -1} if no loaded class is or extends it
+	 */
+	public int findType(@NotNull String name) {
+		return typesByName.get(SymbolTable.find(name));
+	}
+
+	/**
+	 * Find the declared types with a simple name, like {@code Entry} for {@code java/util/Map$Entry}.
+	 *
+	 * @param simpleName the name without the package and outer classes
+	 * @return the types, in archive order
+	 */
+	public int @NotNull [] findTypes(@NotNull String simpleName) {
+		IntList types = new IntList();
+		// Declared types come first
+		for (int type = 0; type < typeCount && archives[type] != null; type++) {
+			String name = SymbolTable.get(names[type]);
+			if (name.endsWith(simpleName) && MemberReference.simpleName(name).equals(simpleName)) {
+				types.add(type);
+			}
+		}
+
+		return toArray(types);
+	}
+
+	/**
+	 * @param type the type
+	 * @return the type's internal name
+	 */
+	public @NotNull String getName(int type) {
+		return SymbolTable.get(names[type]);
+	}
+
+	/**
+	 * @param type the type
+	 * @return the archive the type is declared in, or {@code null} if it isn't in any
+	 */
+	public @Nullable ZipFileContainer getArchive(int type) {
+		return archives[type];
+	}
+
+	/**
+	 * @param type the type
+	 * @return the type's key in {@link ZipFileContainer#fileEntries}, or {@code null} if it isn't in any archive
+	 */
+	public @Nullable String getEntry(int type) {
+		return entries[type] == -1 ? null : SymbolTable.get(entries[type]);
+	}
+
+	/**
+	 * @param type the type
+	 * @return whether the type is an interface, which is only known if it is in an archive
+	 */
+	public boolean isInterface(int type) {
+		return access[type] != -1 && (access[type] & ACC_INTERFACE) != 0;
+	}
+
+	public int getSupertypeCount(int type) {
+		return supertypeStarts[type + 1] - supertypeStarts[type];
+	}
+
+	/**
+	 * @param type  the type
+	 * @param index which of the type's direct supertypes, its super class comes first
+	 * @return the supertype
+	 */
+	public int getSupertype(int type, int index) {
+		return supertypes[supertypeStarts[type] + index];
+	}
+
+	public int getSubtypeCount(int type) {
+		return subtypeStarts[type + 1] - subtypeStarts[type];
+	}
+
+	/**
+	 * @param type  the type
+	 * @param index which of the classes and interfaces that directly extend or implement the type
+	 * @return the subtype
+	 */
+	public int getSubtype(int type, int index) {
+		return subtypes[subtypeStarts[type] + index];
+	}
+
+	/**
+	 * @param type the type
+	 * @return every type the type extends or implements, nearest first
+	 */
+	public int @NotNull [] getAllSupertypes(int type) {
+		return walk(type, supertypeStarts, supertypes);
+	}
+
+	/**
+	 * @param type the type
+	 * @return every type that extends or implements the type, nearest first
+	 */
+	public int @NotNull [] getAllSubtypes(int type) {
+		return walk(type, subtypeStarts, subtypes);
+	}
+
+	/**
+	 * @param type the type
+	 * @return every class that extends or implements the type, abstract ones included, nearest first
+	 */
+	public int @NotNull [] getImplementations(int type) {
+		IntList implementations = new IntList();
+		for (int subtype : getAllSubtypes(type)) {
+			if (access[subtype] != -1 && (access[subtype] & ACC_INTERFACE) == 0) {
+				implementations.add(subtype);
+			}
+		}
+
+		return toArray(implementations);
+	}
+
+	/**
+	 * Walk the edges breadth first. Every type is visited once, so a malformed archive whose hierarchy loops can't
+	 * loop forever.
+	 */
+	private int[] walk(int type, int[] starts, int[] edges) {
+		BitSet visited = new BitSet(typeCount);
+		visited.set(type);
+		IntList found = new IntList();
+		int next = type;
+		int i = 0;
+		while (true) {
+			for (int e = starts[next]; e < starts[next + 1]; e++) {
+				if (!visited.get(edges[e])) {
+					visited.set(edges[e]);
+					found.add(edges[e]);
+				}
+			}
+
+			if (i == found.size()) {
+				return toArray(found);
+			}
+
+			next = found.get(i++);
+		}
+	}
+
+	private static int[] toArray(IntList list) {
+		int[] array = new int[list.size()];
+		list.copyTo(array, 0, 0);
+		return array;
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.index;
+
+import com.github.bl3nd.byteview.files.FileContainer;
+import com.github.bl3nd.byteview.files.ZipFileContainer;
+import com.github.bl3nd.byteview.tokens.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Find the classes that use a field or method, across every archive that is loaded. Only the archives'
+ * {@link ArchiveIndex}es are searched, nothing is decompiled.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public final class UsageSearch {
+	private UsageSearch() {
+	}
+
+	/**
+	 * A class that uses what was searched for.
+	 *
+	 * @param archive   the archive the class is in
+	 * @param className the class's internal name
+	 * @param entry     the class's key in {@link ZipFileContainer#fileEntries}
+	 */
+	public record Usage(@NotNull ZipFileContainer archive, @NotNull String className, @NotNull String entry) {
+	}
+
+	/**
+	 * Search every archive. Each archive's usages are handed over as soon as its index is built and searched, so the
+	 * consumer is called on whichever thread that happens.
+	 *
+	 * @param query      what to search for
+	 * @param containers the loaded files, anything that isn't an archive is skipped
+	 * @param consumer   takes each archive's usages
+	 * @return a future that is done once every archive has been searched
+	 */
+	public static @NotNull CompletableFuture<Void> search(@NotNull MemberReference query,
+														  @NotNull Collection<? extends FileContainer> containers,
+														  @NotNull Consumer<List<Usage>> consumer) {
+		List<CompletableFuture<Void>> searches = new ArrayList<>();
+		for (FileContainer container : containers) {
+			if (container instanceof ZipFileContainer archive) {
+				searches.add(archive.getIndex().thenAccept(index -> consumer.accept(search(query, archive, index))));
+			}
+		}
+
+		return CompletableFuture.allOf(searches.toArray(CompletableFuture[]::new));
+	}
+
+	/**
+	 * Search one archive.
+	 *
+	 * @param query   what to search for
+	 * @param archive the archive
+	 * @param index   the archive's index
+	 * @return the classes that use it, in archive order
+	 */
+	public static @NotNull List<Usage> search(@NotNull MemberReference query, @NotNull ZipFileContainer archive,
+											  @NotNull ArchiveIndex index) {
+		int name = SymbolTable.find(query.name());
+		String prefix = query.descriptorPrefix();
+		BitSet classes = new BitSet(index.getClassCount());
+		for (int owner : query.getOwners(index)) {
+			int target = index.findUsages(query.kind(), owner, name);
+			if (target == -1) {
+				continue;
+			}
+
+			for (int i = 0; i < index.getUsageCount(target); i++) {
+				int r = index.getUsage(target, i);
+				if (prefix == null || SymbolTable.get(index.getReferenceDescriptor(r)).startsWith(prefix)) {
+					classes.set(index.getReferenceSource(r));
+				}
+			}
+		}
+
+		List<Usage> usages = new ArrayList<>(classes.cardinality());
+		for (int c = classes.nextSetBit(0); c >= 0; c = classes.nextSetBit(c + 1)) {
+			usages.add(new Usage(archive, SymbolTable.get(index.getClassName(c)),
+					SymbolTable.get(index.getClassEntry(c))));
+		}
+
+		return usages;
+	}
+}
@@ -49,6 +49,7 @@ import static com.github.bl3nd.byteview.misc.Constants.CONFIG_LOCATION;
 public class Configuration {
 
 	private static final int MAX_RECENT_FILES = 20;
+	private static final int DEFAULT_SOURCE_CACHE_SIZE = 64;
 	private final List<String> recentFiles = new ArrayList<>();
 	private File recentUploadedDirectory;
 	private String currentFontFamily;
@@ -56,6 +57,7 @@ public class Configuration {
 	private String currentTheme;
 	private String currentDecompiler;
 	private boolean decompileEntireArchive;
+	private int sourceCacheSize = DEFAULT_SOURCE_CACHE_SIZE;
 	private final HashMap<String, Boolean> vineFlowerSettings = new HashMap<>();
 
 	/**
@@ -75,6 +77,7 @@ public class Configuration {
 			rootObject.add("currentTheme", "light");
 			rootObject.add("currentDecompiler", "none");
 			rootObject.add("decompileEntireArchive", false);
+			rootObject.add("sourceCacheSize", DEFAULT_SOURCE_CACHE_SIZE);
 
 			JsonObject vineFlowerSettings = Json.object();
 			vineFlowerSettings.add("--ascii-strings", false);
@@ -193,6 +196,10 @@ public class Configuration {
 			value = rootObject.get("decompileEntireArchive");
 			decompileEntireArchive = value.asBoolean();
 
+			// Older configurations don't have this yet
+			value = rootObject.get("sourceCacheSize");
+			sourceCacheSize = value != null ? value.asInt() : DEFAULT_SOURCE_CACHE_SIZE;
+
 			value = rootObject.get("VineFlowerSettings");
 			for (String setting : value.asObject().names()) {
 				vineFlowerSettings.put(setting, value.asObject().getValue(setting).orElseThrow().asBoolean());
@@ -220,6 +227,8 @@ public class Configuration {
 				rootObject.set(name, Json.array(String.valueOf(value)));
 			} else if (value instanceof Boolean) {
 				rootObject.set(name, (Boolean) value);
+			} else if (value instanceof Integer) {
+				rootObject.set(name, (Integer) value);
 			}
 
 			fileReader.close();
@@ -331,6 +340,20 @@ public class Configuration {
 		return decompileEntireArchive;
 	}
 
+	/**
+	 * Set how much memory, in megabytes, the decompiled sources of opened classes may take.
+	 *
+	 * @param sourceCacheSize the size in megabytes
+	 */
+	public void setSourceCacheSize(int sourceCacheSize) {
+		this.sourceCacheSize = sourceCacheSize;
+		updateJson("sourceCacheSize", sourceCacheSize);
+	}
+
+	public int getSourceCacheSize() {
+		return sourceCacheSize;
+	}
+
 	public HashMap<String, Boolean> getVineFlowerSettings() {
 		return vineFlowerSettings;
 	}
@@ -35,4 +35,5 @@ public class Constants {
 	public static final String FOLDER_LOCATION = System.getProperty("user.home") + "/Byte View";
 	public static final String TEMP_LOCATION = FOLDER_LOCATION + "/temp";
 	public static final String CONFIG_LOCATION = FOLDER_LOCATION + "/configuration.json";
+	public static final String CACHE_LOCATION = FOLDER_LOCATION + "/cache";
 }
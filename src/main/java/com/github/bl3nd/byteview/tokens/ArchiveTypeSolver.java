@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.tokens;
+
+import com.github.bl3nd.byteview.files.zip.MappedZipEntry;
+import com.github.bl3nd.byteview.files.zip.MappedZipFile;
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+import javassist.ClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Solves the types of an archive from their class files, so the symbols in a decompiled class that refer to other
+ * classes of the same archive can be resolved without decompiling those classes.
+ * <p>
+ * The class files are read straight from the mapped archive by javassist, the same way JavaParser's own
+ * {@code JarTypeSolver} reads a jar. Types that aren't in the archive are left to the fallback solver. Wrap it in a
+ * {@link CachingTypeSolver} so each type is only read once.
+ * <p>
+ * Classes renamed by the decompiler are only known by their name in the archive.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class ArchiveTypeSolver implements TypeSolver {
+	private final MappedZipFile zipFile;
+	private final TypeSolver fallback;
+	private final Map<String, MappedZipEntry> classes = new HashMap<>();
+	private final ClassPool classPool = new ClassPool(false);
+	private TypeSolver parent;
+
+	/**
+	 * @param zipFile  the archive
+	 * @param fallback solves the types that aren't in the archive
+	 */
+	public ArchiveTypeSolver(@NotNull MappedZipFile zipFile, @NotNull TypeSolver fallback) {
+		this.zipFile = zipFile;
+		this.fallback = fallback;
+		for (MappedZipEntry entry : zipFile.entries()) {
+			String name = entry.name();
+			if (!entry.isDirectory() && name.endsWith(".class") && !name.startsWith("META-INF/")) {
+				classes.put(name.substring(0, name.length() - ".class".length()).replace('/', '.'), entry);
+			}
+		}
+
+		classPool.appendClassPath(new ArchiveClassPath());
+		classPool.appendSystemPath();
+	}
+
+	@Override
+	public TypeSolver getParent() {
+		return parent;
+	}
+
+	@Override
+	public void setParent(TypeSolver parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * A nested class can be written as {@code a.b.Outer.Inner}, so the name's last dots are turned into {@code $} one
+	 * at a time until it matches a class file.
+	 *
+	 * @param name the qualified name of the type
+	 * @return the solved type, or what the fallback made of it
+	 */
+	@Override
+	public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+		String binaryName = name;
+		while (true) {
+			if (classes.containsKey(binaryName)) {
+				try {
+					CtClass ctClass = classPool.get(binaryName);
+					return SymbolReference.solved(JavassistFactory.toTypeDeclaration(ctClass, getRoot()));
+				} catch (NotFoundException e) {
+					System.err.println("Failed to read " + binaryName + " from " + zipFile.getFile().getName());
+					break;
+				}
+			}
+
+			int index = binaryName.lastIndexOf('.');
+			if (index == -1) {
+				break;
+			}
+
+			binaryName = binaryName.substring(0, index) + '$' + binaryName.substring(index + 1);
+		}
+
+		return fallback.tryToSolveType(name);
+	}
+
+	/**
+	 * Hands javassist the class files of the archive.
+	 */
+	private class ArchiveClassPath implements ClassPath {
+		@Override
+		public InputStream openClassfile(String className) throws NotFoundException {
+			MappedZipEntry entry = classes.get(className);
+			if (entry == null) {
+				throw new NotFoundException(className);
+			}
+
+			try {
+				return new ByteArrayInputStream(zipFile.read(entry));
+			} catch (IOException e) {
+				throw new NotFoundException(className, e);
+			}
+		}
+
+		@Override
+		public URL find(String className) {
+			MappedZipEntry entry = classes.get(className);
+			if (entry == null) {
+				return null;
+			}
+
+			try {
+				return URI.create("jar:" + zipFile.getFile().toURI() + "!/" + entry.name()).toURL();
+			} catch (MalformedURLException | IllegalArgumentException e) {
+				return null;
+			}
+		}
+	}
+}
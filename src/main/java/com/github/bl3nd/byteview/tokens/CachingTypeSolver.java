@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.tokens;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers what another type solver found, so every type is looked up only once no matter how many classes are
+ * parsed. Lookups may come from any number of threads at the same time.
+ * <p>
+ * The wrapped solver is made a child of this one, so the types it needs to solve while building a declaration go
+ * through the cache as well.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class CachingTypeSolver implements TypeSolver {
+	private final TypeSolver delegate;
+	private final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> cache = new ConcurrentHashMap<>();
+	private volatile TypeSolver parent;
+
+	public CachingTypeSolver(@NotNull TypeSolver delegate) {
+		this.delegate = delegate;
+		delegate.setParent(this);
+	}
+
+	@Override
+	public TypeSolver getParent() {
+		return parent;
+	}
+
+	@Override
+	public void setParent(TypeSolver parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Solving a type can solve others on the way, which would be a recursive update if it were done inside
+	 * {@link ConcurrentHashMap#computeIfAbsent}. Two threads may solve the same type at once, the first answer is kept.
+	 *
+	 * @param name the qualified name of the type
+	 * @return the solved type, or an unsolved reference
+	 */
+	@Override
+	public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+		SymbolReference<ResolvedReferenceTypeDeclaration> reference = cache.get(name);
+		if (reference == null) {
+			reference = delegate.tryToSolveType(name);
+			SymbolReference<ResolvedReferenceTypeDeclaration> previous = cache.putIfAbsent(name, reference);
+			if (previous != null) {
+				reference = previous;
+			}
+		}
+
+		return reference;
+	}
+
+	/**
+	 * Forget everything that was solved.
+	 */
+	public void clear() {
+		cache.clear();
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.tokens;
+
+import com.github.bl3nd.byteview.files.zip.MappedZipFile;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Hands out JavaParsers that can be used from many threads at once.
+ * <p>
+ * {@link com.github.javaparser.StaticJavaParser} has one configuration per thread that callers change as they go, so
+ * every parse had to set up its own symbol solver first. Here each thread gets its own {@link JavaParser} once, and
+ * all of them resolve types with the same {@link CachingTypeSolver}, so a type found while parsing one class is known
+ * to all the others.
+ * <p>
+ * Classes of an archive also resolve the archive's other classes, through one {@link ArchiveTypeSolver} per archive
+ * that is shared by all of its classes.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class JavaParsers {
+	private static final CachingTypeSolver typeSolver = new CachingTypeSolver(new ReflectionTypeSolver());
+	private static final JavaSymbolSolver symbolSolver = new JavaSymbolSolver(typeSolver);
+	private static final Map<MappedZipFile, JavaSymbolSolver> archiveSymbolSolvers = new WeakHashMap<>();
+	private static final ThreadLocal<JavaParser> parsers = ThreadLocal.withInitial(() ->
+			new JavaParser(new ParserConfiguration()));
+
+	/**
+	 * Parse a compilation unit with the calling thread's parser.
+	 *
+	 * @param content the Java source
+	 * @return the compilation unit, with symbols resolvable
+	 * @throws ParseProblemException when the source couldn't be parsed
+	 */
+	public static @NotNull CompilationUnit parse(@NotNull String content) {
+		return parse(content, null);
+	}
+
+	/**
+	 * Parse a compilation unit with the calling thread's parser.
+	 *
+	 * @param content the Java source
+	 * @param archive the archive the class came from, its other classes can then be resolved too
+	 * @return the compilation unit, with symbols resolvable
+	 * @throws ParseProblemException when the source couldn't be parsed
+	 */
+	public static @NotNull CompilationUnit parse(@NotNull String content, @Nullable MappedZipFile archive) {
+		ParseResult<CompilationUnit> result = parsers.get().parse(content);
+		if (result.isSuccessful() && result.getResult().isPresent()) {
+			CompilationUnit cu = result.getResult().get();
+			getSymbolSolver(archive).inject(cu);
+			return cu;
+		}
+
+		throw new ParseProblemException(result.getProblems());
+	}
+
+	private static synchronized @NotNull JavaSymbolSolver getSymbolSolver(@Nullable MappedZipFile archive) {
+		if (archive == null) {
+			return symbolSolver;
+		}
+
+		return archiveSymbolSolvers.computeIfAbsent(archive, _ ->
+				new JavaSymbolSolver(new CachingTypeSolver(new ArchiveTypeSolver(archive, typeSolver))));
+	}
+
+	/**
+	 * Forget what was solved for the archive.
+	 *
+	 * @param archive the archive
+	 */
+	public static synchronized void close(@NotNull MappedZipFile archive) {
+		archiveSymbolSolvers.remove(archive);
+	}
+
+	public static @NotNull CachingTypeSolver getTypeSolver() {
+		return typeSolver;
+	}
+}
@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.tokens;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Knows which member is at a line and column of a decompiled class, and where else the same member appears.
+ * <p>
+ * Every location of a {@link LocationTable} is an occurrence. The occurrences are sorted by line and column into
+ * parallel arrays, so the ones under the caret are found with a binary search. Occurrences of the same member share a
+ * symbol, and each symbol has its occurrences and declaration worked out up front. A symbol is a field of an owner, a
+ * method of an owner with its parameter types, or a parameter or local variable of a method, the same grouping the
+ * tables were always matched by.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class LocationIndex {
+	private static final int[] NONE = new int[0];
+
+	private final LocationTable table;
+	private final int size;
+	private final int[] locations;
+	private final int[] lines;
+	private final int[] columnStarts;
+	private final int[] columnEnds;
+	private final int[] symbols;
+
+	private final int[] kinds;
+	private final int[] symbolDeclarations;
+	private final int[] symbolStarts;
+	private final int[] symbolOccurrences;
+
+	/**
+	 * Index the table as it is now.
+	 *
+	 * @param table the table
+	 */
+	public LocationIndex(@NotNull LocationTable table) {
+		this.table = table;
+		this.size = table.size();
+
+		// Number the symbols by sorting the locations by what they refer to
+		Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+
+		Arrays.sort(order, Comparator.<Integer>comparingInt(table::getKind)
+				.thenComparingInt(table::getNameId)
+				.thenComparingInt(this::getSymbolOwner)
+				.thenComparingInt(this::getSymbolContext));
+		int[] locationSymbols = new int[size];
+		int symbolCount = 0;
+		for (int i = 0; i < size; i++) {
+			if (i > 0 && !isSameSymbol(order[i - 1], order[i])) {
+				symbolCount++;
+			}
+
+			locationSymbols[order[i]] = symbolCount;
+		}
+
+		if (size > 0) {
+			symbolCount++;
+		}
+
+		// Sort the occurrences by line, then column
+		Arrays.sort(order, Comparator.<Integer>comparingInt(table::getLine).thenComparingInt(table::getColumnStart));
+		locations = new int[size];
+		lines = new int[size];
+		columnStarts = new int[size];
+		columnEnds = new int[size];
+		symbols = new int[size];
+		for (int i = 0; i < size; i++) {
+			int location = order[i];
+			locations[i] = location;
+			lines[i] = table.getLine(location);
+			columnStarts[i] = table.getColumnStart(location);
+			columnEnds[i] = table.getColumnEnd(location);
+			symbols[i] = locationSymbols[location];
+		}
+
+		// Group the occurrences by symbol, in the order they appear
+		kinds = new int[symbolCount];
+		symbolDeclarations = new int[symbolCount];
+		Arrays.fill(symbolDeclarations, -1);
+		symbolStarts = new int[symbolCount + 1];
+		for (int i = 0; i < size; i++) {
+			symbolStarts[symbols[i] + 1]++;
+		}
+
+		for (int i = 0; i < symbolCount; i++) {
+			symbolStarts[i + 1] += symbolStarts[i];
+		}
+
+		symbolOccurrences = new int[size];
+		int[] next = Arrays.copyOf(symbolStarts, symbolCount);
+		for (int i = 0; i < size; i++) {
+			int symbol = symbols[i];
+			kinds[symbol] = table.getKind(locations[i]);
+			symbolOccurrences[next[symbol]++] = i;
+			if (table.isDeclaration(locations[i]) && symbolDeclarations[symbol] == -1) {
+				symbolDeclarations[symbol] = i;
+			}
+		}
+	}
+
+	/**
+	 * Parameters and local variables belong to a method, whichever class it is in.
+	 */
+	private int getSymbolOwner(int location) {
+		int kind = table.getKind(location);
+		return kind == LocationTable.FIELD || kind == LocationTable.METHOD ? table.getOwnerId(location) : -1;
+	}
+
+	/**
+	 * Fields are the same field whatever they were accessed from.
+	 */
+	private int getSymbolContext(int location) {
+		return table.getKind(location) == LocationTable.FIELD ? -1 : table.getContextId(location);
+	}
+
+	private boolean isSameSymbol(int a, int b) {
+		return table.getKind(a) == table.getKind(b) && table.getNameId(a) == table.getNameId(b)
+				&& getSymbolOwner(a) == getSymbolOwner(b) && getSymbolContext(a) == getSymbolContext(b);
+	}
+
+	/**
+	 * Find the occurrences under a caret. The caret is on an occurrence from just before its first character to just
+	 * after its last one.
+	 *
+	 * @param line   the line, starting at 1
+	 * @param column the caret's offset from the start of the line
+	 * @return the occurrences, usually one or none
+	 */
+	public int @NotNull [] find(int line, int column) {
+		// The last occurrence that starts at or before the caret
+		int low = 0;
+		int high = size - 1;
+		int last = -1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (lines[middle] < line || lines[middle] == line && columnStarts[middle] - 1 <= column) {
+				last = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+
+		// Occurrences don't nest, so the ones under the caret are the ones right before it
+		int first = last;
+		while (first >= 0 && lines[first] == line && columnEnds[first] >= column) {
+			first--;
+		}
+
+		if (first == last) {
+			return NONE;
+		}
+
+		int[] found = new int[last - first];
+		for (int i = 0; i < found.length; i++) {
+			found[i] = first + 1 + i;
+		}
+
+		return found;
+	}
+
+	/**
+	 * @param table a table
+	 * @return whether this index was built from that table as it is now
+	 */
+	public boolean isOf(@NotNull LocationTable table) {
+		return this.table == table && size == table.size();
+	}
+
+	public @NotNull LocationTable getTable() {
+		return table;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public int getLine(int occurrence) {
+		return lines[occurrence];
+	}
+
+	public int getColumnStart(int occurrence) {
+		return columnStarts[occurrence];
+	}
+
+	public int getColumnEnd(int occurrence) {
+		return columnEnds[occurrence];
+	}
+
+	public boolean isDeclaration(int occurrence) {
+		return table.isDeclaration(locations[occurrence]);
+	}
+
+	/**
+	 * @param occurrence the occurrence
+	 * @return the occurrence's row in the table
+	 */
+	public int getLocation(int occurrence) {
+		return locations[occurrence];
+	}
+
+	public int getSymbol(int occurrence) {
+		return symbols[occurrence];
+	}
+
+	/**
+	 * @param symbol the symbol
+	 * @return {@link LocationTable#FIELD}, {@link LocationTable#METHOD}, {@link LocationTable#PARAMETER} or
+	 * {@link LocationTable#LOCAL}
+	 */
+	public int getKind(int symbol) {
+		return kinds[symbol];
+	}
+
+	/**
+	 * @param symbol the symbol
+	 * @return the symbol's first declaration, or {@code -1} if it isn't declared in this class
+	 */
+	public int getDeclaration(int symbol) {
+		return symbolDeclarations[symbol];
+	}
+
+	/**
+	 * @param symbol the symbol
+	 * @return how many times the symbol appears
+	 */
+	public int getOccurrenceCount(int symbol) {
+		return symbolStarts[symbol + 1] - symbolStarts[symbol];
+	}
+
+	/**
+	 * @param symbol the symbol
+	 * @param index  which of the symbol's occurrences, in source order
+	 * @return the occurrence
+	 */
+	public int getOccurrence(int symbol, int index) {
+		return symbolOccurrences[symbolStarts[symbol] + index];
+	}
+}
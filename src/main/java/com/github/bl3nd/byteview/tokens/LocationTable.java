@@ -0,0 +1,209 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.tokens;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * The field, method, parameter and local variable locations of a decompiled class.
+ * <p>
+ * A location is a row of parallel int arrays rather than an object. The kind and whether it is a declaration are
+ * bits of one int, and the name, owner and context are {@link SymbolTable} ids, so a class with tens of thousands of
+ * locations holds a few arrays, and each string is kept once for all classes. The context is the parameter types of a
+ * method, or the method a parameter or local variable belongs to.
+ * <p>
+ * Rows are only ever appended. The getters don't allocate, so the caret and structure handlers can read the table
+ * directly. A table with rows keeps their ids for as long as it is reachable.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public class LocationTable implements SymbolTable.Holder {
+	public static final int FIELD = 0;
+	public static final int METHOD = 1;
+	public static final int PARAMETER = 2;
+	public static final int LOCAL = 3;
+
+	private static final int DECLARATION = 1;
+
+	private int size;
+	private int[] flags = new int[64];
+	private int[] names = new int[64];
+	private int[] owners = new int[64];
+	private int[] contexts = new int[64];
+	private int[] lines = new int[64];
+	private int[] columnStarts = new int[64];
+	private int[] columnEnds = new int[64];
+
+	/**
+	 * Add a location.
+	 *
+	 * @param kind        {@link #FIELD}, {@link #METHOD}, {@link #PARAMETER} or {@link #LOCAL}
+	 * @param declaration whether this is the member's declaration rather than a reference to it
+	 * @param name        the member's name
+	 * @param owner       the class the member belongs to
+	 * @param context     a method's parameter types, or the method of a parameter or local variable
+	 * @param line        the line, starting at 1
+	 * @param columnStart the first column, starting at 1
+	 * @param columnEnd   the column just past the end
+	 */
+	public void add(int kind, boolean declaration, @NotNull String name, @Nullable String owner,
+					@Nullable String context, int line, int columnStart, int columnEnd) {
+		add(kind, declaration, SymbolTable.intern(name), SymbolTable.intern(owner), SymbolTable.intern(context), line,
+				columnStart, columnEnd);
+	}
+
+	/**
+	 * Add a location whose strings are already interned.
+	 *
+	 * @param kind        {@link #FIELD}, {@link #METHOD}, {@link #PARAMETER} or {@link #LOCAL}
+	 * @param declaration whether this is the member's declaration rather than a reference to it
+	 * @param name        the {@link SymbolTable} id of the member's name
+	 * @param owner       the id of the class the member belongs to, or {@code -1}
+	 * @param context     the id of the context, or {@code -1}
+	 * @param line        the line, starting at 1
+	 * @param columnStart the first column, starting at 1
+	 * @param columnEnd   the column just past the end
+	 */
+	public void add(int kind, boolean declaration, int name, int owner, int context, int line, int columnStart,
+					int columnEnd) {
+		if (size == 0) {
+			SymbolTable.register(this);
+		}
+
+		if (size == flags.length) {
+			int capacity = size * 2;
+			flags = Arrays.copyOf(flags, capacity);
+			names = Arrays.copyOf(names, capacity);
+			owners = Arrays.copyOf(owners, capacity);
+			contexts = Arrays.copyOf(contexts, capacity);
+			lines = Arrays.copyOf(lines, capacity);
+			columnStarts = Arrays.copyOf(columnStarts, capacity);
+			columnEnds = Arrays.copyOf(columnEnds, capacity);
+		}
+
+		flags[size] = kind << 1 | (declaration ? DECLARATION : 0);
+		names[size] = name;
+		owners[size] = owner;
+		contexts[size] = context;
+		lines[size] = line;
+		columnStarts[size] = columnStart;
+		columnEnds[size] = columnEnd;
+		size++;
+	}
+
+	@Override
+	public void markSymbols(@NotNull BitSet symbols) {
+		for (int location = 0; location < size; location++) {
+			symbols.set(names[location]);
+			if (owners[location] != -1) {
+				symbols.set(owners[location]);
+			}
+
+			if (contexts[location] != -1) {
+				symbols.set(contexts[location]);
+			}
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @param location the location
+	 * @return {@link #FIELD}, {@link #METHOD}, {@link #PARAMETER} or {@link #LOCAL}
+	 */
+	public int getKind(int location) {
+		return flags[location] >> 1;
+	}
+
+	public boolean isDeclaration(int location) {
+		return (flags[location] & DECLARATION) != 0;
+	}
+
+	public int getLine(int location) {
+		return lines[location];
+	}
+
+	public int getColumnStart(int location) {
+		return columnStarts[location];
+	}
+
+	public int getColumnEnd(int location) {
+		return columnEnds[location];
+	}
+
+	public @NotNull String getName(int location) {
+		return Objects.requireNonNull(SymbolTable.get(names[location]));
+	}
+
+	public @Nullable String getOwner(int location) {
+		return SymbolTable.get(owners[location]);
+	}
+
+	/**
+	 * @param location the location
+	 * @return a method's parameter types, or the method of a parameter or local variable
+	 */
+	public @Nullable String getContext(int location) {
+		return SymbolTable.get(contexts[location]);
+	}
+
+	/**
+	 * Ids are the same for equal strings, so locations can be compared without comparing strings.
+	 *
+	 * @param location the location
+	 * @return the {@link SymbolTable} id of the name
+	 */
+	public int getNameId(int location) {
+		return names[location];
+	}
+
+	/**
+	 * @param location the location
+	 * @return the id of the owner, or {@code -1} if there is none
+	 */
+	public int getOwnerId(int location) {
+		return owners[location];
+	}
+
+	/**
+	 * @param location the location
+	 * @return the id of the context, or {@code -1} if there is none
+	 */
+	public int getContextId(int location) {
+		return contexts[location];
+	}
+}
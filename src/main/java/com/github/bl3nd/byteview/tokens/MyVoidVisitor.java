@@ -31,7 +31,6 @@ import com.github.bl3nd.byteview.tokens.location.ClassLocalVariableLocation;
 import com.github.bl3nd.byteview.tokens.location.ClassMethodLocation;
 import com.github.bl3nd.byteview.tokens.location.ClassParameterLocation;
 import com.github.javaparser.Range;
-import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.*;
 import com.github.javaparser.ast.expr.*;
 import com.github.javaparser.ast.stmt.*;
@@ -39,27 +38,67 @@ import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.github.javaparser.resolution.UnsolvedSymbolException;
 import com.github.javaparser.resolution.declarations.ResolvedValueDeclaration;
 
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Fills a class's location table from its parsed source. This is only the fallback for a class its decompiler reported
+ * no tokens for, see {@link ClassFileContainer#parse()}; VineFlower always reports them, so with it this never runs.
+ * <p>
  * Created by Bl3nd.
  * Date: 8/26/2024
  */
 public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	private final ClassFileContainer classFileContainer;
-	private final CompilationUnit compilationUnit;
+	private final ArrayDeque<MethodDeclaration> methods = new ArrayDeque<>();
+	private final ArrayDeque<ConstructorDeclaration> constructors = new ArrayDeque<>();
+	private final ArrayDeque<InitializerDeclaration> initializers = new ArrayDeque<>();
+	private final Map<CallableDeclaration<?>, String> declarations = new IdentityHashMap<>();
+	private final String owner;
 
-	public MyVoidVisitor(ClassFileContainer container, CompilationUnit compilationUnit) {
+	public MyVoidVisitor(ClassFileContainer container) {
 		this.classFileContainer = container;
-		this.compilationUnit = compilationUnit;
+		this.owner = SymbolTable.canonical(FileMisc.removeExtension(container.getFileName()));
+	}
+
+	/**
+	 * The callables the visitor is inside of are kept on stacks while it walks the tree, so finding the one a node
+	 * belongs to doesn't need another walk. A node belongs to its outermost method, e.g. a local variable of an
+	 * anonymous class's method belongs to the method the anonymous class is in.
+	 *
+	 * @return the outermost method the visitor is in, or {@code null}
+	 */
+	private MethodDeclaration getEnclosingMethod() {
+		return methods.peekLast();
+	}
+
+	/**
+	 * @return the outermost constructor the visitor is in, or {@code null}
+	 * @see #getEnclosingMethod()
+	 */
+	private ConstructorDeclaration getEnclosingConstructor() {
+		return constructors.peekLast();
+	}
+
+	/**
+	 * @return the outermost initializer the visitor is in, or {@code null}
+	 * @see #getEnclosingMethod()
+	 */
+	private InitializerDeclaration getEnclosingInitializer() {
+		return initializers.peekLast();
 	}
 
 	private String getOwner() {
-		return FileMisc.removeExtension(this.classFileContainer.getFileName());
+		return owner;
 	}
 
+	/**
+	 * A callable's declaration is printed once, rather than for every parameter and local variable in it.
+	 */
 	private String getMethod(CallableDeclaration<?> method) {
-		return method.getDeclarationAsString(false, false);
+		return declarations.computeIfAbsent(method, m -> SymbolTable.canonical(m.getDeclarationAsString(false, false)));
 	}
 
 	/**
@@ -81,7 +120,7 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 			int line = range.begin.line;
 			int columnStart = range.begin.column;
 			int columnEnd = range.end.column;
-			this.classFileContainer.putField(fieldName, new ClassFieldLocation(FileMisc.removeExtension(this.classFileContainer.getFileName()), "declaration", line, columnStart, columnEnd + 1));
+			this.classFileContainer.putField(fieldName, new ClassFieldLocation(getOwner(), "declaration", line, columnStart, columnEnd + 1));
 		});
 	}
 
@@ -103,12 +142,12 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		int line = range.begin.line;
 		int columnStart = range.begin.column;
 		int columnEnd = range.end.column;
-		this.classFileContainer.putField(fieldName, new ClassFieldLocation(FileMisc.removeExtension(this.classFileContainer.getFileName()), "reference", line, columnStart, columnEnd + 1));
+		this.classFileContainer.putField(fieldName, new ClassFieldLocation(getOwner(), "reference", line, columnStart, columnEnd + 1));
 
 		if (n.hasScope()) {
-			CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+			CallableDeclaration<?> method = getEnclosingMethod();
 			if (method == null) {
-				method = findConstructorForExpression(n, this.compilationUnit);
+				method = getEnclosingConstructor();
 			}
 
 			if (method != null) {
@@ -147,7 +186,13 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	 */
 	@Override
 	public void visit(ConstructorDeclaration n, Object arg) {
-		super.visit(n, arg);
+		constructors.push(n);
+		try {
+			super.visit(n, arg);
+		} finally {
+			constructors.pop();
+		}
+
 		StringBuilder parameterTypes = new StringBuilder();
 		AtomicInteger count = new AtomicInteger();
 		n.getParameters().forEach(parameter -> {
@@ -157,7 +202,7 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 			int line = range.begin.line;
 			int columnStart = range.begin.column;
 			int columnEnd = range.end.column;
-			this.classFileContainer.putParameter(parameterName, new ClassParameterLocation(FileMisc.removeExtension(this.classFileContainer.getFileName()), n.getDeclarationAsString(false, false),
+			this.classFileContainer.putParameter(parameterName, new ClassParameterLocation(getOwner(), getMethod(n),
 					"declaration", line, columnStart, columnEnd + 1));
 			count.getAndIncrement();
 			parameterTypes.append(parameter.getTypeAsString());
@@ -172,10 +217,29 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		int line = range.begin.line;
 		int columnStart = range.begin.column;
 		int columnEnd = range.end.column;
-		this.classFileContainer.putMethod(constructorName, new ClassMethodLocation(FileMisc.removeExtension(this.classFileContainer.getFileName()), parameterTypes.toString(), "declaration", line, columnStart,
+		this.classFileContainer.putMethod(constructorName, new ClassMethodLocation(getOwner(), parameterTypes.toString(), "declaration", line, columnStart,
 				columnEnd + 1));
 	}
 
+	/**
+	 * Visit all {@link InitializerDeclaration}s.
+	 * <p>
+	 * This only keeps track of being inside the initializer.
+	 * </p>
+	 *
+	 * @param n   The current {@code InitializerDeclaration}
+	 * @param arg Don't worry about it
+	 */
+	@Override
+	public void visit(InitializerDeclaration n, Object arg) {
+		initializers.push(n);
+		try {
+			super.visit(n, arg);
+		} finally {
+			initializers.pop();
+		}
+	}
+
 	/**
 	 * Find all {@link ExplicitConstructorInvocationStmt}s.
 	 * <p>
@@ -188,7 +252,7 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	@Override
 	public void visit(ExplicitConstructorInvocationStmt n, Object arg) {
 		super.visit(n, arg);
-		ConstructorDeclaration constructor = findConstructorForStatement(n, this.compilationUnit);
+		ConstructorDeclaration constructor = getEnclosingConstructor();
 		n.getArguments().forEach(argument -> {
 			if (argument instanceof NameExpr nameExpr) {
 				ResolvedValueDeclaration vd = nameExpr.resolve();
@@ -201,9 +265,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 				if (vd.isField()) {
 					this.classFileContainer.putField(name, new ClassFieldLocation(getOwner(), "reference", line, columnStart, columnEnd + 1));
 				} else if (vd.isVariable()) {
-					this.classFileContainer.putLocalVariable(name, new ClassLocalVariableLocation(getOwner(), constructor.getDeclarationAsString(false, false), "reference", line, columnStart, columnEnd + 1));
+					this.classFileContainer.putLocalVariable(name, new ClassLocalVariableLocation(getOwner(), getMethod(constructor), "reference", line, columnStart, columnEnd + 1));
 				} else if (vd.isParameter()) {
-					this.classFileContainer.putParameter(name, new ClassParameterLocation(FileMisc.removeExtension(this.classFileContainer.getFileName()), constructor.getDeclarationAsString(false, false),
+					this.classFileContainer.putParameter(name, new ClassParameterLocation(getOwner(), getMethod(constructor),
 							"reference", line, columnStart, columnEnd + 1));
 				}
 			} else {
@@ -227,7 +291,13 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	 */
 	@Override
 	public void visit(MethodDeclaration n, Object arg) {
-		super.visit(n, arg);
+		methods.push(n);
+		try {
+			super.visit(n, arg);
+		} finally {
+			methods.pop();
+		}
+
 		StringBuilder parameterTypes = new StringBuilder();
 		AtomicInteger count = new AtomicInteger();
 		n.getParameters().forEach(parameter -> {
@@ -237,7 +307,7 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 			int line = range.begin.line;
 			int columnStart = range.begin.column;
 			int columnEnd = range.end.column;
-			this.classFileContainer.putParameter(parameterName, new ClassParameterLocation(FileMisc.removeExtension(this.classFileContainer.getFileName()), n.getDeclarationAsString(false, false),
+			this.classFileContainer.putParameter(parameterName, new ClassParameterLocation(getOwner(), getMethod(n),
 					"declaration", line, columnStart, columnEnd + 1));
 			count.getAndIncrement();
 			parameterTypes.append(parameter.getTypeAsString());
@@ -252,7 +322,7 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		int line = range.begin.line;
 		int columnStart = range.begin.column;
 		int columnEnd = range.end.column;
-		this.classFileContainer.putMethod(methodName, new ClassMethodLocation(FileMisc.removeExtension(this.classFileContainer.getFileName()), parameterTypes.toString(), "declaration", line, columnStart,
+		this.classFileContainer.putMethod(methodName, new ClassMethodLocation(getOwner(), parameterTypes.toString(), "declaration", line, columnStart,
 				columnEnd + 1));
 	}
 
@@ -265,12 +335,12 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	@Override
 	public void visit(MethodCallExpr n, Object arg) {
 		super.visit(n, arg);
-		CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+		CallableDeclaration<?> method = getEnclosingMethod();
 		InitializerDeclaration staticInitializer = null;
 		if (method == null) {
-			method = findConstructorForExpression(n, this.compilationUnit);
+			method = getEnclosingConstructor();
 			if (method == null) {
-				staticInitializer = findInitializerForExpression(n, this.compilationUnit);
+				staticInitializer = getEnclosingInitializer();
 			}
 		}
 
@@ -373,9 +443,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	@Override
 	public void visit(ObjectCreationExpr n, Object arg) {
 		super.visit(n, arg);
-		CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+		CallableDeclaration<?> method = getEnclosingMethod();
 		if (method == null) {
-			method = findConstructorForExpression(n, this.compilationUnit);
+			method = getEnclosingConstructor();
 		}
 
 		if (method != null) {
@@ -410,12 +480,12 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	@Override
 	public void visit(VariableDeclarationExpr n, Object arg) {
 		super.visit(n, arg);
-		CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+		CallableDeclaration<?> method = getEnclosingMethod();
 		InitializerDeclaration staticInitializer = null;
 		if (method == null) {
-			method = findConstructorForExpression(n, this.compilationUnit);
+			method = getEnclosingConstructor();
 			if (method == null) {
-				staticInitializer = findInitializerForExpression(n, this.compilationUnit);
+				staticInitializer = getEnclosingInitializer();
 			}
 		}
 
@@ -454,12 +524,12 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	@Override
 	public void visit(AssignExpr n, Object arg) {
 		super.visit(n, arg);
-		CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+		CallableDeclaration<?> method = getEnclosingMethod();
 		InitializerDeclaration staticInitializer = null;
 		if (method == null) {
-			method = findConstructorForExpression(n, this.compilationUnit);
+			method = getEnclosingConstructor();
 			if (method == null) {
-				staticInitializer = findInitializerForExpression(n, this.compilationUnit);
+				staticInitializer = getEnclosingInitializer();
 			}
 		}
 
@@ -556,9 +626,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	public void visit(CatchClause n, Object arg) {
 		super.visit(n, arg);
 		TryStmt parentNode = (TryStmt) n.getParentNode().orElseThrow();
-		CallableDeclaration<?> method = findMethodForStatement(parentNode, this.compilationUnit);
+		CallableDeclaration<?> method = getEnclosingMethod();
 		if (method == null) {
-			method = findConstructorForStatement(parentNode, this.compilationUnit);
+			method = getEnclosingConstructor();
 		}
 
 		if (method != null) {
@@ -583,9 +653,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		super.visit(n, arg);
 		Expression expression = n.getExpression();
 		if (expression instanceof NameExpr nameExpr) {
-			CallableDeclaration<?> method = findMethodForStatement(n, this.compilationUnit);
+			CallableDeclaration<?> method = getEnclosingMethod();
 			if (method == null) {
-				method = findConstructorForStatement(n, this.compilationUnit);
+				method = getEnclosingConstructor();
 			}
 
 			if (method != null) {
@@ -616,9 +686,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	@Override
 	public void visit(InstanceOfExpr n, Object arg) {
 		super.visit(n, arg);
-		CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+		CallableDeclaration<?> method = getEnclosingMethod();
 		if (method == null) {
-			method = findConstructorForExpression(n, this.compilationUnit);
+			method = getEnclosingConstructor();
 		}
 
 		if (method != null) {
@@ -651,9 +721,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	@Override
 	public void visit(BinaryExpr n, Object arg) {
 		super.visit(n, arg);
-		CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+		CallableDeclaration<?> method = getEnclosingMethod();
 		if (method == null) {
-			method = findConstructorForExpression(n, this.compilationUnit);
+			method = getEnclosingConstructor();
 		}
 
 		if (method != null) {
@@ -704,9 +774,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 	@Override
 	public void visit(CastExpr n, Object arg) {
 		super.visit(n, arg);
-		CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+		CallableDeclaration<?> method = getEnclosingMethod();
 		if (method == null) {
-			method = findConstructorForExpression(n, this.compilationUnit);
+			method = getEnclosingConstructor();
 		}
 
 		if (method != null) {
@@ -741,12 +811,12 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		super.visit(n, arg);
 		Expression condition = n.getCondition();
 		if (condition instanceof NameExpr nameExpr) {
-			CallableDeclaration<?> method = findMethodForStatement(n, this.compilationUnit);
+			CallableDeclaration<?> method = getEnclosingMethod();
 			InitializerDeclaration staticInitializer = null;
 			if (method == null) {
-				method = findConstructorForStatement(n, this.compilationUnit);
+				method = getEnclosingConstructor();
 				if (method == null) {
-					staticInitializer = findInitializerForStatement(n, this.compilationUnit);
+					staticInitializer = getEnclosingInitializer();
 				}
 			}
 
@@ -795,9 +865,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		super.visit(n, arg);
 		n.getValues().forEach(value -> {
 			if (value instanceof NameExpr nameExpr) {
-				CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+				CallableDeclaration<?> method = getEnclosingMethod();
 				if (method == null) {
-					method = findConstructorForExpression(n, this.compilationUnit);
+					method = getEnclosingConstructor();
 				}
 
 				if (method != null) {
@@ -832,9 +902,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		n.getLevels().forEach(level -> {
 			Expression dimension = level.getDimension().orElse(null);
 			if (dimension instanceof NameExpr nameExpr) {
-				CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+				CallableDeclaration<?> method = getEnclosingMethod();
 				if (method == null) {
-					method = findConstructorForExpression(n, this.compilationUnit);
+					method = getEnclosingConstructor();
 				}
 
 				if (method != null) {
@@ -868,9 +938,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		super.visit(n, arg);
 		Expression expression = n.getName();
 		if (expression instanceof NameExpr nameExpr) {
-			CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+			CallableDeclaration<?> method = getEnclosingMethod();
 			if (method == null) {
-				method = findConstructorForExpression(n, this.compilationUnit);
+				method = getEnclosingConstructor();
 			}
 
 			if (method != null) {
@@ -893,9 +963,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 
 		Expression index = n.getIndex();
 		if (index instanceof NameExpr nameExpr) {
-			CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+			CallableDeclaration<?> method = getEnclosingMethod();
 			if (method == null) {
-				method = findConstructorForExpression(n, this.compilationUnit);
+				method = getEnclosingConstructor();
 			}
 
 			if (method != null) {
@@ -928,9 +998,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		super.visit(n, arg);
 		Expression iterable = n.getIterable();
 		if (iterable instanceof NameExpr nameExpr) {
-			CallableDeclaration<?> method = findMethodForStatement(n, this.compilationUnit);
+			CallableDeclaration<?> method = getEnclosingMethod();
 			if (method == null) {
-				method = findConstructorForStatement(n, this.compilationUnit);
+				method = getEnclosingConstructor();
 			}
 
 			if (method != null) {
@@ -963,9 +1033,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		super.visit(n, arg);
 		Expression expression = n.getExpression().orElse(null);
 		if (expression instanceof NameExpr nameExpr) {
-			CallableDeclaration<?> method = findMethodForStatement(n, this.compilationUnit);
+			CallableDeclaration<?> method = getEnclosingMethod();
 			if (method == null) {
-				method = findConstructorForStatement(n, this.compilationUnit);
+				method = getEnclosingConstructor();
 			}
 
 			if (method != null) {
@@ -998,9 +1068,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		super.visit(n, arg);
 		Expression expression = n.getExpression();
 		if (expression instanceof NameExpr nameExpr) {
-			CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+			CallableDeclaration<?> method = getEnclosingMethod();
 			if (method == null) {
-				method = findConstructorForExpression(n, this.compilationUnit);
+				method = getEnclosingConstructor();
 			}
 
 			if (method != null) {
@@ -1036,9 +1106,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 		super.visit(n, arg);
 		Expression elseExpr = n.getElseExpr();
 		if (elseExpr instanceof NameExpr nameExpr) {
-			CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+			CallableDeclaration<?> method = getEnclosingMethod();
 			if (method == null) {
-				method = findConstructorForExpression(n, this.compilationUnit);
+				method = getEnclosingConstructor();
 			}
 
 			if (method != null) {
@@ -1061,9 +1131,9 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 
 		Expression thenExpr = n.getThenExpr();
 		if (thenExpr instanceof NameExpr nameExpr) {
-			CallableDeclaration<?> method = findMethodForExpression(n, this.compilationUnit);
+			CallableDeclaration<?> method = getEnclosingMethod();
 			if (method == null) {
-				method = findConstructorForExpression(n, this.compilationUnit);
+				method = getEnclosingConstructor();
 			}
 
 			if (method != null) {
@@ -1084,189 +1154,4 @@ public class MyVoidVisitor extends VoidVisitorAdapter<Object> {
 			}
 		}
 	}
-
-
-	/**
-	 * Look through the {@link CompilationUnit} for the specific statement within its methods.
-	 *
-	 * @param statement The {@code statement} we are looking for
-	 * @param cu        The {@code CompilationUnit}
-	 * @return the method that contains the {@code statement}.
-	 */
-	private MethodDeclaration findMethodForStatement(Statement statement, CompilationUnit cu) {
-		final boolean[] contains = {false};
-		final MethodDeclaration[] methodDeclaration = {null};
-		cu.accept(new VoidVisitorAdapter<Void>() {
-			@Override
-			public void visit(MethodDeclaration n, Void arg) {
-				super.visit(n, arg);
-				if (!n.isAbstract()) {
-					for (Statement statement1 : n.getBody().orElseThrow().getStatements()) {
-						if (statement1.containsWithinRange(statement)) {
-							contains[0] = true;
-							methodDeclaration[0] = n;
-						}
-					}
-				}
-			}
-		}, null);
-
-		if (contains[0]) {
-			return methodDeclaration[0];
-		}
-
-		return null;
-	}
-
-	/**
-	 * Look through the {@link CompilationUnit} for the specific statement within its methods.
-	 *
-	 * @param expression The {@code expression} we are looking for
-	 * @param cu        The {@code CompilationUnit}
-	 * @return the method that contains the {@code expression}.
-	 */
-	private MethodDeclaration findMethodForExpression(Expression expression, CompilationUnit cu) {
-		final boolean[] contains = {false};
-		final MethodDeclaration[] methodDeclaration = {null};
-		cu.accept(new VoidVisitorAdapter<Void>() {
-			@Override
-			public void visit(MethodDeclaration n, Void arg) {
-				super.visit(n, arg);
-				if (!n.isAbstract()) {
-					for (Statement statement : n.getBody().orElseThrow().getStatements()) {
-						if (statement.containsWithinRange(expression)) {
-							contains[0] = true;
-							methodDeclaration[0] = n;
-						}
-					}
-				}
-			}
-		}, null);
-
-		if (contains[0]) {
-			return methodDeclaration[0];
-		}
-
-		return null;
-	}
-
-	/**
-	 * Look through the {@link CompilationUnit} for the specific statement within its methods.
-	 *
-	 * @param statement The {@code statement} we are looking for
-	 * @param cu        The {@code CompilationUnit}
-	 * @return the constructor that contains the {@code statement}.
-	 */
-	private ConstructorDeclaration findConstructorForStatement(Statement statement, CompilationUnit cu) {
-		final boolean[] contains = {false};
-		final ConstructorDeclaration[] constructorDeclaration = {null};
-		cu.accept(new VoidVisitorAdapter<Void>() {
-			@Override
-			public void visit(ConstructorDeclaration n, Void arg) {
-				super.visit(n, arg);
-				for (Statement statement1 : n.getBody().getStatements()) {
-					if (statement1.containsWithinRange(statement)) {
-						contains[0] = true;
-						constructorDeclaration[0] = n;
-					}
-				}
-			}
-		}, null);
-
-		if (contains[0]) {
-			return constructorDeclaration[0];
-		}
-
-		return null;
-	}
-
-	/**
-	 * Look through the {@link CompilationUnit} for the specific statement within its methods.
-	 *
-	 * @param expression The {@code expression} we are looking for
-	 * @param cu        The {@code CompilationUnit}
-	 * @return the constructor that contains the {@code expression}.
-	 */
-	private ConstructorDeclaration findConstructorForExpression(Expression expression, CompilationUnit cu) {
-		final boolean[] contains = {false};
-		final ConstructorDeclaration[] constructorDeclaration = {null};
-		cu.accept(new VoidVisitorAdapter<Void>() {
-			@Override
-			public void visit(ConstructorDeclaration n, Void arg) {
-				super.visit(n, arg);
-				for (Statement statement1 : n.getBody().getStatements()) {
-					if (statement1.containsWithinRange(expression)) {
-						contains[0] = true;
-						constructorDeclaration[0] = n;
-					}
-				}
-			}
-		}, null);
-
-		if (contains[0]) {
-			return constructorDeclaration[0];
-		}
-
-		return null;
-	}
-
-	/**
-	 * Look through the {@link CompilationUnit} for the specific statement within its methods.
-	 *
-	 * @param statement The {@code statement} we are looking for
-	 * @param cu        The {@code CompilationUnit}
-	 * @return the initializer that contains the {@code statement}.
-	 */
-	private InitializerDeclaration findInitializerForStatement(Statement statement, CompilationUnit cu) {
-		final boolean[] contains = {false};
-		final InitializerDeclaration[] initializerDeclaration = {null};
-		cu.accept(new VoidVisitorAdapter<Void>() {
-			@Override
-			public void visit(InitializerDeclaration n, Void arg) {
-				super.visit(n, arg);
-				for (Statement statement : n.getBody().getStatements()) {
-					if (statement.containsWithinRange(statement)) {
-						contains[0] = true;
-						initializerDeclaration[0] = n;
-					}
-				}
-			}
-		}, null);
-
-		if (contains[0]) {
-			return initializerDeclaration[0];
-		} else {
-			return null;
-		}
-	}
-
-	/**
-	 * Look through the {@link CompilationUnit} for the specific statement within its methods.
-	 *
-	 * @param expression The {@code expression} we are looking for
-	 * @param cu        The {@code CompilationUnit}
-	 * @return the initializer that contains the {@code expression}.
-	 */
-	private InitializerDeclaration findInitializerForExpression(Expression expression, CompilationUnit cu) {
-		final boolean[] contains = {false};
-		final InitializerDeclaration[] initializerDeclaration = {null};
-		cu.accept(new VoidVisitorAdapter<Void>() {
-			@Override
-			public void visit(InitializerDeclaration n, Void arg) {
-				super.visit(n, arg);
-				for (Statement statement : n.getBody().getStatements()) {
-					if (statement.containsWithinRange(expression)) {
-						contains[0] = true;
-						initializerDeclaration[0] = n;
-					}
-				}
-			}
-		}, null);
-
-		if (contains[0]) {
-			return initializerDeclaration[0];
-		}
-
-		return null;
-	}
 }
@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Cody March
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.bl3nd.byteview.tokens;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Numbers every distinct name, owner and descriptor the application is using, shared by every archive and class.
+ * <p>
+ * The same owner or method string comes up in every location of a class, and the same names and types come up in
+ * every class of an archive. Interning gives each one an id, so tables can keep an int per string and compare ids
+ * instead of strings. {@code -1} stands for {@code null}.
+ * <p>
+ * Whatever keeps ids, like an archive's index or a class's locations, is a {@link Holder} that is registered once it
+ * has them. {@link #collect()} frees every id no registered holder marks, so when an archive is closed and its
+ * holders are released, its strings go with it. Work that interns ids and keeps them runs in a {@link #use()} scope,
+ * and a collection waits until no scope is open, since those ids aren't in a holder yet. A freed id is only handed out
+ * again after the next collection, in case a search that looked it up with {@link #find(String)} is still running.
+ * <p>
+ * Any thread can intern. Looking up an id that was handed out is lock free.
+ * <p>
+ * Created by Bl3nd.
+ * Date: 10/17/2026
+ */
+public final class SymbolTable {
+	private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+	private static final Object lock = new Object();
+	private static final Set<Holder> holders = Collections.newSetFromMap(new WeakHashMap<>());
+	private static final Scope scope = new Scope();
+	private static volatile String[] symbols = new String[1024];
+	private static int count;
+	private static final BitSet free = new BitSet();
+	private static BitSet released = new BitSet();
+	private static int scopes;
+	private static boolean pending;
+
+	private SymbolTable() {
+	}
+
+	/**
+	 * Something that keeps ids, and so has to be asked which ones before any are freed.
+	 */
+	public interface Holder {
+		/**
+		 * @param symbols where to set the ids that are kept
+		 */
+		void markSymbols(@NotNull BitSet symbols);
+	}
+
+	/**
+	 * @param symbol the string
+	 * @return the string's id, or {@code -1} for {@code null}
+	 */
+	public static int intern(@Nullable String symbol) {
+		if (symbol == null) {
+			return -1;
+		}
+
+		Integer id = ids.get(symbol);
+		if (id != null) {
+			return id;
+		}
+
+		synchronized (lock) {
+			id = ids.get(symbol);
+			if (id != null) {
+				return id;
+			}
+
+			id = free.nextSetBit(0);
+			if (id != -1) {
+				free.clear(id);
+			} else {
+				id = count++;
+			}
+
+			String[] current = symbols;
+			if (id == current.length) {
+				current = Arrays.copyOf(current, id * 2);
+			}
+
+			// The string is in the array before its id can be seen
+			current[id] = symbol;
+			symbols = current;
+			ids.put(symbol, id);
+			return id;
+		}
+	}
+
+	/**
+	 * Look up a string's id without interning it, e.g. for a search. A string that isn't interned isn't in anything.
+	 *
+	 * @param symbol the string
+	 * @return the string's id, or {@code -1} if it isn't interned or is {@code null}
+	 */
+	public static int find(@Nullable String symbol) {
+		return symbol == null ? -1 : ids.getOrDefault(symbol, -1);
+	}
+
+	/**
+	 * @param id an id from {@link #intern(String)}
+	 * @return the string, or {@code null} for {@code -1}
+	 */
+	public static @Nullable String get(int id) {
+		return id == -1 ? null : symbols[id];
+	}
+
+	/**
+	 * Get the one shared instance of a string, so equal strings kept for a long time are only kept once.
+	 *
+	 * @param symbol the string
+	 * @return an equal string
+	 */
+	@Contract("null -> null; !null -> !null")
+	public static String canonical(@Nullable String symbol) {
+		if (symbol == null) {
+			return null;
+		}
+
+		// Nothing keeps the id, so a collection may free it before it is looked up
+		while (true) {
+			String canonical = get(intern(symbol));
+			if (symbol.equals(canonical)) {
+				return canonical;
+			}
+		}
+	}
+
+	/**
+	 * Start keeping ids. Nothing is collected until the scope is closed.
+	 *
+	 * @return the scope, to close once the ids are in a registered holder
+	 */
+	public static @NotNull Scope use() {
+		synchronized (lock) {
+			scopes++;
+		}
+
+		return scope;
+	}
+
+	/**
+	 * @param holder something that keeps ids, which are safe from collection for as long as it is registered and
+	 *               reachable
+	 */
+	public static void register(@NotNull Holder holder) {
+		synchronized (lock) {
+			holders.add(holder);
+		}
+	}
+
+	/**
+	 * Let the ids a holder keeps go, even though it may still be reachable. The holder shouldn't be used afterward.
+	 *
+	 * @param holder the holder
+	 */
+	public static void release(@NotNull Holder holder) {
+		synchronized (lock) {
+			holders.remove(holder);
+		}
+	}
+
+	/**
+	 * Free the ids that no registered holder keeps, once no {@link #use()} scope is open.
+	 */
+	public static void collect() {
+		synchronized (lock) {
+			if (scopes > 0) {
+				pending = true;
+				return;
+			}
+
+			pending = false;
+			BitSet marked = new BitSet(count);
+			for (Holder holder : holders) {
+				holder.markSymbols(marked);
+			}
+
+			// The ids freed last time have had a whole collection for the searches that found them to finish
+			free.or(released);
+			released = new BitSet();
+			String[] current = symbols;
+			for (int id = marked.nextClearBit(0); id < count; id = marked.nextClearBit(id + 1)) {
+				if (current[id] != null) {
+					ids.remove(current[id]);
+					current[id] = null;
+					released.set(id);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return how many strings are interned
+	 */
+	public static int size() {
+		return ids.size();
+	}
+
+	/**
+	 * Closed once the ids interned in it are in a registered holder, or no longer needed.
+	 */
+	public static final class Scope implements AutoCloseable {
+		private Scope() {
+		}
+
+		@Override
+		public void close() {
+			synchronized (lock) {
+				if (--scopes == 0 && pending) {
+					collect();
+				}
+			}
+		}
+	}
+}